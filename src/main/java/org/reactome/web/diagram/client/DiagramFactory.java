@@ -34,6 +34,30 @@ public abstract class DiagramFactory {
     //The Reactome use case does not need to be sensible to SCROLL
     //This variable is meant to set up by DiagramJs or other resources using the GWT widget
     public static int SCROLL_SENSITIVITY = 0;
+
+    //Keeps pre-rendered tiles of the diagram content so panning does not re-render all the visible items
+    public static boolean TILED_RENDERING = true;
+
+    //The diagram layout is read through overlays on top of the natively parsed JSON instead of AutoBeans
+    public static boolean LAYOUT_JSON_OVERLAYS = true;
+
+    //The layout is shown as soon as it is loaded (hovering and selection are enabled once the graph is loaded)
+    public static boolean PROGRESSIVE_RENDERING = true;
+
+    //Maximum number of downloaded files kept in the browser storage (the oldest stored ones are removed first)
+    public static int CONTENT_STORAGE_ENTRIES = 200;
+
+    //Approximate memory (MB) retained by the loaded diagrams kept in the cache (least recently used are evicted)
+    public static int CONTEXT_CACHE_BUDGET = 64;
+
+    //Number of linked pathway diagrams loaded in idle time into the cache after displaying a diagram (0 disables it)
+    public static int PREFETCH_DIAGRAMS = 3;
+
+    //The zoom and pan are applied with the canvas transform so the diagram content is drawn in layout coordinates
+    public static boolean TRANSFORM_RENDERING = true;
+
+    //The zoomed out views of the classic diagrams are drawn with WebGL (when supported) instead of the canvas layers
+    public static boolean WEBGL_RENDERING = false;
     
     private static DiagramViewerCreator creator = DiagramViewerImpl::new;
     
@@ -0,0 +1,68 @@
+package org.reactome.web.diagram.client.visualisers;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Central animation frame scheduler for the visualisers. Instead of polling every frame, the visualisers
+ * request a frame when something has to be repainted (they keep their own dirty flags). All the requests
+ * received before the frame are coalesced, so every task runs at most once per frame, and no animation
+ * frame is requested at all while nothing changes.
+ */
+public class FrameScheduler {
+
+    public interface Task {
+        void onFrame(double timestamp);
+    }
+
+    private static FrameScheduler frameScheduler;
+
+    //Both sets are swapped every frame, so nothing is created while running the tasks
+    private Set<Task> pending = new LinkedHashSet<>();
+    private Set<Task> running = new LinkedHashSet<>();
+    private final AnimationScheduler.AnimationCallback callback = this::run;
+    private AnimationScheduler.AnimationHandle handle;
+
+    private FrameScheduler() {
+    }
+
+    public static FrameScheduler get() {
+        if (frameScheduler == null) frameScheduler = new FrameScheduler();
+        return frameScheduler;
+    }
+
+    /**
+     * Runs the task in the next animation frame (only once no matter how many times it is requested)
+     */
+    public void schedule(Task task) {
+        pending.add(task);
+        if (handle == null) {
+            handle = AnimationScheduler.get().requestAnimationFrame(callback);
+        }
+    }
+
+    public void cancel(Task task) {
+        pending.remove(task);
+        if (pending.isEmpty() && handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+    }
+
+    private void run(double timestamp) {
+        handle = null;
+        //Tasks scheduled while running the current ones are left for the next frame
+        Set<Task> tasks = pending;
+        pending = running;
+        running = tasks;
+        try {
+            for (Task task : tasks) {
+                task.onFrame(timestamp);
+            }
+        } finally {
+            tasks.clear();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.reactome.web.diagram.client.visualisers.diagram;
+
+import com.google.gwt.canvas.client.Canvas;
+import com.google.gwt.canvas.dom.client.Context2d;
+import org.reactome.web.diagram.util.AdvancedContext2d;
+
+/**
+ * Holds the layers where the diagram content (everything but the selection, highlighting, flagging
+ * and interactors) is drawn. Keeping them together allows the same rendering code to target either
+ * the stacked canvases in the DiagramCanvas or the offscreen ones used to pre-render the tiles.
+ */
+class CanvasLayers {
+
+    AdvancedContext2d compartments;
+    AdvancedContext2d shadows;
+    AdvancedContext2d notes;
+    AdvancedContext2d links;
+    AdvancedContext2d fadeOut;
+
+    AdvancedContext2d reactions;
+    AdvancedContext2d reactionDecorators;
+
+    AdvancedContext2d entities;
+    AdvancedContext2d text;
+    AdvancedContext2d overlay;
+    AdvancedContext2d shadowsText;
+
+    AdvancedContext2d buffer;
+
+    /**
+     * Creates a set of layers that are not attached to the document (used for offscreen rendering)
+     */
+    static CanvasLayers offscreen(int width, int height) {
+        CanvasLayers layers = new CanvasLayers();
+        layers.compartments = createCanvas(width, height);
+        layers.shadows = createCanvas(width, height);
+        layers.notes = createCanvas(width, height);
+        layers.links = createCanvas(width, height);
+        layers.fadeOut = createCanvas(width, height);
+        layers.reactions = createCanvas(width, height);
+        layers.reactionDecorators = createCanvas(width, height);
+        layers.entities = createCanvas(width, height);
+        layers.text = createCanvas(width, height);
+        layers.overlay = createCanvas(width, height);
+        layers.shadowsText = createCanvas(width, height);
+        layers.buffer = createCanvas(width, height);
+        layers.reactions.setLineCap(Context2d.LineCap.ROUND);
+        return layers;
+    }
+
+    static AdvancedContext2d createCanvas(int width, int height) {
+        Canvas canvas = Canvas.createIfSupported();
+        canvas.setCoordinateSpaceWidth(width);
+        canvas.setCoordinateSpaceHeight(height);
+        return canvas.getContext2d().cast();
+    }
+
+    void clear() {
+        for (AdvancedContext2d ctx : getAll()) {
+            ctx.clearRect(0, 0, ctx.getCanvas().getWidth(), ctx.getCanvas().getHeight());
+        }
+    }
+
+    /**
+     * Sets the transform of the layers where the content is drawn. The buffer is left untouched because the
+     * overlay regions are opened in canvas pixels (see OverlayContext)
+     */
+    void setTransform(double factor, double dX, double dY) {
+        for (AdvancedContext2d ctx : getAll()) {
+            if (ctx != buffer) ctx.setTransform(factor, 0, 0, factor, dX, dY);
+        }
+    }
+
+    AdvancedContext2d[] getAll() {
+        return new AdvancedContext2d[]{
+                compartments, shadows, notes, links, fadeOut,
+                reactions, reactionDecorators,
+                entities, text, overlay, shadowsText,
+                buffer
+        };
+    }
+
+    AdvancedContext2d getContext2d(String renderableClass) {
+        AdvancedContext2d rtn = null;
+        switch (renderableClass) {
+            case "Note":
+                rtn = this.notes;
+                break;
+            case "Compartment":
+                rtn = this.compartments;
+                break;
+            case "Protein":
+            case "Cell":
+            case "Chemical":
+            case "ChemicalDrug":
+            case "ProteinDrug":
+            case "RNADrug":
+            case "Complex":
+            case "ComplexDrug":
+            case "Entity":
+            case "EntitySet":
+            case "EntitySetDrug":
+            case "ProcessNode":
+            case "EncapsulatedNode":
+            case "FlowLine":
+            case "Interaction":
+            case "RNA":
+            case "Gene":
+                rtn = this.entities;
+                break;
+            case "Reaction":
+                rtn = this.reactions;
+                break;
+            case "Shadow":
+                rtn = this.shadows;
+                break;
+            case "EntitySetAndMemberLink":
+            case "EntitySetAndEntitySetLink":
+                rtn = this.links;
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value: " + renderableClass);
+        }
+        return rtn;
+    }
+}
@@ -11,15 +11,18 @@ import com.google.gwt.user.client.ui.AbsolutePanel;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Image;
 import org.reactome.web.analysis.client.model.AnalysisType;
+import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.client.OptionalWidget;
 import org.reactome.web.diagram.context.popups.export.ExportDialog;
 import org.reactome.web.diagram.data.AnalysisStatus;
 import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.DiagramStatus;
+import org.reactome.web.diagram.data.content.Content;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.data.interactors.model.DiagramInteractor;
 import org.reactome.web.diagram.data.interactors.model.InteractorEntity;
 import org.reactome.web.diagram.data.layout.*;
+import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
 import org.reactome.web.diagram.events.ExpressionColumnChangedEvent;
 import org.reactome.web.diagram.events.ExpressionValueHoveredEvent;
 import org.reactome.web.diagram.events.RenderOtherDataEvent;
@@ -49,11 +52,13 @@ import org.reactome.web.diagram.thumbnail.diagram.StaticIllustrationThumbnail;
 import org.reactome.web.diagram.tooltips.TooltipContainer;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 import org.reactome.web.diagram.util.Console;
-import org.reactome.web.diagram.util.MapSet;
 import org.reactome.web.diagram.util.actions.MouseActionsHandlers;
 import org.reactome.web.diagram.util.actions.UserActionsInstaller;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -67,16 +72,23 @@ import java.util.Set;
  */
 public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChangedHandler, OptionalWidget.Handler {
 
+    /**
+     * The groups of canvases that can be repainted independently. CONTENT means everything (all the
+     * canvases are cleared) while ANALYSIS only covers the entities and the analysis overlay
+     */
+    enum Layer {CONTENT, ANALYSIS, SELECTION, HALO, FLAG, HIGHLIGHT}
+
+    private static final Coordinate ORIGIN = CoordinateFactory.get(0, 0);
+
     private final RendererManager rendererManager;
     private final InteractorRendererManager interactorRendererManager;
     private final EventBus eventBus;
 
-    private AdvancedContext2d compartments;
-    private AdvancedContext2d shadows;
-    private AdvancedContext2d notes;
-    private AdvancedContext2d links;
-
-    private AdvancedContext2d fadeOut;
+    private CanvasLayers layers;
+    private TileCache tileCache;
+    private WebGLLayer webGL;
+    //Reused in every render so the visible items are distributed without creating new collections
+    private final ItemsDistribution itemsDistribution = new ItemsDistribution();
 
     private AdvancedContext2d flag;
     private AdvancedContext2d halo;
@@ -84,28 +96,25 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
     private AdvancedContext2d reactionsHighlight;
     private AdvancedContext2d entitiesHighlight;
 
-    private AdvancedContext2d reactions;
     private AdvancedContext2d reactionsSelection;
-    private AdvancedContext2d reactionDecorators;
 
-    private AdvancedContext2d entities;
     private AdvancedContext2d entitiesDecorators;
-    private AdvancedContext2d text;
-    private AdvancedContext2d overlay;
     private AdvancedContext2d entitiesSelection;
-    private AdvancedContext2d shadowsText;
 
     private AdvancedContext2d interactorsHighlight;
     private AdvancedContext2d interactorsSelection;
     private AdvancedContext2d interactors;
 
-    private AdvancedContext2d buffer;
-
     private TooltipContainer tooltipContainer;
     private final Thumbnail thumbnail;
     private final List<Canvas> canvases = new LinkedList<>();
 
     private int column = 0;
+    private final Set<Layer> dirty = EnumSet.allOf(Layer.class);
+    //False when the content layers are composited from the cached tiles (they cannot be repainted separately)
+    private boolean direct = false;
+    //The notes and shadows drawn in the canvas layers on top of the WebGL canvas
+    private final List<DiagramObject> webGLOverlaid = new ArrayList<>();
     private Double hoveredExpression = null;
 
     private final StaticIllustrationThumbnail staticIllustrationThumbnail;
@@ -254,7 +263,7 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
     }
 
     public void setCursor(Style.Cursor cursor) {
-        this.buffer.getCanvas().getStyle().setCursor(cursor);
+        this.layers.buffer.getCanvas().getStyle().setCursor(cursor);
     }
 
     public void setSize(int width, int height) {
@@ -264,6 +273,12 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
         for (Canvas canvas : canvases) {
             setCanvasProperties(canvas, width, height);
         }
+        if (tileCache != null) {
+            tileCache.setSize(width, height);
+        }
+        if (webGL != null) {
+            webGL.setSize(width, height);
+        }
         if (tooltipContainer != null) {
             tooltipContainer.setWidth(width);
             tooltipContainer.setHeight(height);
@@ -395,12 +410,134 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
     }
 
     public void render(Collection<DiagramObject> items, Context context) {
-        ColourProfileType colourProfileType = context.getColourProfileType();
-        AnalysisStatus analysisStatus = context.getAnalysisStatus();
         double factor = context.getDiagramStatus().getFactor();
         Coordinate offset = context.getDiagramStatus().getOffset();
         setCanvasesProperties(factor);
 
+        //The zoomed out views can be drawn with WebGL (see WebGLLayer), so the content layers only keep the notes
+        //and the shadows (with their labels, which are the landmarks of the diagram at these zoom levels)
+        if (webGL != null && webGL.render(context, factor, offset)) {
+            layers.clear();
+            direct = false;
+            webGLOverlaid.clear();
+            for (DiagramObject item : items) {
+                if (item instanceof Note || item instanceof Shadow) webGLOverlaid.add(item);
+            }
+            render(webGLOverlaid, context, layers, factor, offset);
+        } else {
+            //When the tiles cannot be used (or too many of them are missing) the content is rendered directly
+            direct = !tileCache.render(context, layers, column);
+            if (direct) {
+                render(items, context, layers, factor, offset);
+            }
+        }
+        fireRenderOtherData(items);
+    }
+
+    /**
+     * The WebGL canvas is not part of the exported snapshot (see showExportDialog), so when the view has been
+     * drawn with WebGL the content is rendered again in the canvas layers
+     */
+    void renderForExport(Collection<DiagramObject> items, Context context) {
+        if (webGL == null || !webGL.isDrawn()) return;
+        webGL.clear();
+        layers.clear();
+        render(items, context, layers, context.getDiagramStatus().getFactor(), context.getDiagramStatus().getOffset());
+        direct = true;
+        fireRenderOtherData(items);
+    }
+
+    private void fireRenderOtherData(Collection<DiagramObject> items) {
+        eventBus.fireEventFromSource(
+                new RenderOtherDataEvent(rendererManager,
+                        items,
+                        layers.entities,
+                        new OverlayContext(layers.overlay, layers.buffer)
+                ), this);
+
+        cleanCanvas(layers.buffer); //It could have been used for the "other data" overlay
+    }
+
+    /**
+     * Forces the cached tiles to be rendered again next time (to be called whenever the content of the
+     * diagram changes without changing the zoom, the colour profiles or the analysis status)
+     */
+    public void invalidate() {
+        if (tileCache != null) tileCache.invalidate();
+        if (webGL != null) webGL.invalidate();
+    }
+
+    void setDirty(Layer... layers) {
+        Collections.addAll(dirty, layers);
+    }
+
+    boolean isDirty(Layer layer) {
+        return dirty.contains(layer) || (layer != Layer.CONTENT && dirty.contains(Layer.CONTENT));
+    }
+
+    boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    void setClean() {
+        dirty.clear();
+    }
+
+    /**
+     * Repaints the entities and the analysis overlay only (e.g. when the expression column changes). When the
+     * content is composited from cached tiles, the entities cannot be separated from the rest of the layers
+     * so the content is rendered directly once and the following repaints only touch those two layers
+     */
+    void renderAnalysis(Collection<DiagramObject> items, Context context) {
+        double factor = context.getDiagramStatus().getFactor();
+        Coordinate offset = context.getDiagramStatus().getOffset();
+        if (webGL != null) webGL.clear(); //The analysis overlay is always drawn in the canvas layers
+        if (direct) {
+            cleanCanvas(layers.entities);
+            cleanCanvas(layers.overlay);
+            render(items, context, layers, factor, offset, true);
+        } else {
+            layers.clear();
+            render(items, context, layers, factor, offset, false);
+            direct = true;
+        }
+        fireRenderOtherData(items);
+    }
+
+    /**
+     * Renders the diagram content in the target layers. It is used for the canvases in the document and also
+     * to pre-render the cached tiles
+     */
+    void render(Collection<DiagramObject> items, Context context, CanvasLayers target, double factor, Coordinate offset) {
+        render(items, context, target, factor, offset, false);
+    }
+
+    /**
+     * @param analysisOnly only the entities layer (with the analysis overlay) is rendered
+     */
+    private void render(Collection<DiagramObject> items, Context context, CanvasLayers target, double factor, Coordinate offset, boolean analysisOnly) {
+        OverlayContext overlay = new OverlayContext(target.overlay, target.buffer);
+        if (!DiagramFactory.TRANSFORM_RENDERING) {
+            render(items, context, target, overlay, factor, offset, analysisOnly);
+            return;
+        }
+        //The zoom and the offset are set once per layer and the renderers draw in layout coordinates
+        target.setTransform(factor, offset.getX(), offset.getY());
+        overlay.setTransform(factor, offset.getX(), offset.getY());
+        double previous = RendererProperties.getFactor();
+        RendererProperties.setModelUnits(factor);
+        try {
+            render(items, context, target, overlay, 1.0, ORIGIN, analysisOnly);
+        } finally {
+            RendererProperties.setFactor(previous);
+            target.setTransform(1.0, 0, 0);
+        }
+    }
+
+    private void render(Collection<DiagramObject> items, Context context, CanvasLayers target, OverlayContext overlay, double factor, Coordinate offset, boolean analysisOnly) {
+        AnalysisStatus analysisStatus = context.getAnalysisStatus();
+        setLayersProperties(target, factor);
+
         Double minExp = 0.0;
         Double maxExp = 0.0;
         AnalysisType analysisType = AnalysisType.NONE;
@@ -412,8 +549,11 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
             }
         }
 
-        ItemsDistribution itemsDistribution = new ItemsDistribution(items, analysisType);
-        for (String renderableClass : itemsDistribution.keySet()) {
+        AdvancedContext2d text = target.text;
+        itemsDistribution.distribute(context.getContent(), items, analysisType, context.getAnalysisHitIndex());
+        List<String> renderableClasses = itemsDistribution.getRenderableClasses();
+        for (int i = 0; i < renderableClasses.size(); i++) {
+            String renderableClass = renderableClasses.get(i);
             if (renderableClass.equals("Reaction"))
                 continue; //Reactions are drawn at the end (they follow slightly different approach)
             if (renderableClass.equals("Shadow"))
@@ -422,76 +562,75 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
             final Renderer renderer = rendererManager.getRenderer(renderableClass);
             if (renderer == null) continue;
 
-            final AdvancedContext2d ctx = this.getContext2d(renderableClass);
+            final AdvancedContext2d ctx = target.getContext2d(renderableClass);
+            if (analysisOnly && ctx != target.entities) continue;
             ctx.setLineWidth(RendererProperties.NODE_LINE_WIDTH);
 
-            MapSet<RenderType, DiagramObject> target = itemsDistribution.getItems(renderableClass);
-
-            Set<DiagramObject> fadeOut = target.getElements(RenderType.FADE_OUT);
-            if (fadeOut != null) {
-                renderFadeoutItems(renderer, fadeOut, factor, offset);
+            List<DiagramObject> fadeOut = itemsDistribution.getItems(renderableClass, RenderType.FADE_OUT);
+            if (!fadeOut.isEmpty() && !analysisOnly) {
+                renderFadeoutItems(renderer, target, context.getContent(), fadeOut, factor, offset);
             }
 
             if (analysisType.equals(AnalysisType.NONE)) {
                 //By doing this we avoid changing the context several time (which improves the rendering time)
                 renderer.setColourProperties(ctx, ColourProfileType.NORMAL);
                 renderer.setTextProperties(text, ColourProfileType.NORMAL);
-                Set<DiagramObject> normal = target.getElements(RenderType.NORMAL);
-                if (normal != null) {
-                    renderItems(renderer, ctx, normal, factor, offset);
+                List<DiagramObject> normal = itemsDistribution.getItems(renderableClass, RenderType.NORMAL);
+                if (!normal.isEmpty()) {
+                    renderItems(renderer, ctx, target, context.getContent(), normal, factor, offset, !analysisOnly);
                 }
 
-                Set<DiagramObject> diseaseObjects = target.getElements(RenderType.DISEASE);
-                if (diseaseObjects != null) {
+                List<DiagramObject> diseaseObjects = itemsDistribution.getItems(renderableClass, RenderType.DISEASE);
+                if (!diseaseObjects.isEmpty()) {
                     ctx.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getDisease());
-                    renderItems(renderer, ctx, diseaseObjects, factor, offset);
+                    renderItems(renderer, ctx, target, context.getContent(), diseaseObjects, factor, offset, !analysisOnly);
                 }
             } else {
-                Set<DiagramObject> noHitByAnalysisNormal = target.getElements(RenderType.NOT_HIT_BY_ANALYSIS_NORMAL);
+                List<DiagramObject> noHitByAnalysisNormal = itemsDistribution.getItems(renderableClass, RenderType.NOT_HIT_BY_ANALYSIS_NORMAL);
                 renderer.setColourProperties(ctx, ColourProfileType.ANALYSIS);
                 renderer.setTextProperties(text, ColourProfileType.ANALYSIS);
-                if (noHitByAnalysisNormal != null) {
-                    renderItems(renderer, ctx, noHitByAnalysisNormal, factor, offset);
+                if (!noHitByAnalysisNormal.isEmpty()) {
+                    renderItems(renderer, ctx, target, context.getContent(), noHitByAnalysisNormal, factor, offset, !analysisOnly);
                 }
-                Set<DiagramObject> noHitByAnalysisDisease = target.getElements(RenderType.NOT_HIT_BY_ANALYSIS_DISEASE);
-                if (noHitByAnalysisDisease != null) {
+                List<DiagramObject> noHitByAnalysisDisease = itemsDistribution.getItems(renderableClass, RenderType.NOT_HIT_BY_ANALYSIS_DISEASE);
+                if (!noHitByAnalysisDisease.isEmpty()) {
                     ctx.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getDisease());
-                    renderItems(renderer, ctx, noHitByAnalysisDisease, factor, offset);
+                    renderItems(renderer, ctx, target, context.getContent(), noHitByAnalysisDisease, factor, offset, !analysisOnly);
                 }
-                Set<DiagramObject> enrichmentNormal = target.getElements(RenderType.HIT_BY_ENRICHMENT_NORMAL);
-                if (enrichmentNormal != null) {
+                List<DiagramObject> enrichmentNormal = itemsDistribution.getItems(renderableClass, RenderType.HIT_BY_ENRICHMENT_NORMAL);
+                if (!enrichmentNormal.isEmpty()) {
                     ctx.setFillStyle(AnalysisColours.get().PROFILE.getEnrichment().getGradient().getMax());
                     renderer.setTextProperties(text, ColourProfileType.NORMAL);
-                    renderEnrichment(renderer, ctx, enrichmentNormal, factor, offset);
+                    renderEnrichment(renderer, ctx, target, overlay, enrichmentNormal, factor, offset, !analysisOnly);
                 }
-                Set<DiagramObject> enrichmentDisease = target.getElements(RenderType.HIT_BY_ENRICHMENT_DISEASE);
-                if (enrichmentDisease != null) {
+                List<DiagramObject> enrichmentDisease = itemsDistribution.getItems(renderableClass, RenderType.HIT_BY_ENRICHMENT_DISEASE);
+                if (!enrichmentDisease.isEmpty()) {
                     ctx.setFillStyle(AnalysisColours.get().PROFILE.getEnrichment().getGradient().getMax());
                     ctx.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getDisease());
                     renderer.setTextProperties(text, ColourProfileType.NORMAL);
-                    renderEnrichment(renderer, ctx, enrichmentDisease, factor, offset);
+                    renderEnrichment(renderer, ctx, target, overlay, enrichmentDisease, factor, offset, !analysisOnly);
                 }
-                Set<DiagramObject> expressionNormal = target.getElements(RenderType.HIT_BY_EXPRESSION_NORMAL);
-                if (expressionNormal != null) {
+                List<DiagramObject> expressionNormal = itemsDistribution.getItems(renderableClass, RenderType.HIT_BY_EXPRESSION_NORMAL);
+                if (!expressionNormal.isEmpty()) {
                     renderer.setTextProperties(text, ColourProfileType.NORMAL);
                     if (analysisType == AnalysisType.GSA_REGULATION) {
-                        renderRegulation(renderer, ctx, expressionNormal, column, minExp, maxExp, factor, offset);
+                        renderRegulation(renderer, ctx, target, overlay, expressionNormal, column, minExp, maxExp, factor, offset, !analysisOnly);
                     } else {
-                        renderExpression(renderer, ctx, expressionNormal, column, minExp, maxExp, factor, offset);
+                        renderExpression(renderer, ctx, target, overlay, expressionNormal, column, minExp, maxExp, factor, offset, !analysisOnly);
                     }
                 }
-                Set<DiagramObject> expressionDisease = target.getElements(RenderType.HIT_BY_EXPRESSION_DISEASE);
-                if (expressionDisease != null) {
+                List<DiagramObject> expressionDisease = itemsDistribution.getItems(renderableClass, RenderType.HIT_BY_EXPRESSION_DISEASE);
+                if (!expressionDisease.isEmpty()) {
                     renderer.setTextProperties(text, ColourProfileType.NORMAL);
                     ctx.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getDisease());
                     if (analysisType == AnalysisType.GSA_REGULATION) {
-                        renderRegulation(renderer, ctx, expressionDisease, column, minExp, maxExp, factor, offset);
+                        renderRegulation(renderer, ctx, target, overlay, expressionDisease, column, minExp, maxExp, factor, offset, !analysisOnly);
                     } else {
-                        renderExpression(renderer, ctx, expressionDisease, column, minExp, maxExp, factor, offset);
+                        renderExpression(renderer, ctx, target, overlay, expressionDisease, column, minExp, maxExp, factor, offset, !analysisOnly);
                     }
                 }
-                Set<DiagramObject> hitInteractors = target.getElements(RenderType.HIT_INTERACTORS);
-                if (hitInteractors != null) {
+                List<DiagramObject> hitInteractors = itemsDistribution.getItems(renderableClass, RenderType.HIT_INTERACTORS);
+                if (!hitInteractors.isEmpty()) {
                     ctx.setStrokeStyle(AnalysisColours.get().PROFILE.getRibbon());
                     ctx.setLineWidth(16 * factor);
                     renderHitInteractors(renderer, ctx, hitInteractors, factor, offset);
@@ -499,25 +638,20 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
             }
         }
 
-        eventBus.fireEventFromSource(
-                new RenderOtherDataEvent(rendererManager,
-                        items,
-                        entities,
-                        new OverlayContext(this.overlay, this.buffer)
-                ), this);
-
-        cleanCanvas(this.buffer); //It could have been used for the expression overlay (it is fastest cleaning it once)
+        cleanCanvas(target.buffer); //It could have been used for the expression overlay (it is fastest cleaning it once)
+        if (analysisOnly) return;
 
         //Reactions are rendered after all the other types. They have special characteristics.
         //renderItems uses "reactions" context2d to draw connectors. It is better to set the colour properties once
         items = itemsDistribution.getAll("Reaction");
         if (!items.isEmpty()) { //No need to check for null here
+            AdvancedContext2d reactions = target.reactions;
             Renderer reactionRenderer = rendererManager.getRenderer("Reaction");
             reactionRenderer.setColourProperties(reactions, ColourProfileType.NORMAL);
-            reactionRenderer.setColourProperties(this.fadeOut, ColourProfileType.FADE_OUT);
+            reactionRenderer.setColourProperties(target.fadeOut, ColourProfileType.FADE_OUT);
             for (DiagramObject item : items) {
                 if (item.getIsFadeOut() != null) {
-                    reactionRenderer.draw(this.fadeOut, item, factor, offset);
+                    reactionRenderer.draw(target.fadeOut, item, factor, offset);
                 } else if (item.getIsDisease() != null) {
                     reactions.save();
                     reactions.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getDisease());
@@ -531,106 +665,128 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
 
         //Shadows to be rendered at the VERY END of it :)
         Renderer shadowRenderer = rendererManager.getRenderer("Shadow");
-        shadowRenderer.setTextProperties(shadowsText, ColourProfileType.NORMAL);
+        shadowRenderer.setTextProperties(target.shadowsText, ColourProfileType.NORMAL);
         for (DiagramObject item : itemsDistribution.getAll("Shadow")) {
-            shadowRenderer.draw(shadows, item, factor, offset);
-            shadowRenderer.drawText(shadowsText, item, factor, offset);
+            shadowRenderer.draw(target.shadows, item, factor, offset);
+            shadowRenderer.drawText(target.shadowsText, item, factor, offset);
         }
     }
 
-    private void renderItems(Renderer renderer, AdvancedContext2d ctx, Set<DiagramObject> objects, double factor, Coordinate offset) {
+    private void renderItems(Renderer renderer, AdvancedContext2d ctx, CanvasLayers target, Content content, List<DiagramObject> objects, double factor, Coordinate offset, boolean labels) {
         ConnectorRenderer connectorRenderer = this.rendererManager.getConnectorRenderer();
-        for (DiagramObject item : objects) {
-            renderer.draw(ctx, item, factor, offset);
-            renderer.drawText(this.text, item, factor, offset);
-            if (item instanceof Node) {
-                Node node = (Node) item;
-                connectorRenderer.draw(this.reactions, this.fadeOut, this.reactionDecorators, node, factor, offset);
+        //All the items share the same style, so (when possible) their shapes are filled and stroked at once
+        boolean batched = canBatch(content, objects) && renderer.batchShapes(ctx, objects, factor, offset);
+        try {
+            for (DiagramObject item : objects) {
+                renderer.draw(ctx, item, factor, offset);
+                if (!labels) continue; //Text and connectors are not affected by the analysis overlay
+                renderer.drawText(target.text, item, factor, offset);
+                if (item instanceof Node) {
+                    Node node = (Node) item;
+                    connectorRenderer.draw(target.reactions, target.fadeOut, target.reactionDecorators, node, factor, offset);
+                }
             }
+        } finally {
+            if (batched) renderer.endBatch();
         }
     }
 
-    private void renderFadeoutItems(Renderer renderer, Set<DiagramObject> objects, double factor, Coordinate offset) {
+    private void renderFadeoutItems(Renderer renderer, CanvasLayers target, Content content, List<DiagramObject> objects, double factor, Coordinate offset) {
         ConnectorRenderer connectorRenderer = this.rendererManager.getConnectorRenderer();
-        renderer.setColourProperties(this.fadeOut, ColourProfileType.FADE_OUT);
-        for (DiagramObject item : objects) {
-            renderer.draw(this.fadeOut, item, factor, offset);
-            if (item instanceof Node) {
-                Node node = (Node) item;
-                connectorRenderer.draw(this.fadeOut, this.fadeOut, this.reactionDecorators, node, factor, offset);
+        AdvancedContext2d fadeOut = target.fadeOut;
+        renderer.setColourProperties(fadeOut, ColourProfileType.FADE_OUT);
+        boolean batched = canBatch(content, objects) && renderer.batchShapes(fadeOut, objects, factor, offset);
+        try {
+            for (DiagramObject item : objects) {
+                renderer.draw(fadeOut, item, factor, offset);
+                if (item instanceof Node) {
+                    Node node = (Node) item;
+                    connectorRenderer.draw(fadeOut, fadeOut, target.reactionDecorators, node, factor, offset);
+                }
             }
+        } finally {
+            if (batched) renderer.endBatch();
         }
-        renderer.setTextProperties(this.fadeOut, ColourProfileType.FADE_OUT);
-        this.fadeOut.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getText());
+        renderer.setTextProperties(fadeOut, ColourProfileType.FADE_OUT);
+        fadeOut.setStrokeStyle(DiagramColours.get().PROFILE.getProperties().getText());
+        for (DiagramObject item : objects) {
+            renderer.drawText(fadeOut, item, factor, offset);
+        }
+    }
+
+    //Overlapping items are drawn one by one, otherwise the outline of the lower one would show over the top one
+    private boolean canBatch(Content content, List<DiagramObject> objects) {
         for (DiagramObject item : objects) {
-            renderer.drawText(this.fadeOut, item, factor, offset);
+            if (content.isOverlapping(item)) return false;
         }
+        return true;
     }
 
-    private void renderEnrichment(Renderer renderer, AdvancedContext2d ctx, Set<DiagramObject> objects, double factor, Coordinate offset) {
+    private void renderEnrichment(Renderer renderer, AdvancedContext2d ctx, CanvasLayers target, OverlayContext overlay, List<DiagramObject> objects, double factor, Coordinate offset, boolean labels) {
         ConnectorRenderer connectorRenderer = this.rendererManager.getConnectorRenderer();
-        OverlayContext overlay = new OverlayContext(this.overlay, this.buffer);
         for (DiagramObject item : objects) {
             renderer.drawEnrichment(ctx, overlay, item, factor, offset);
-            renderer.drawText(this.text, item, factor, offset);
+            if (!labels) continue; //Text and connectors are not affected by the analysis overlay
+            renderer.drawText(target.text, item, factor, offset);
             if (item instanceof Node) {
                 Node node = (Node) item;
-                connectorRenderer.draw(this.reactions, this.fadeOut, this.reactionDecorators, node, factor, offset);
+                connectorRenderer.draw(target.reactions, target.fadeOut, target.reactionDecorators, node, factor, offset);
             }
         }
     }
 
-    private void renderExpression(Renderer renderer, AdvancedContext2d ctx, Set<DiagramObject> objects, int c, double min, double max, double factor, Coordinate offset) {
+    private void renderExpression(Renderer renderer, AdvancedContext2d ctx, CanvasLayers target, OverlayContext overlay, List<DiagramObject> objects, int c, double min, double max, double factor, Coordinate offset, boolean labels) {
         ConnectorRenderer connectorRenderer = this.rendererManager.getConnectorRenderer();
-        OverlayContext overlay = new OverlayContext(this.overlay, this.buffer);
         for (DiagramObject item : objects) {
             try {
                 renderer.drawExpression(ctx, overlay, item, c, min, max, factor, offset);
             } catch (Exception e) {
                 Console.error(e.getMessage(), this);
             }
-            renderer.drawText(this.text, item, factor, offset);
+            if (!labels) continue; //Text and connectors are not affected by the analysis overlay
+            renderer.drawText(target.text, item, factor, offset);
             if (item instanceof Node) {
                 Node node = (Node) item;
-                connectorRenderer.draw(this.reactions, this.fadeOut, this.reactionDecorators, node, factor, offset);
+                connectorRenderer.draw(target.reactions, target.fadeOut, target.reactionDecorators, node, factor, offset);
             }
         }
     }
 
-    private void renderRegulation(Renderer renderer, AdvancedContext2d ctx, Set<DiagramObject> objects, int c, double min, double max, double factor, Coordinate offset) {
+    private void renderRegulation(Renderer renderer, AdvancedContext2d ctx, CanvasLayers target, OverlayContext overlay, List<DiagramObject> objects, int c, double min, double max, double factor, Coordinate offset, boolean labels) {
         ConnectorRenderer connectorRenderer = this.rendererManager.getConnectorRenderer();
-        OverlayContext overlay = new OverlayContext(this.overlay, this.buffer);
         for (DiagramObject item : objects) {
             try {
                 renderer.drawRegulation(ctx, overlay, item, c, min, max, factor, offset);
             } catch (Exception e) {
                 Console.error(e.getMessage(), this);
             }
-            renderer.drawText(this.text, item, factor, offset);
+            if (!labels) continue; //Text and connectors are not affected by the analysis overlay
+            renderer.drawText(target.text, item, factor, offset);
             if (item instanceof Node) {
                 Node node = (Node) item;
-                connectorRenderer.draw(this.reactions, this.fadeOut, this.reactionDecorators, node, factor, offset);
+                connectorRenderer.draw(target.reactions, target.fadeOut, target.reactionDecorators, node, factor, offset);
             }
         }
     }
 
-    private void renderHitInteractors(Renderer renderer, AdvancedContext2d ctx, Set<DiagramObject> objects, double factor, Coordinate offset) {
+    private void renderHitInteractors(Renderer renderer, AdvancedContext2d ctx, List<DiagramObject> objects, double factor, Coordinate offset) {
         for (DiagramObject object : objects) {
             renderer.drawHitInteractors(ctx, object, factor, offset);
         }
     }
 
-    private void setCanvasesProperties(double factor) {
-        this.fadeOut.setLineWidth(factor);
-        this.fadeOut.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
+    private void setLayersProperties(CanvasLayers target, double factor) {
+        target.fadeOut.setLineWidth(factor);
+        target.fadeOut.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
 
-        this.links.setLineWidth(factor); //(RendererProperties.NODE_LINE_WIDTH);
-        this.reactions.setLineWidth(factor);
-        this.reactions.setLineWidth(factor); //(RendererProperties.NODE_LINE_WIDTH);
+        target.links.setLineWidth(factor); //(RendererProperties.NODE_LINE_WIDTH);
+        target.reactions.setLineWidth(factor); //(RendererProperties.NODE_LINE_WIDTH);
 
-        this.reactionDecorators.setLineWidth(factor);
-        this.reactionDecorators.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
+        target.reactionDecorators.setLineWidth(factor);
+        target.reactionDecorators.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
+    }
 
+    private void setCanvasesProperties(double factor) {
         DiagramProfileProperties profileProperties = DiagramColours.get().PROFILE.getProperties();
 
         this.entitiesDecorators.setGlobalAlpha(0.5);
@@ -675,29 +831,40 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
         this.setWidth(width + "px");
         this.setHeight(height + "px");
 
-        this.compartments = createCanvas(width, height);
-        this.shadows = createCanvas(width, height);
-        this.notes = createCanvas(width, height);
-        this.links = createCanvas(width, height);
+        //Underneath all the canvas layers (it is only created when enabled and only kept when supported)
+        if (DiagramFactory.WEBGL_RENDERING) {
+            WebGLLayer layer = new WebGLLayer();
+            if (layer.isAvailable()) {
+                this.webGL = layer;
+                this.webGL.setSize(width, height);
+                this.add(this.webGL.getCanvas(), 0, 0);
+            }
+        }
 
-        this.fadeOut = createCanvas(width, height);
+        this.layers = new CanvasLayers();
+        this.layers.compartments = createCanvas(width, height);
+        this.layers.shadows = createCanvas(width, height);
+        this.layers.notes = createCanvas(width, height);
+        this.layers.links = createCanvas(width, height);
+
+        this.layers.fadeOut = createCanvas(width, height);
         this.flag = createCanvas(width, height);
         this.halo = createCanvas(width, height);
 
         this.reactionsHighlight = createCanvas(width, height);
         this.entitiesHighlight = createCanvas(width, height);
 
-        this.reactions = createCanvas(width, height);
+        this.layers.reactions = createCanvas(width, height);
         this.reactionsSelection = createCanvas(width, height);
-        this.reactionDecorators = createCanvas(width, height);
+        this.layers.reactionDecorators = createCanvas(width, height);
 
-        this.entities = createCanvas(width, height);
+        this.layers.entities = createCanvas(width, height);
 //        this.entitiesDecorators = createCanvas(width, height);
-        this.text = createCanvas(width, height);
-        this.overlay = createCanvas(width, height);
+        this.layers.text = createCanvas(width, height);
+        this.layers.overlay = createCanvas(width, height);
         this.entitiesDecorators = createCanvas(width, height);
         this.entitiesSelection = createCanvas(width, height);
-        this.shadowsText = createCanvas(width, height);
+        this.layers.shadowsText = createCanvas(width, height);
 
         this.interactorsHighlight = createCanvas(width, height);
         this.interactorsSelection = createCanvas(width, height);
@@ -705,14 +872,17 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
 
         this.tooltipContainer = createToolTipContainer(width, height);
 
-        this.buffer = createCanvas(width, height);  //Top-level canvas (mouse ctrl and buffer)
+        this.layers.buffer = createCanvas(width, height);  //Top-level canvas (mouse ctrl and buffer)
 
         //Set the LineCap to round to avoid discontinuities in the reaction lines
         //NOTE: Setting the LineJoin cannot work as we draw every line segment separately
-        this.reactions.setLineCap(Context2d.LineCap.ROUND);
+        this.layers.reactions.setLineCap(Context2d.LineCap.ROUND);
         this.reactionsHighlight.setLineCap(Context2d.LineCap.ROUND);
         this.reactionsSelection.setLineCap(Context2d.LineCap.ROUND);
 
+        this.tileCache = new TileCache(this);
+        this.tileCache.setSize(width, height);
+
         //Thumbnails
         this.add(createThumbnailsContainer());
 
@@ -764,48 +934,4 @@ public class DiagramCanvas extends AbsolutePanel implements ExpressionColumnChan
         this.add(tooltipContainer, 0, 0);
         return tooltipContainer;
     }
-
-    private AdvancedContext2d getContext2d(String renderableClass) {
-        AdvancedContext2d rtn = null;
-        switch (renderableClass) {
-            case "Note":
-                rtn = this.notes;
-                break;
-            case "Compartment":
-                rtn = this.compartments;
-                break;
-            case "Protein":
-            case "Cell":
-            case "Chemical":
-            case "ChemicalDrug":
-            case "ProteinDrug":
-            case "RNADrug":
-            case "Complex":
-            case "ComplexDrug":
-            case "Entity":
-            case "EntitySet":
-            case "EntitySetDrug":
-            case "ProcessNode":
-            case "EncapsulatedNode":
-            case "FlowLine":
-            case "Interaction":
-            case "RNA":
-            case "Gene":
-                rtn = this.entities;
-                break;
-            case "Reaction":
-                rtn = this.reactions;
-                break;
-            case "Shadow":
-                rtn = this.shadows;
-                break;
-            case "EntitySetAndMemberLink":
-            case "EntitySetAndEntitySetLink":
-                rtn = this.links;
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + renderableClass);
-        }
-        return rtn;
-    }
 }
@@ -1,11 +1,11 @@
 package org.reactome.web.diagram.client.visualisers.diagram;
 
-import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.SimplePanel;
 import org.reactome.web.analysis.client.model.AnalysisType;
+import org.reactome.web.diagram.client.visualisers.FrameScheduler;
 import org.reactome.web.diagram.client.visualisers.Visualiser;
 import org.reactome.web.diagram.common.DiagramAnimationHandler;
 import org.reactome.web.diagram.common.DisplayManager;
@@ -68,7 +68,12 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     private Coordinate mouseCurrent = CoordinateFactory.get(-100, -100);
     private Coordinate mousePrevious = CoordinateFactory.get(-200, -200);
 
-    private boolean forceDraw = false;
+    //Dirty flags checked in the next animation frame (the canvas keeps the ones of its layers and
+    //the mouse position is the one for hovering)
+    private boolean interactorsDirty = false;
+    private final FrameScheduler.Task updater = timestamp -> {
+        if (isVisible()) doUpdate();
+    };
 
     private Boolean includeInteractors;
 
@@ -104,18 +109,26 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
             staticIllustrationThumbnail = canvas.getStaticIllustrationThumbnail();
 
             this.initHandlers();
-            AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
-                @Override
-                public void execute(double timestamp) {
-                    if (isVisible()) {
-                        doUpdate();
-                    }
-                    AnimationScheduler.get().requestAnimationFrame(this); // Call it again.
-                }
-            });
+            scheduleUpdate();
         }
     }
 
+    /**
+     * Nothing is done in the animation frames unless something has changed (see the dirty flags)
+     */
+    private void scheduleUpdate() {
+        if (initialised) FrameScheduler.get().schedule(updater);
+    }
+
+    private void requestDraw() {
+        requestDraw(DiagramCanvas.Layer.CONTENT);
+    }
+
+    private void requestDraw(DiagramCanvas.Layer... layers) {
+        canvas.setDirty(layers);
+        scheduleUpdate();
+    }
+
     private void initHandlers() {
         canvas.addUserActionsHandlers(userActionsManager);
 
@@ -128,12 +141,19 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
 
     private void doUpdate() {
         if (context == null) return;
-        if (forceDraw) {
-            forceDraw = false;
+        if (canvas.isDirty()) {
+            boolean content = canvas.isDirty(DiagramCanvas.Layer.CONTENT);
             Box visibleArea = context.getVisibleModelArea(viewportWidth, viewportHeight);
             draw(visibleArea);
-            drawInteractors(visibleArea);
-        } else if (!mouseCurrent.equals(mousePrevious)) {
+            if (content || interactorsDirty) drawInteractors(visibleArea);
+            interactorsDirty = false;
+            //Hovering is checked in the following frame
+            if (isInteractive() && !mouseCurrent.equals(mousePrevious)) scheduleUpdate();
+        } else if (interactorsDirty) {
+            interactorsDirty = false;
+            drawInteractors(context.getVisibleModelArea(viewportWidth, viewportHeight));
+            if (isInteractive() && !mouseCurrent.equals(mousePrevious)) scheduleUpdate();
+        } else if (isInteractive() && !mouseCurrent.equals(mousePrevious)) {
             mousePrevious = mouseCurrent;
             DiagramInteractor hoveredInteractor = getHoveredInteractor();
             canvas.setCursor(hoveredInteractor == null ? Style.Cursor.DEFAULT : Style.Cursor.POINTER);
@@ -149,19 +169,40 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         }
     }
 
+    /**
+     * Only the layers flagged as dirty in the canvas are repainted (all of them when the content is dirty)
+     */
     private void draw(Box visibleArea) {
         if (context == null) return;
         long start = System.currentTimeMillis();
-        canvas.clear();
-        Collection<DiagramObject> items = context.getContent().getVisibleItems(visibleArea);
-        canvas.render(items, context);
-        canvas.select(layoutManager.getSelectedDiagramObjects(), context);
-        canvas.highlight(layoutManager.getHovered(), context);
-        canvas.decorators(layoutManager.getHovered(), context);
-        canvas.halo(layoutManager.getHalo(), context);
-        canvas.flag(layoutManager.getFlagged(), context);
+        boolean content = canvas.isDirty(DiagramCanvas.Layer.CONTENT);
+        Collection<DiagramObject> items = null;
+        if (content) {
+            canvas.clear();
+            items = context.getContent().getVisibleItems(visibleArea);
+            canvas.render(items, context);
+        } else if (canvas.isDirty(DiagramCanvas.Layer.ANALYSIS)) {
+            items = context.getContent().getVisibleItems(visibleArea);
+            canvas.renderAnalysis(items, context);
+        }
+        if (canvas.isDirty(DiagramCanvas.Layer.SELECTION)) {
+            canvas.select(layoutManager.getSelectedDiagramObjects(), context);
+        }
+        if (canvas.isDirty(DiagramCanvas.Layer.HIGHLIGHT)) {
+            canvas.highlight(layoutManager.getHovered(), context);
+            canvas.decorators(layoutManager.getHovered(), context);
+        }
+        if (canvas.isDirty(DiagramCanvas.Layer.HALO)) {
+            canvas.halo(layoutManager.getHalo(), context);
+        }
+        if (canvas.isDirty(DiagramCanvas.Layer.FLAG)) {
+            canvas.flag(layoutManager.getFlagged(), context);
+        }
+        canvas.setClean();
+        if (!content) return;
+
         long time = System.currentTimeMillis() - start;
-        thumbnail.diagramRendered(context.getContent(), visibleArea);
+        thumbnail.diagramRendered(context, visibleArea);
         staticIllustrationThumbnail.diagramRendered(context);
 
         this.eventBus.fireEventFromSource(new DiagramRenderedEvent(context.getContent(), visibleArea, items.size(), time), this);
@@ -187,7 +228,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         DiagramStatus status = this.context.getDiagramStatus();
         status.setOffset(offset);
         status.setFactor(factor);
-        this.forceDraw = true;
+        requestDraw();
         Box visibleArea = this.context.getVisibleModelArea(viewportWidth, viewportHeight);
         this.eventBus.fireEventFromSource(new DiagramZoomEvent(factor, visibleArea), this);
         thumbnail.diagramZoomEvent(visibleArea);
@@ -250,29 +291,35 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
 
     @Override
     public void loadAnalysis() {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
     public void resetAnalysis() {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
     public void onAnalysisProfileChanged(AnalysisProfileChangedEvent event) {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     /**
      * Helper method so extensions of the diagram project have a way to force update after adding render information.
      */
     public void forceDraw() {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
     public void exportView() {
         if (context != null) {
+            Box visibleArea = context.getVisibleModelArea(viewportWidth, viewportHeight);
+            canvas.renderForExport(context.getContent().getVisibleItems(visibleArea), context);
             canvas.showExportDialog(context, layoutManager.getSelected(), context.getFlagTerm(), includeInteractors);
         }
     }
@@ -281,18 +328,21 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     public void flagItems(Set<DiagramObject> flaggedItems, Boolean includeInteractors) {
         this.includeInteractors = includeInteractors;
         layoutManager.setFlagged(flaggedItems);
-        forceDraw = true;
+        requestDraw(DiagramCanvas.Layer.FLAG);
     }
 
     @Override
     public void resetFlag() {
-        if (layoutManager.resetFlagged()) forceDraw = true;
+        if (layoutManager.resetFlagged()) requestDraw(DiagramCanvas.Layer.FLAG);
     }
 
     @Override
     public void contentLoaded(Context context) {
         this.context = context;
         this.context.restoreDialogs();
+        //The layout might have been rendered before the graph was available (progressive rendering)
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
@@ -307,14 +357,17 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         Coordinate model = context.getDiagramStatus().getModelCoordinate(mouseCurrent);
         DiagramObject hovered = layoutManager.getHoveredDiagramObject();
         canvas.notifyHoveredExpression(hovered, model);
-        forceDraw = true; //We give priority to other listeners here
+        //We give priority to other listeners here (the interactors are also coloured by the expression column)
+        interactorsDirty = true;
+        requestDraw(DiagramCanvas.Layer.ANALYSIS);
     }
 
     @Override
     public void interactorsCollapsed(String resource) {
         Collection<DiagramObject> diagramObjects = context.getContent().getDiagramObjects();
         context.getInteractors().resetBurstInteractors(resource, diagramObjects);
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
@@ -331,7 +384,8 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
 
     @Override
     public void interactorsLoaded() {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
@@ -340,7 +394,8 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         if (context.getInteractors().isInteractorResourceCached(resource.getIdentifier())) {
             context.getInteractors().restoreInteractorsSummary(resource.getIdentifier(), context.getContent());
         }
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
@@ -352,17 +407,20 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     @Override
     public void onDiagramProfileChanged(DiagramProfileChangedEvent event) {
         thumbnail.diagramProfileChanged();
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
     public void onInteractorProfileChanged(InteractorProfileChangedEvent event) {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     @Override
     public void onLayoutImageLoaded(StructureImageLoadedEvent event) {
-        forceDraw = true;
+        canvas.invalidate();
+        requestDraw();
     }
 
     public void setSize(int width, int height) {
@@ -373,7 +431,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
 
         if (canvas != null) {
             canvas.setSize(width, height);
-            forceDraw = true;
+            requestDraw();
 
             if (this.context != null) {
                 Box visibleArea = this.context.getVisibleModelArea(viewportWidth, viewportHeight);
@@ -415,7 +473,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         if (context == null) return rtn;
         if (layoutManager.resetSelected()) {
             thumbnail.graphObjectSelected(null);
-            forceDraw = true;
+            requestDraw(DiagramCanvas.Layer.SELECTION, DiagramCanvas.Layer.HALO);
             if (notify) {
                 eventBus.fireEventFromSource(new GraphObjectSelectedEvent(null, false), this);
             }
@@ -436,11 +494,13 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     @Override
     public void setMousePosition(Coordinate mouse) {
         mouseCurrent = mouse;
+        if (!mouseCurrent.equals(mousePrevious)) scheduleUpdate();
     }
 
     @Override
     public void setVisible(boolean visible) {
         super.setVisible(visible);
+        if (visible) scheduleUpdate();
         if (context != null) {
             if (visible) context.restoreDialogs();
             else context.hideDialogs();
@@ -511,12 +571,14 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         this.context = context;
 
         layoutManager.resetHovered();
-        this.forceDraw = true;
+        this.canvas.invalidate();
+        requestDraw();
         this.context.restoreDialogs();
     }
 
     @Override
     public void setSelection(boolean zoom, boolean fireExternally) {
+        if (!isInteractive()) return;
         DiagramInteractor interactor = getHoveredInteractor();
         if (interactor != null) {
             eventBus.fireEventFromSource(new InteractorSelectedEvent(interactor.getUrl()), this);
@@ -535,7 +597,10 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
             if (hoveredItem.getSummaryItem() != null) {
                 SummaryItem summaryItem = hoveredItem.getSummaryItem();
                 if (summaryItem.getType().equals("TR")) {
-                    forceDraw |= interactorsManager.update(summaryItem, (Node) hoveredItem.getHoveredObject());
+                    if (interactorsManager.update(summaryItem, (Node) hoveredItem.getHoveredObject())) {
+                        canvas.invalidate();
+                        requestDraw();
+                    }
                 }
                 eventBus.fireEventFromSource(new EntityDecoratorSelectedEvent(toSelect, hoveredItem.getSummaryItem()), this);
             }
@@ -557,7 +622,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
                 diagramManager.displayDiagramObjects(layoutManager.getHalo());
             }
             thumbnail.graphObjectSelected(toSelect);
-            forceDraw = true;
+            requestDraw(DiagramCanvas.Layer.SELECTION, DiagramCanvas.Layer.HALO);
             if (notify) {
                 eventBus.fireEventFromSource(new GraphObjectSelectedEvent(toSelect, zoom, fireExternally), this);
             }
@@ -582,7 +647,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     @Override
     public void padding(Coordinate delta) {
         context.getDiagramStatus().padding(delta);
-        forceDraw = true;
+        requestDraw();
         Box visibleArea = context.getVisibleModelArea(viewportWidth, viewportHeight);
         thumbnail.diagramPanningEvent(visibleArea);
         eventBus.fireEventFromSource(new DiagramPanningEvent(visibleArea), this);
@@ -621,8 +686,9 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
     public void dragInteractor(InteractorEntity interactor, Coordinate delta) {
         delta = delta.divide(context.getDiagramStatus().getFactor());
         interactorsManager.drag(interactor, delta.getX(), delta.getY());
-        Box visibleArea = context.getVisibleModelArea(viewportWidth, viewportHeight);
-        drawInteractors(visibleArea);
+        //Several drag events can happen before the next frame
+        interactorsDirty = true;
+        scheduleUpdate();
     }
 
     private void zoom(double factor, Coordinate mouse) {
@@ -642,7 +708,7 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         Box visibleArea = context.getVisibleModelArea(viewportWidth, viewportHeight);
         eventBus.fireEventFromSource(new DiagramZoomEvent(factor, visibleArea), this);
         thumbnail.diagramZoomEvent(visibleArea);
-        forceDraw = true;  //IMPORTANT: Please leave it at the very end after the event firing
+        requestDraw();  //IMPORTANT: Please leave it at the very end after the event firing
     }
 
     @Override
@@ -659,6 +725,14 @@ public class DiagramVisualiser extends SimplePanel implements Visualiser,
         highlightInteractor(hoveredInteractor); //if hovered i
     }
 
+    /**
+     * While the graph is not loaded the layout is shown (progressive rendering) but hovering and selection
+     * are disabled since there are not graph objects to relate the diagram objects with
+     */
+    private boolean isInteractive() {
+        return context != null && context.getContent().isGraphLoaded();
+    }
+
     public int getViewportWidth() {
         return viewportWidth;
     }
@@ -0,0 +1,335 @@
+package org.reactome.web.diagram.client.visualisers.diagram;
+
+import com.google.gwt.core.client.Scheduler;
+import org.reactome.web.diagram.client.DiagramFactory;
+import org.reactome.web.diagram.data.AnalysisStatus;
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.DiagramStatus;
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.DiagramObject;
+import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
+import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
+import org.reactome.web.diagram.profiles.diagram.DiagramColours;
+import org.reactome.web.diagram.util.AdvancedContext2d;
+import org.reactome.web.diagram.util.spatial.PackedRTree;
+import uk.ac.ebi.pwp.structures.quadtree.client.Box;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps pre-rendered tiles of the diagram content so panning only needs to blit the cached tiles and
+ * render the newly exposed ones instead of re-drawing every visible item in every layer.
+ * <p>
+ * Tiles are laid out in a grid anchored to the model at the current zoom factor. Every tile keeps one
+ * offscreen canvas per group of consecutive layers (those groups are composited in the same order they
+ * are stacked in the DiagramCanvas) and it belongs to a view of the diagram, defined by the zoom factor,
+ * the sub-pixel phase of the offset, the colour profiles and the analysis status (token, resource and
+ * column). Every time any of those changes the view gets a new generation and the tiles of the previous
+ * one are rendered again when needed.
+ * <p>
+ * The tiles are kept in a grid of slots covering the viewport plus a one tile margin in every direction.
+ * Every tile position always goes to the same slot (modulo the size of the grid), so panning reuses the
+ * slots (and their canvases) that scroll out of the view and nothing is created per frame.
+ * <p>
+ * The selection, halo, flag, highlight, decorators and interactors layers are NOT cached because they
+ * are cheap and change on every user interaction.
+ */
+class TileCache {
+
+    static final int TILE_SIZE = 256;
+
+    //Screen pixels added around every tile query so strokes lying on the border are not cut
+    private static final int QUERY_MARGIN = 8;
+    //When more tiles are missing, the whole view is rendered directly and the tiles are filled in the background
+    private static final int MAX_TILES_PER_FRAME = 6;
+    //Maximum time (in milliseconds) spent in every background step filling tiles
+    private static final int PREFETCH_TIME_SLICE = 8;
+
+    private final DiagramCanvas diagramCanvas;
+    private final CanvasLayers scratch;
+
+    private Tile[] slots = new Tile[0];
+    private int cols;
+    private int rows;
+    //The tiles are rendered while the visible items of the view are in use, so they are queried separately
+    private final List<DiagramObject> tileItems = new ArrayList<>();
+    private final PackedRTree.Visitor<DiagramObject> tileCollector = tileItems::add;
+
+    private Context context;
+    private final View view = new View();
+    private Scheduler.RepeatingCommand prefetcher;
+
+    TileCache(DiagramCanvas diagramCanvas) {
+        this.diagramCanvas = diagramCanvas;
+        this.scratch = CanvasLayers.offscreen(TILE_SIZE, TILE_SIZE);
+    }
+
+    /**
+     * The grid of slots covers the viewport plus a one tile margin in every direction
+     */
+    void setSize(int width, int height) {
+        int cols = width / TILE_SIZE + 4;
+        int rows = height / TILE_SIZE + 4;
+        if (cols == this.cols && rows == this.rows) return;
+        this.cols = cols;
+        this.rows = rows;
+        this.slots = new Tile[cols * rows];
+        invalidate();
+    }
+
+    void invalidate() {
+        view.invalidate();
+        prefetcher = null;
+    }
+
+    /**
+     * Draws the visible area using the cached tiles (rendering the missing ones).
+     *
+     * @return true if the visible area has been drawn. False means that too many tiles are missing and the
+     * caller has to draw the content directly (the missing tiles are then rendered in the background)
+     */
+    boolean render(Context context, CanvasLayers target, int column) {
+        if (!DiagramFactory.TILED_RENDERING) return false;
+        if (this.context != context) {
+            invalidate();
+            this.context = context;
+        }
+
+        AdvancedContext2d canvas = target.buffer;
+        if (view.update(context, column, canvas.getCanvas().getWidth(), canvas.getCanvas().getHeight())) {
+            prefetcher = null;
+        }
+
+        int missing = 0;
+        for (int j = view.firstRow; j <= view.lastRow; j++) {
+            for (int i = view.firstCol; i <= view.lastCol; i++) {
+                if (getTile(i, j) == null) missing++;
+            }
+        }
+        if (missing > MAX_TILES_PER_FRAME) {
+            prefetch();
+            return false;
+        }
+
+        for (int j = view.firstRow; j <= view.lastRow; j++) {
+            for (int i = view.firstCol; i <= view.lastCol; i++) {
+                Tile tile = getTile(i, j);
+                if (tile == null) tile = renderTile(i, j);
+                tile.blit(target, view.baseX + i * TILE_SIZE, view.baseY + j * TILE_SIZE);
+            }
+        }
+        //Tiles around the viewport are kept ready for the next panning steps
+        prefetch();
+        return true;
+    }
+
+    private void prefetch() {
+        if (prefetcher != null || !renderMissingTiles(0)) return;
+        final int generation = view.generation;
+        prefetcher = new Scheduler.RepeatingCommand() {
+            @Override
+            public boolean execute() {
+                //Stops as soon as the view changes (zoom, profile, analysis, etc) or a newer prefetcher is in place
+                if (prefetcher != this || view.generation != generation) return false;
+                boolean pending = renderMissingTiles(PREFETCH_TIME_SLICE);
+                if (!pending) prefetcher = null;
+                return pending;
+            }
+        };
+        Scheduler.get().scheduleFixedDelay(prefetcher, 1);
+    }
+
+    /**
+     * Renders the missing tiles around the viewport during the given time slice (0 only checks them)
+     *
+     * @return true if there are missing tiles left
+     */
+    private boolean renderMissingTiles(int timeSlice) {
+        long start = System.currentTimeMillis();
+        for (int j = view.firstRow - 1; j <= view.lastRow + 1; j++) {
+            for (int i = view.firstCol - 1; i <= view.lastCol + 1; i++) {
+                if (getTile(i, j) != null) continue;
+                if (System.currentTimeMillis() - start >= timeSlice) return true;
+                renderTile(i, j);
+            }
+        }
+        return false;
+    }
+
+    private int getSlot(int i, int j) {
+        return ((j % rows + rows) % rows) * cols + ((i % cols + cols) % cols);
+    }
+
+    private Tile getTile(int i, int j) {
+        Tile tile = slots[getSlot(i, j)];
+        return tile != null && tile.isFor(i, j, view.generation) ? tile : null;
+    }
+
+    private Tile renderTile(int i, int j) {
+        int slot = getSlot(i, j);
+        Tile tile = slots[slot];
+        if (tile == null) slots[slot] = tile = new Tile();
+        tile.set(i, j, view.generation);
+
+        double x = i * TILE_SIZE - view.phaseX;
+        double y = j * TILE_SIZE - view.phaseY;
+        double f = view.factor;
+        Box box = new Box(
+                (x - QUERY_MARGIN) / f, (y - QUERY_MARGIN) / f,
+                (x + TILE_SIZE + QUERY_MARGIN) / f, (y + TILE_SIZE + QUERY_MARGIN) / f
+        );
+        tileItems.clear();
+        context.getContent().searchItems(box, tileCollector);
+        if (tileItems.isEmpty()) {
+            tile.clear();
+            return tile;
+        }
+
+        Coordinate offset = CoordinateFactory.get(-x, -y);
+        diagramCanvas.render(tileItems, context, scratch, f, offset);
+        tile.compose(scratch);
+        scratch.clear();
+        return tile;
+    }
+
+    /**
+     * Keeps the properties shared by all the tiles of the current view of the diagram. It is updated in
+     * every frame and its generation only changes when the tiles rendered so far cannot be used anymore
+     */
+    private static class View {
+        int generation = 0;
+        double factor;
+        double phaseX;
+        double phaseY;
+        int baseX;
+        int baseY;
+        int firstCol, lastCol;
+        int firstRow, lastRow;
+
+        private long pX;
+        private long pY;
+        private String profile;
+        private String analysisProfile;
+        private String token;
+        private String resource;
+        private int column;
+
+        void invalidate() {
+            generation++;
+        }
+
+        /**
+         * @return true if the generation of the view has changed
+         */
+        boolean update(Context context, int column, int width, int height) {
+            DiagramStatus status = context.getDiagramStatus();
+            double factor = status.getFactor();
+
+            //The sub-pixel part of the offset is kept in the tiles (rounded to hundredths of pixel) so they can be
+            //blitted on integer positions. It does not change while panning since the mouse deltas are integers
+            Coordinate offset = status.getOffset();
+            int bX = (int) Math.floor(offset.getX());
+            int bY = (int) Math.floor(offset.getY());
+            long pX = Math.round((offset.getX() - bX) * 100);
+            long pY = Math.round((offset.getY() - bY) * 100);
+            if (pX == 100) { pX = 0; bX++; }
+            if (pY == 100) { pY = 0; bY++; }
+            this.baseX = bX;
+            this.baseY = bY;
+
+            this.firstCol = (int) Math.floor(-baseX / (double) TILE_SIZE);
+            this.lastCol = (int) Math.floor((width - 1 - baseX) / (double) TILE_SIZE);
+            this.firstRow = (int) Math.floor(-baseY / (double) TILE_SIZE);
+            this.lastRow = (int) Math.floor((height - 1 - baseY) / (double) TILE_SIZE);
+
+            String profile = DiagramColours.get().PROFILE.getName();
+            AnalysisStatus analysisStatus = context.getAnalysisStatus();
+            String analysisProfile = null, token = null, resource = null;
+            if (analysisStatus != null) {
+                analysisProfile = AnalysisColours.get().PROFILE.getName();
+                token = analysisStatus.getToken();
+                resource = analysisStatus.getResource();
+            } else {
+                column = 0;
+            }
+
+            if (factor == this.factor && pX == this.pX && pY == this.pY && column == this.column
+                    && Objects.equals(profile, this.profile) && Objects.equals(analysisProfile, this.analysisProfile)
+                    && Objects.equals(token, this.token) && Objects.equals(resource, this.resource)) {
+                return false;
+            }
+            this.factor = factor;
+            this.pX = pX;
+            this.pY = pY;
+            this.phaseX = pX / 100d;
+            this.phaseY = pY / 100d;
+            this.column = column;
+            this.profile = profile;
+            this.analysisProfile = analysisProfile;
+            this.token = token;
+            this.resource = resource;
+            generation++;
+            return true;
+        }
+    }
+
+    /**
+     * The layers of a tile are composited in four groups, each of them drawn in the DiagramCanvas layer
+     * that keeps the same position in the stack (so selection, halo, etc. are still painted in between)
+     */
+    private static class Tile {
+        private int i, j, generation;
+        private boolean empty;
+
+        private AdvancedContext2d background;   // compartments, shadows, notes, links and fadeOut
+        private AdvancedContext2d reactions;    // reactions
+        private AdvancedContext2d foreground;   // reaction decorators, entities, text and overlay
+        private AdvancedContext2d top;          // shadows text
+
+        boolean isFor(int i, int j, int generation) {
+            return this.i == i && this.j == j && this.generation == generation;
+        }
+
+        void set(int i, int j, int generation) {
+            this.i = i;
+            this.j = j;
+            this.generation = generation;
+        }
+
+        //Nothing to draw in the tile (the canvases are kept for later)
+        void clear() {
+            empty = true;
+        }
+
+        void compose(CanvasLayers layers) {
+            if (background == null) {
+                background = CanvasLayers.createCanvas(TILE_SIZE, TILE_SIZE);
+                reactions = CanvasLayers.createCanvas(TILE_SIZE, TILE_SIZE);
+                foreground = CanvasLayers.createCanvas(TILE_SIZE, TILE_SIZE);
+                top = CanvasLayers.createCanvas(TILE_SIZE, TILE_SIZE);
+            }
+            empty = false;
+            compose(background, layers.compartments, layers.shadows, layers.notes, layers.links, layers.fadeOut);
+            compose(reactions, layers.reactions);
+            compose(foreground, layers.reactionDecorators, layers.entities, layers.text, layers.overlay);
+            compose(top, layers.shadowsText);
+        }
+
+        void blit(CanvasLayers target, int x, int y) {
+            if (empty) return;
+            target.compartments.drawImage(background.getCanvas(), x, y);
+            target.reactions.drawImage(reactions.getCanvas(), x, y);
+            target.reactionDecorators.drawImage(foreground.getCanvas(), x, y);
+            target.shadowsText.drawImage(top.getCanvas(), x, y);
+        }
+
+        private static void compose(AdvancedContext2d group, AdvancedContext2d... layers) {
+            group.clearRect(0, 0, TILE_SIZE, TILE_SIZE);
+            for (AdvancedContext2d layer : layers) {
+                group.drawImage(layer.getCanvas(), 0, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.reactome.web.diagram.client.visualisers.diagram;
+
+/**
+ * Interleaved vertex data (x, y, r, g, b, a) of one of the WebGL layer buffers (see WebGLLayer). It does not
+ * depend on the browser, so the geometry, the colours and the transform can be tested in the JVM.
+ */
+class WebGLGeometry {
+
+    static final int VERTEX_SIZE = 6; //x, y, r, g, b, a
+
+    private double[] data = new double[VERTEX_SIZE * 1024];
+    private int length = 0;
+
+    void clear() {
+        length = 0;
+    }
+
+    double get(int index) {
+        return data[index];
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getVertexCount() {
+        return length / VERTEX_SIZE;
+    }
+
+    /**
+     * Adds the two triangles filling the rectangle
+     */
+    void addRectangle(double x, double y, double width, double height, double[] colour) {
+        double x2 = x + width, y2 = y + height;
+        addVertex(x, y, colour);
+        addVertex(x2, y, colour);
+        addVertex(x2, y2, colour);
+        addVertex(x, y, colour);
+        addVertex(x2, y2, colour);
+        addVertex(x, y2, colour);
+    }
+
+    /**
+     * Adds the four lines outlining the rectangle
+     */
+    void addOutline(double x, double y, double width, double height, double[] colour) {
+        double x2 = x + width, y2 = y + height;
+        addLine(x, y, x2, y, colour);
+        addLine(x2, y, x2, y2, colour);
+        addLine(x2, y2, x, y2, colour);
+        addLine(x, y2, x, y, colour);
+    }
+
+    void addLine(double x1, double y1, double x2, double y2, double[] colour) {
+        addVertex(x1, y1, colour);
+        addVertex(x2, y2, colour);
+    }
+
+    private void addVertex(double x, double y, double[] colour) {
+        if (length + VERTEX_SIZE > data.length) {
+            double[] aux = new double[data.length * 2];
+            System.arraycopy(data, 0, aux, 0, length);
+            data = aux;
+        }
+        data[length++] = x;
+        data[length++] = y;
+        for (int i = 0; i < 4; i++) data[length++] = colour[i];
+    }
+
+    /**
+     * @param colour as normalised by the canvas (#rrggbb or rgba(r, g, b, a))
+     * @return the rgba components in the [0, 1] range (grey for gradients, patterns or unknown formats)
+     */
+    static double[] parseColour(String colour) {
+        double[] rtn = {0.5, 0.5, 0.5, 1.0};
+        if (colour == null) return rtn;
+        try {
+            if (colour.startsWith("#") && colour.length() == 7) {
+                for (int i = 0; i < 3; i++) {
+                    rtn[i] = Integer.parseInt(colour.substring(1 + 2 * i, 3 + 2 * i), 16) / 255.0;
+                }
+            } else if (colour.startsWith("rgb")) {
+                String[] parts = colour.substring(colour.indexOf('(') + 1, colour.indexOf(')')).split(",");
+                for (int i = 0; i < parts.length && i < 4; i++) {
+                    double value = Double.parseDouble(parts[i].trim());
+                    rtn[i] = i < 3 ? value / 255.0 : value;
+                }
+            }
+        } catch (NumberFormatException e) {
+            //Nothing here (the default colour is used)
+        }
+        return rtn;
+    }
+
+    /**
+     * Sets the transform uniform mapping the layout coordinates to clip space: x * factor + dX pixels (and the
+     * y axis pointing down). The clip space coordinates are x * transform[0] + transform[1] and
+     * y * transform[2] + transform[3]
+     */
+    static void setTransform(double[] transform, int width, int height, double factor, double dX, double dY) {
+        transform[0] = 2 * factor / width;
+        transform[1] = 2 * dX / width - 1;
+        transform[2] = -2 * factor / height;
+        transform[3] = 1 - 2 * dY / height;
+    }
+}
@@ -0,0 +1,254 @@
+package org.reactome.web.diagram.client.visualisers.diagram;
+
+import com.google.gwt.canvas.client.Canvas;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.CanvasElement;
+import com.google.gwt.typedarrays.shared.Float32Array;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.layout.*;
+import org.reactome.web.diagram.profiles.diagram.DiagramColours;
+import org.reactome.web.diagram.profiles.diagram.model.DiagramProfile;
+import org.reactome.web.diagram.renderers.common.ColourProfileType;
+import org.reactome.web.diagram.renderers.layout.Renderer;
+import org.reactome.web.diagram.renderers.layout.RendererManager;
+import org.reactome.web.diagram.util.AdvancedContext2d;
+
+import java.util.List;
+
+/**
+ * Draws the zoomed out views of the classic diagrams (where the renderers do not draw the labels) with WebGL.
+ * The geometry of the whole content (compartments and nodes as rectangles plus the segments of the reactions,
+ * links and connectors) is uploaded to vertex buffers once per content and colour profile, so panning and
+ * zooming only update the transform uniform and draw the buffers again.
+ * <p>
+ * The canvas is placed underneath the DiagramCanvas layers, which keep drawing the notes, the shadows (and
+ * their labels), selection, highlighting, flagging, decorators and interactors on top of it. The analysis
+ * overlays are always drawn by the canvas layers since their colours depend on the analysis results. The
+ * exported snapshots are also rendered by the canvas layers (see DiagramCanvas.renderForExport).
+ * <p>
+ * It is only created when DiagramFactory.WEBGL_RENDERING is enabled (see DiagramCanvas.initialise).
+ */
+class WebGLLayer {
+
+    //Below this zoom factor the renderers do not draw the labels (see RendererManager)
+    static final double MAX_FACTOR = 0.5;
+
+    private final Canvas canvas;
+    private final JavaScriptObject state;
+    //Only used to read the colours set by the renderers (see getColour)
+    private final AdvancedContext2d scratch = CanvasLayers.createCanvas(1, 1);
+    private final WebGLGeometry triangles = new WebGLGeometry();
+    private final WebGLGeometry lines = new WebGLGeometry();
+    private final double[] transform = new double[4];
+
+    private Content content;
+    private DiagramProfile profile;
+    private boolean drawn = false;
+
+    WebGLLayer() {
+        this.canvas = Canvas.createIfSupported();
+        this.state = canvas != null ? initialise(canvas.getCanvasElement()) : null;
+    }
+
+    Canvas getCanvas() {
+        return canvas;
+    }
+
+    boolean isAvailable() {
+        return state != null;
+    }
+
+    void setSize(int width, int height) {
+        if (canvas == null) return;
+        canvas.setCoordinateSpaceWidth(width);
+        canvas.setCoordinateSpaceHeight(height);
+        canvas.setPixelSize(width, height);
+    }
+
+    /**
+     * @return true if the content has been drawn (the canvas layers do not have to draw it)
+     */
+    boolean render(Context context, double factor, Coordinate offset) {
+        if (!isApplicable(context, factor)) {
+            clear();
+            return false;
+        }
+        DiagramProfile profile = DiagramColours.get().PROFILE;
+        if (content != context.getContent() || this.profile != profile) {
+            content = context.getContent();
+            this.profile = profile;
+            upload(content);
+        }
+        int width = canvas.getCoordinateSpaceWidth(), height = canvas.getCoordinateSpaceHeight();
+        WebGLGeometry.setTransform(transform, width, height, factor, offset.getX(), offset.getY());
+        draw(state, width, height, transform[0], transform[1], transform[2], transform[3]);
+        drawn = true;
+        return true;
+    }
+
+    void clear() {
+        if (drawn) clear(state);
+        drawn = false;
+    }
+
+    boolean isDrawn() {
+        return drawn;
+    }
+
+    /**
+     * Forces the geometry to be uploaded again next time (the content of the diagram has changed)
+     */
+    void invalidate() {
+        content = null;
+    }
+
+    private boolean isApplicable(Context context, double factor) {
+        return isAvailable() && factor < MAX_FACTOR
+                && context.getContent().getType() == Content.Type.DIAGRAM
+                && context.getAnalysisStatus() == null;
+    }
+
+    private void upload(Content content) {
+        triangles.clear();
+        lines.clear();
+
+        RendererManager rendererManager = RendererManager.get();
+        rendererManager.getRenderer("Reaction").setColourProperties(scratch, ColourProfileType.NORMAL);
+        double[] connector = WebGLGeometry.parseColour(getColour(scratch, false));
+        double[] disease = WebGLGeometry.parseColour(DiagramColours.get().PROFILE.getProperties().getDisease());
+
+        //Compartments first, so they are underneath everything else
+        for (DiagramObject item : content.getDiagramObjects()) {
+            if (!(item instanceof Compartment)) continue;
+            Renderer renderer = rendererManager.getRenderer(item);
+            if (renderer == null) continue;
+            renderer.setColourProperties(scratch, ColourProfileType.NORMAL);
+            Compartment compartment = (Compartment) item;
+            addRectangle(compartment.getProp(), WebGLGeometry.parseColour(getColour(scratch, true)));
+            addOutline(compartment.getProp(), WebGLGeometry.parseColour(getColour(scratch, false)));
+        }
+
+        for (DiagramObject item : content.getDiagramObjects()) {
+            //Notes and shadows are drawn by the canvas layers on top (see DiagramCanvas.render)
+            if (item instanceof Compartment || item instanceof Note || item instanceof Shadow) continue;
+            Renderer renderer = rendererManager.getRenderer(item);
+            if (renderer == null) continue;
+            boolean fadeOut = item.getIsFadeOut() != null;
+            renderer.setColourProperties(scratch, fadeOut ? ColourProfileType.FADE_OUT : ColourProfileType.NORMAL);
+            double[] fill = WebGLGeometry.parseColour(getColour(scratch, true));
+            double[] stroke = item.getIsDisease() != null ? disease : WebGLGeometry.parseColour(getColour(scratch, false));
+            if (item instanceof EdgeCommon) {
+                addSegments(((EdgeCommon) item).getSegments(), stroke);
+            } else if (item instanceof Node) {
+                Node node = (Node) item;
+                addRectangle(node.getProp(), fill);
+                addOutline(node.getProp(), stroke);
+                for (Connector c : node.getConnectors()) {
+                    addSegments(c.getSegments(), c.getIsDisease() != null ? disease : connector);
+                }
+            } else if (item instanceof NodeCommon) {
+                addRectangle(((NodeCommon) item).getProp(), fill);
+                addOutline(((NodeCommon) item).getProp(), stroke);
+            }
+        }
+        upload(state, toFloat32Array(triangles), triangles.getVertexCount(), toFloat32Array(lines), lines.getVertexCount());
+    }
+
+    private void addRectangle(NodeProperties prop, double[] colour) {
+        triangles.addRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), colour);
+    }
+
+    private void addOutline(NodeProperties prop, double[] colour) {
+        lines.addOutline(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), colour);
+    }
+
+    private void addSegments(List<Segment> segments, double[] colour) {
+        if (segments == null) return;
+        for (Segment segment : segments) {
+            Coordinate from = segment.getFrom(), to = segment.getTo();
+            lines.addLine(from.getX(), from.getY(), to.getX(), to.getY(), colour);
+        }
+    }
+
+    private static Float32Array toFloat32Array(WebGLGeometry geometry) {
+        Float32Array rtn = TypedArrays.createFloat32Array(geometry.getLength());
+        for (int i = 0; i < geometry.getLength(); i++) rtn.set(i, geometry.get(i));
+        return rtn;
+    }
+
+    /**
+     * The colour is assigned to the scratch context first so it is normalised by the canvas
+     */
+    private static native String getColour(AdvancedContext2d ctx, boolean fill)/*-{
+        var style = fill ? ctx.fillStyle : ctx.strokeStyle;
+        return typeof style === "string" ? style : null;
+    }-*/;
+
+    private static native JavaScriptObject initialise(CanvasElement canvas)/*-{
+        var options = {premultipliedAlpha: false};
+        var gl = canvas.getContext("webgl", options) || canvas.getContext("experimental-webgl", options);
+        if (!gl) return null;
+        var vertex = "attribute vec2 a_position; attribute vec4 a_colour; uniform vec4 u_transform; varying vec4 v_colour;" +
+            "void main() { gl_Position = vec4(a_position.x * u_transform.x + u_transform.y, a_position.y * u_transform.z + u_transform.w, 0.0, 1.0); v_colour = a_colour; }";
+        var fragment = "precision mediump float; varying vec4 v_colour; void main() { gl_FragColor = v_colour; }";
+        var program = gl.createProgram();
+        [[vertex, gl.VERTEX_SHADER], [fragment, gl.FRAGMENT_SHADER]].forEach(function (source) {
+            var shader = gl.createShader(source[1]);
+            gl.shaderSource(shader, source[0]);
+            gl.compileShader(shader);
+            gl.attachShader(program, shader);
+        });
+        gl.linkProgram(program);
+        if (!gl.getProgramParameter(program, gl.LINK_STATUS)) return null;
+        gl.useProgram(program);
+        gl.enable(gl.BLEND);
+        gl.blendFunc(gl.SRC_ALPHA, gl.ONE_MINUS_SRC_ALPHA);
+        return {
+            gl: gl,
+            position: gl.getAttribLocation(program, "a_position"),
+            colour: gl.getAttribLocation(program, "a_colour"),
+            transform: gl.getUniformLocation(program, "u_transform"),
+            triangles: gl.createBuffer(),
+            lines: gl.createBuffer(),
+            trianglesCount: 0,
+            linesCount: 0
+        };
+    }-*/;
+
+    private static native void upload(JavaScriptObject state, Float32Array triangles, int trianglesCount, Float32Array lines, int linesCount)/*-{
+        var gl = state.gl;
+        gl.bindBuffer(gl.ARRAY_BUFFER, state.triangles);
+        gl.bufferData(gl.ARRAY_BUFFER, triangles, gl.STATIC_DRAW);
+        state.trianglesCount = trianglesCount;
+        gl.bindBuffer(gl.ARRAY_BUFFER, state.lines);
+        gl.bufferData(gl.ARRAY_BUFFER, lines, gl.STATIC_DRAW);
+        state.linesCount = linesCount;
+    }-*/;
+
+    //The transform is set by WebGLGeometry.setTransform
+    private static native void draw(JavaScriptObject state, int width, int height, double sX, double dX, double sY, double dY)/*-{
+        var gl = state.gl;
+        var stride = @org.reactome.web.diagram.client.visualisers.diagram.WebGLGeometry::VERTEX_SIZE * 4;
+        gl.viewport(0, 0, width, height);
+        gl.clearColor(0, 0, 0, 0);
+        gl.clear(gl.COLOR_BUFFER_BIT);
+        gl.uniform4f(state.transform, sX, dX, sY, dY);
+        [[state.triangles, gl.TRIANGLES, state.trianglesCount], [state.lines, gl.LINES, state.linesCount]].forEach(function (batch) {
+            if (batch[2] === 0) return;
+            gl.bindBuffer(gl.ARRAY_BUFFER, batch[0]);
+            gl.enableVertexAttribArray(state.position);
+            gl.vertexAttribPointer(state.position, 2, gl.FLOAT, false, stride, 0);
+            gl.enableVertexAttribArray(state.colour);
+            gl.vertexAttribPointer(state.colour, 4, gl.FLOAT, false, stride, 8);
+            gl.drawArrays(batch[1], 0, batch[2]);
+        });
+    }-*/;
+
+    private static native void clear(JavaScriptObject state)/*-{
+        var gl = state.gl;
+        gl.clearColor(0, 0, 0, 0);
+        gl.clear(gl.COLOR_BUFFER_BIT);
+    }-*/;
+}
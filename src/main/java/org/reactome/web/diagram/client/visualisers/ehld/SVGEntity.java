@@ -1,6 +1,7 @@
 package org.reactome.web.diagram.client.visualisers.ehld;
 
 import org.vectomatic.dom.svg.OMElement;
+import org.vectomatic.dom.svg.OMSVGRectElement;
 
 /**
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
@@ -13,6 +14,15 @@ public class SVGEntity {
     private OMElement analysisText;
     private String tooltipText;
 
+    //Direct references to the analysis overlay elements (created the first time the entity is overlaid)
+    private OMElement overlayGroup;
+    private OMElement overlayBase;
+    private OMElement overlayClone;
+    private OMSVGRectElement clippingRect;
+
+    //The filter currently applied to the hoverable element (null if none)
+    private String filter;
+
     public SVGEntity(String stId) {
         this.stId = stId;
     }
@@ -73,6 +83,41 @@ public class SVGEntity {
         this.overlay = overlay;
     }
 
+    public boolean hasOverlayElements() {
+        return overlayGroup!=null;
+    }
+
+    public OMElement getOverlayGroup() {
+        return overlayGroup;
+    }
+
+    public OMElement getOverlayBase() {
+        return overlayBase;
+    }
+
+    public OMElement getOverlayClone() {
+        return overlayClone;
+    }
+
+    public OMSVGRectElement getClippingRect() {
+        return clippingRect;
+    }
+
+    public void setOverlayElements(OMElement overlayGroup, OMElement overlayBase, OMElement overlayClone, OMSVGRectElement clippingRect) {
+        this.overlayGroup = overlayGroup;
+        this.overlayBase = overlayBase;
+        this.overlayClone = overlayClone;
+        this.clippingRect = clippingRect;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
     public String getTooltipText() {
         return tooltipText;
     }
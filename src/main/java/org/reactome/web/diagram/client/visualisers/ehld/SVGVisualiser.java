@@ -14,6 +14,7 @@ import org.reactome.web.analysis.client.model.ExpressionSummary;
 import org.reactome.web.analysis.client.model.PathwaySummary;
 import org.reactome.web.diagram.client.OptionalWidget;
 import org.reactome.web.diagram.client.ViewerContainer;
+import org.reactome.web.diagram.client.visualisers.FrameScheduler;
 import org.reactome.web.diagram.client.visualisers.Visualiser;
 import org.reactome.web.diagram.client.visualisers.ehld.animation.SVGAnimation;
 import org.reactome.web.diagram.client.visualisers.ehld.animation.SVGAnimationHandler;
@@ -65,6 +66,34 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         DoubleClickHandler, ContextMenuHandler, SVGAnimationHandler, SVGThumbnailAreaMovedHandler,
         TouchStartHandler, TouchMoveHandler, TouchEndHandler, OptionalWidget.Handler {
 
+    /**
+     * The analysis overlay of an entity: the ratio of its area that is clipped and its colours
+     */
+    private static class Overlay {
+        final float ratio;
+        final String colour;
+        final String baseColour;
+
+        Overlay(float ratio, String colour, String baseColour) {
+            this.ratio = ratio;
+            this.colour = colour;
+            this.baseColour = baseColour;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Overlay overlay = (Overlay) o;
+            return ratio == overlay.ratio && Objects.equals(colour, overlay.colour) && Objects.equals(baseColour, overlay.baseColour);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ratio, colour, baseColour);
+        }
+    }
+
     private static final String OVERLAY_CLONE = "OVERLAYCLONE-";
     private static final String OVERLAY_BASE = "OVERLAYBASE-";
 
@@ -97,6 +126,14 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
 
     private SVGAnimation animation;
 
+    // The changes in the DOM are not applied straight away. The desired state is kept and the differences
+    // with the applied one are written in the next frame, so style recalculations happen only once per frame
+    private Set<SVGEntity> dirtyFilters = new HashSet<>();
+    private Map<String, Overlay> overlays = new HashMap<>();
+    private Map<String, Overlay> appliedOverlays = new HashMap<>();
+    private boolean overlaysChanged = false;
+    private final FrameScheduler.Task domUpdate = this::applyDOMChanges;
+
     private AnalysisStatus analysisStatus;
     private ExpressionSummary expressionSummary;
     private int selectedExpCol = 0;
@@ -177,6 +214,7 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
     @Override
     public void contentRequested() {
         context = null;
+        resetDOMChanges();
         if (svg != null) {
             if (getElement().getChildCount() > 1) {
                 svg.getElement().removeFromParent();
@@ -194,7 +232,6 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
             if (svgEntity != null && hovered != svgEntity.getHoverableElement()) {
                 resetHighlight(false);
                 highlightElement(svgEntity.getHoverableElement());
-                updateUI();
                 thumbnail.setHoveredItem(svgEntity.getHoverableElement().getId());
                 if (notify) {
                     eventBus.fireEventFromSource(new GraphObjectHoveredEvent(graphObject), this);
@@ -211,7 +248,6 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         if (context == null) return rtn;
         if (hovered != null) {
             unHighlightElement(hovered);
-            updateUI();
             thumbnail.setHoveredItem(null);
             if (notify) {
                 eventBus.fireEventFromSource(new GraphObjectHoveredEvent(), this);
@@ -404,7 +440,6 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         if (!toHighlight.equals(hovered)) {
             resetHighlight(false);
             highlightElement(toHighlight);
-            updateUI();
             thumbnail.setHoveredItem(toHighlight.getId());
             notifyHovering(toHighlight.getId());
         }
@@ -434,7 +469,6 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         OMElement toUnHighlight = entity.getHoverableElement();
         if (el.equals(toUnHighlight)) {
             unHighlightElement(toUnHighlight);
-            updateUI();
             thumbnail.setHoveredItem(null);
             notifyHovering(null);
         }
@@ -615,14 +649,9 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
     }
 
     private void clearOverlay() {
-        for (SVGEntity entity : entities.values()) {
-            String stId = entity.getStId();
-            OMElement overlay = svg.getElementById(OVERLAY_CLONE + stId);
-            if (overlay != null) {
-                OMNode parent = overlay.getParentNode();
-                parent.getParentNode().removeChild(parent);
-            }
-        }
+        overlays.clear();
+        overlaysChanged = true;
+        scheduleDOMChanges();
     }
 
     private void clearAnalysisInfo() {
@@ -640,72 +669,128 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         }
     }
 
-    private void createOrUpdateClippingPath(String stId, float ratio) {
-        OMSVGRectElement rect = (OMSVGRectElement) svg.getElementById(CLIPPING_RECT + stId);
-        // Important !!! Correct ratio so that it is visible
-        ratio = ratio > 0 && ratio < (float) Context.ANALYSIS_MIN_PERCENTAGE ? (float) Context.ANALYSIS_MIN_PERCENTAGE : ratio;
-
-        if (rect == null) {
-            //Clipping path is not present.
-            rect = new OMSVGRectElement(0.0f, 0.0f, ratio, 1f, 0, 0);
-            rect.setId(CLIPPING_RECT + stId);
-
-            OMSVGClipPathElement cp = new OMSVGClipPathElement();
-            cp.setId(CLIPPING_PATH + stId);
-            cp.setAttribute(SVGConstants.SVG_CLIP_PATH_UNITS_ATTRIBUTE, SVGConstants.SVG_OBJECT_BOUNDING_BOX_VALUE);
-            cp.appendChild(rect);
-            defs.appendChild(cp);
-        } else {
-            //Clipping path exists, simply re-use it
-            rect.getWidth().getBaseVal().setValue(ratio);
+    private void createOverlayElements(SVGEntity entity) {
+        String stId = entity.getStId();
+
+        OMSVGRectElement rect = new OMSVGRectElement(0.0f, 0.0f, 0.0f, 1f, 0, 0);
+        rect.setId(CLIPPING_RECT + stId);
+
+        OMSVGClipPathElement cp = new OMSVGClipPathElement();
+        cp.setId(CLIPPING_PATH + stId);
+        cp.setAttribute(SVGConstants.SVG_CLIP_PATH_UNITS_ATTRIBUTE, SVGConstants.SVG_OBJECT_BOUNDING_BOX_VALUE);
+        cp.appendChild(rect);
+        defs.appendChild(cp);
+
+        // Copy and prepare the base of the overlay
+        OMSVGGElement base = (OMSVGGElement) entity.getOverlay().cloneNode(true);
+        base.setId(OVERLAY_BASE + stId);
+        removeAttributeFromChildren(base, SVGConstants.SVG_CLASS_ATTRIBUTE);
+        base.setAttribute(SVGConstants.SVG_STROKE_ATTRIBUTE, HIT_BASIS_STROKE_COLOUR);
+        base.setAttribute(SVGConstants.SVG_STROKE_WIDTH_ATTRIBUTE, HIT_BASIS_STROKE_WIDTH);
+
+        // Remove Text elements
+        List<OMElement> textElements = getAllTextElementsFrom(base);
+        Iterator<OMElement> it = textElements.iterator();
+        while (it.hasNext()) {
+            it.next().getElement().removeFromParent();
+        }
+
+        OMSVGGElement overlay = (OMSVGGElement) entity.getOverlay().cloneNode(true);
+        overlay.setId(OVERLAY_CLONE + stId);
+        overlay.setAttribute(SVGConstants.SVG_CLIP_PATH_ATTRIBUTE, DOMHelper.toUrl(CLIPPING_PATH + stId));
+        overlay.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
+        overlay.removeAttribute(SVGConstants.SVG_TRANSFORM_ATTRIBUTE);
+
+        // Create a group to put the clone and the text
+        OMSVGGElement overlayGroup = new OMSVGGElement();
+        overlayGroup.appendChild(base);
+        overlayGroup.appendChild(overlay);
+
+        // Make sure all text elements are put in
+        // front of the overlay with the proper style
+        textElements = getAllTextElementsFrom(overlay);
+        it = textElements.iterator();
+        while (it.hasNext()) {
+            OMElement el = it.next();
+            SVGUtil.addClassName(el, OVERLAY_TEXT_CLASS);
+            overlayGroup.appendChild(el);
         }
+        // Remove styling (the group is added under the OVERLAY-R-SSS-NNNNNNN when applied)
+        removeAttributeFromChildren(overlay, SVGConstants.SVG_CLASS_ATTRIBUTE);
+
+        entity.setOverlayElements(overlayGroup, base, overlay, rect);
     }
 
-    private void createOrUpdateOverlayElement(String stId, String overlayColour, String baseColour) {
-        OMSVGGElement overlay = (OMSVGGElement) svg.getElementById(OVERLAY_CLONE + stId);
-        if (overlay == null) {
-            SVGEntity entity = entities.get(stId); //Entity cannot be null as it has been checked in a previous step.
-
-            // Copy and prepare the base of the overlay
-            OMSVGGElement base = (OMSVGGElement) entity.getOverlay().cloneNode(true);
-            base.setId(OVERLAY_BASE + stId);
-            removeAttributeFromChildren(base, SVGConstants.SVG_CLASS_ATTRIBUTE);
-            base.setAttribute(SVGConstants.SVG_FILL_ATTRIBUTE, baseColour);
-            base.setAttribute(SVGConstants.SVG_STROKE_ATTRIBUTE, HIT_BASIS_STROKE_COLOUR);
-            base.setAttribute(SVGConstants.SVG_STROKE_WIDTH_ATTRIBUTE, HIT_BASIS_STROKE_WIDTH);
-
-            // Remove Text elements
-            List<OMElement> textElements = getAllTextElementsFrom(base);
-            Iterator<OMElement> it = textElements.iterator();
-            while (it.hasNext()) {
-                it.next().getElement().removeFromParent();
+    /**
+     * Writes the overlays that differ from the applied ones. The overlay elements of an entity are created
+     * only once and then detached or attached again and updated (instead of being cloned every time)
+     */
+    private boolean applyOverlays() {
+        boolean changed = false;
+        for (SVGEntity entity : entities.values()) {
+            String stId = entity.getStId();
+            Overlay overlay = overlays.get(stId);
+            Overlay applied = appliedOverlays.get(stId);
+            if (Objects.equals(overlay, applied)) continue;
+            changed = true;
+            if (overlay == null) {
+                entity.getOverlay().removeChild(entity.getOverlayGroup());
+                appliedOverlays.remove(stId);
+                continue;
             }
-
-            overlay = (OMSVGGElement) entity.getOverlay().cloneNode(true);
-            overlay.setId(OVERLAY_CLONE + stId);
-            overlay.setAttribute(SVGConstants.SVG_CLIP_PATH_ATTRIBUTE, DOMHelper.toUrl(CLIPPING_PATH + stId));
-            overlay.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
-            overlay.removeAttribute(SVGConstants.SVG_TRANSFORM_ATTRIBUTE);
-            overlay.setAttribute(SVGConstants.SVG_FILL_ATTRIBUTE, overlayColour);
-
-            // Create a group to put the clone and the text
-            OMSVGGElement overlayGroup = new OMSVGGElement();
-            overlayGroup.appendChild(base);
-            overlayGroup.appendChild(overlay);
-
-            // Make sure all text elements are put in
-            // front of the overlay with the proper style
-            textElements = getAllTextElementsFrom(overlay);
-            it = textElements.iterator();
-            while (it.hasNext()) {
-                OMElement el = it.next();
-                SVGUtil.addClassName(el, OVERLAY_TEXT_CLASS);
-                overlayGroup.appendChild(el);
+            if (!entity.hasOverlayElements()) createOverlayElements(entity);
+            if (applied == null) entity.getOverlay().appendChild(entity.getOverlayGroup());
+            if (applied == null || applied.ratio != overlay.ratio) {
+                entity.getClippingRect().getWidth().getBaseVal().setValue(overlay.ratio);
+            }
+            if (applied == null || !Objects.equals(applied.baseColour, overlay.baseColour)) {
+                entity.getOverlayBase().setAttribute(SVGConstants.SVG_FILL_ATTRIBUTE, overlay.baseColour);
+            }
+            if (applied == null || !Objects.equals(applied.colour, overlay.colour)) {
+                entity.getOverlayClone().setAttribute(SVGConstants.SVG_FILL_ATTRIBUTE, overlay.colour);
             }
-            // Remove styling and add the overlay group under the OVERLAY-R-SSS-NNNNNNN
-            removeAttributeFromChildren(overlay, SVGConstants.SVG_CLASS_ATTRIBUTE);
-            entity.getOverlay().appendChild(overlayGroup);
+            appliedOverlays.put(stId, overlay);
+        }
+        return changed;
+    }
+
+    private boolean applyFilter(SVGEntity entity) {
+        OMElement el = entity.getHoverableElement();
+        String filter = getFilter(el);
+        if (Objects.equals(filter, entity.getFilter())) return false;
+        if (filter == null) {
+            el.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
+        } else {
+            el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(filter));
+        }
+        entity.setFilter(filter);
+        return true;
+    }
+
+    private void applyDOMChanges(double timestamp) {
+        if (svg == null) return;
+        boolean changed = false;
+        if (overlaysChanged) {
+            changed = applyOverlays();
+            overlaysChanged = false;
+        }
+        for (SVGEntity entity : dirtyFilters) {
+            changed |= applyFilter(entity);
         }
+        dirtyFilters.clear();
+        if (changed) updateUI();
+    }
+
+    private void resetDOMChanges() {
+        FrameScheduler.get().cancel(domUpdate);
+        dirtyFilters.clear();
+        overlays.clear();
+        appliedOverlays.clear();
+        overlaysChanged = false;
+    }
+
+    private void scheduleDOMChanges() {
+        FrameScheduler.get().schedule(domUpdate);
     }
 
     private void fitALL(boolean animated) {
@@ -730,38 +815,43 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         return !rtn.isInfinite() && !rtn.isNaN() ? rtn : 0.0;
     }
 
-    private void highlightElement(OMElement el) {
-        hovered = el;
+    /**
+     * @return the filter for the current selection, hovering and flagging status of the element (null for none)
+     */
+    private String getFilter(OMElement el) {
+        boolean isHovered = el.equals(hovered);
         boolean isFlagged = flagged.contains(el);
         if (el.equals(selected)) {
             if (isFlagged) {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_HOVERING_FILTER));
-            } else {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_HOVERING_FILTER));
-            }
-        } else {
-            if (isFlagged) {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_HOVERING_FILTER));
-            } else {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(HOVERING_FILTER));
+                return isHovered ? SELECTION_FLAGGING_HOVERING_FILTER : SELECTION_FLAGGING_FILTER;
             }
+            return isHovered ? SELECTION_HOVERING_FILTER : SELECTION_FILTER;
+        }
+        if (isFlagged) {
+            return isHovered ? FLAGGING_HOVERING_FILTER : FLAGGING_FILTER;
         }
+        return isHovered ? HOVERING_FILTER : null;
+    }
+
+    private void highlightElement(OMElement el) {
+        hovered = el;
+        updateFilter(el);
     }
 
     private void unHighlightElement(OMElement el) {
         hovered = null;
-        if (!el.equals(selected)) {
-            if (flagged.contains(el)) {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_FILTER));
-            } else {
-                el.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
-            }
-        } else {
-            if (flagged.contains(el)) {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_FILTER));
-            } else {
-                el.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FILTER));
-            }
+        updateFilter(el);
+    }
+
+    /**
+     * The filter of the element is set in the next frame (if it differs from the applied one)
+     */
+    private void updateFilter(OMElement el) {
+        if (el == null || entities == null) return;
+        SVGEntity entity = entities.get(SVGUtil.keepStableId(el.getId()));
+        if (entity != null) {
+            dirtyFilters.add(entity);
+            scheduleDOMChanges();
         }
     }
 
@@ -876,8 +966,11 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
     }
 
     private void overlayEntity(String stId, float percentage, String overlayColour, String baseColour) {
-        createOrUpdateClippingPath(stId, percentage);
-        createOrUpdateOverlayElement(stId, overlayColour, baseColour);
+        // Important !!! Correct ratio so that it is visible
+        float ratio = percentage > 0 && percentage < (float) Context.ANALYSIS_MIN_PERCENTAGE ? (float) Context.ANALYSIS_MIN_PERCENTAGE : percentage;
+        overlays.put(stId, new Overlay(ratio, overlayColour, baseColour));
+        overlaysChanged = true;
+        scheduleDOMChanges();
     }
 
     private void openPathway(OMElement el) {
@@ -955,22 +1048,9 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
 
     private void resetSelectedElement() {
         if (selected != null) {
-            boolean isFlagged = flagged.contains(selected);
-            if (selected.equals(hovered)) {
-                if (isFlagged) {
-                    selected.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_HOVERING_FILTER));
-                } else {
-                    selected.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(HOVERING_FILTER));
-                }
-            } else {
-                if (isFlagged) {
-                    selected.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_FILTER));
-                } else {
-                    selected.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
-                }
-            }
+            OMElement previous = selected;
             selected = null;
-            updateUI();
+            updateFilter(previous);
         }
     }
 
@@ -978,24 +1058,8 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         if (selected != null && !selected.equals(element)) {
             resetSelectedElement();
         }
-
-        boolean isFlagged = flagged.contains(element);
-        if (element.equals(hovered)) {
-            if (isFlagged) {
-                element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_HOVERING_FILTER));
-            } else {
-                element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_HOVERING_FILTER));
-            }
-        } else {
-            if (isFlagged) {
-                element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_FILTER));
-            } else {
-                element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FILTER));
-            }
-        }
-
         selected = element;
-        updateUI();
+        updateFilter(element);
     }
 
     private void translate(float x, float y) {
@@ -1031,6 +1095,7 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         this.context = context;
         Content content = context.getContent();
         this.svg = (OMSVGSVGElement) ((EHLDContent) content).getSVG().cloneNode(true);
+        resetDOMChanges();
 
         entities = new HashMap<>();
         for (OMElement child : SVGUtil.getAnnotatedOMElements(svg)) {
@@ -1135,7 +1200,7 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         }
 
         // Render thumbnail
-        thumbnail.diagramRendered(content, null);
+        thumbnail.diagramRendered(context, null);
 
         // The following is to avoid the bug (Windows) where the SVG appears cropped
         svg.removeAttribute(SVGConstants.SVG_VIEW_BOX_ATTRIBUTE);
@@ -1186,42 +1251,6 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
         //Nothing here
     }
 
-    private void flagElement(OMElement element) {
-        if (element != null) {
-            if (element.equals(selected)) {
-                if (element.equals(hovered)) {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_HOVERING_FILTER));
-                } else {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FLAGGING_FILTER));
-                }
-            } else {
-                if (element.equals(hovered)) {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_HOVERING_FILTER));
-                } else {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(FLAGGING_FILTER));
-                }
-            }
-        }
-    }
-
-    private void unFlagElement(OMElement element) {
-        if (element != null) {
-            if (element.equals(selected)) {
-                if (element.equals(hovered)) {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_HOVERING_FILTER));
-                } else {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(SELECTION_FILTER));
-                }
-            } else {
-                if (element.equals(hovered)) {
-                    element.setAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE, DOMHelper.toUrl(HOVERING_FILTER));
-                } else {
-                    element.removeAttribute(SVGConstants.SVG_FILTER_ATTRIBUTE);
-                }
-            }
-        }
-    }
-
     @Override
     public void flagItems(Set<DiagramObject> flaggedItems, Boolean includeInteractors) {
         resetFlag();
@@ -1232,20 +1261,19 @@ public class SVGVisualiser extends AbstractSVGPanel implements Visualiser,
                 SVGEntity svg = entities.get(item.getStableId());
                 if (svg != null) {
                     flagged.add(svg.getHoverableElement());
-                    flagElement(svg.getHoverableElement());
+                    updateFilter(svg.getHoverableElement());
                 }
             }
         }
-        updateUI();
     }
 
     @Override
     public void resetFlag() {
-        for (OMElement item : flagged) {
-            unFlagElement(item);
-        }
+        Set<OMElement> unflagged = flagged;
         flagged = new HashSet<>();
-        updateUI();
+        for (OMElement item : unflagged) {
+            updateFilter(item);
+        }
     }
 
     public SVGThumbnail getSVGThumbnail() {
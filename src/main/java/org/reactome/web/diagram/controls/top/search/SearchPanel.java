@@ -23,7 +23,7 @@ public class SearchPanel extends FlowPanel {
         this.launcher = new SearchLauncher(eventBus);
         this.add(launcher);
 
-        AutoCompletePanel autoCompletePanel = new AutoCompletePanel();
+        AutoCompletePanel autoCompletePanel = new AutoCompletePanel(eventBus);
         autoCompletePanel.addAutoCompleteSelectedHandler(launcher);
 //        launcher.addSearchBoxArrowKeysHandler(autoCompletePanel);
         launcher.addSearchPerformedHandler(autoCompletePanel);
@@ -0,0 +1,127 @@
+package org.reactome.web.diagram.data;
+
+import org.reactome.web.analysis.client.model.*;
+import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.graph.model.GraphObject;
+import org.reactome.web.diagram.data.graph.model.GraphPathway;
+import org.reactome.web.diagram.data.graph.model.GraphPhysicalEntity;
+import org.reactome.web.diagram.data.graph.model.GraphSubpathway;
+import org.reactome.web.diagram.data.layout.DiagramObject;
+import org.reactome.web.diagram.util.MapSet;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The hits of an analysis result in a content. The found elements are matched against the content only once
+ * per analysis result, so applying or resetting the overlay only touches the hit objects instead of walking
+ * the whole content.
+ * <p>
+ * Once applied, the diagram objects that are hit are kept in a bitset (by id) so the items can be classified
+ * in every frame without checking the graph objects (e.g. the participants of complexes and sets).
+ */
+public class AnalysisHitIndex {
+
+    private final Content content;
+
+    //The last found entity mapping to a physical entity is the one kept (as it used to be when applied in order)
+    private final Map<GraphPhysicalEntity, FoundEntity> entities = new LinkedHashMap<>();
+    private final Map<GraphPathway, EntityStatistics> pathways = new LinkedHashMap<>();
+    private final Map<GraphSubpathway, EntityStatistics> subpathways = new LinkedHashMap<>();
+    private EntityStatistics statistics;
+
+    private BitSet hits;
+
+    public AnalysisHitIndex(Content content, FoundElements foundElements, List<PathwaySummary> pathwaySummaries) {
+        this.content = content;
+        MapSet<String, GraphObject> map = content.getIdentifierMap();
+        if (foundElements != null && foundElements.getEntities() != null) {
+            for (FoundEntity entity : foundElements.getEntities()) {
+                for (IdentifierMap identifierMap : entity.getMapsTo()) {
+                    for (String id : identifierMap.getIds()) {
+                        Set<GraphObject> elements = map.getElements(id);
+                        if (elements == null) continue;
+                        for (GraphObject graphObject : elements) {
+                            if (graphObject instanceof GraphPhysicalEntity) {
+                                entities.put((GraphPhysicalEntity) graphObject, entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (pathwaySummaries != null) {
+            for (PathwaySummary pathwaySummary : pathwaySummaries) {
+                EntityStatistics statistics = pathwaySummary.getEntities();
+                if (statistics.getFound() > 0) {
+                    GraphObject object = content.getDatabaseObject(pathwaySummary.getDbId());
+                    if (object instanceof GraphPathway) {
+                        pathways.put((GraphPathway) object, statistics);
+                    } else if (object instanceof GraphSubpathway) {
+                        subpathways.put((GraphSubpathway) object, statistics);
+                    } else if (content.getDbId().equals(pathwaySummary.getDbId())) {
+                        this.statistics = statistics;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the hits in the graph objects of the content
+     */
+    public void apply() {
+        for (Map.Entry<GraphPhysicalEntity, FoundEntity> entry : entities.entrySet()) {
+            entry.getKey().setIsHit(entry.getValue().getId(), entry.getValue().getExp());
+        }
+        for (Map.Entry<GraphPathway, EntityStatistics> entry : pathways.entrySet()) {
+            EntityStatistics statistics = entry.getValue();
+            double percentage = statistics.getFound() / statistics.getTotal().doubleValue();
+            if (percentage < Context.ANALYSIS_MIN_PERCENTAGE) percentage = Context.ANALYSIS_MIN_PERCENTAGE;
+            entry.getKey().setIsHit(percentage, statistics.getExp(), statistics);
+        }
+        for (Map.Entry<GraphSubpathway, EntityStatistics> entry : subpathways.entrySet()) {
+            entry.getKey().setIsHit(entry.getValue());
+        }
+        content.setStatistics(statistics);
+        if (hits == null) hits = getHitDiagramObjects();
+    }
+
+    /**
+     * Removes the hits from the graph objects (only the ones set by this index are touched)
+     */
+    public void reset() {
+        for (GraphPhysicalEntity pe : entities.keySet()) pe.resetHit();
+        for (GraphPathway pathway : pathways.keySet()) pathway.resetHit();
+        for (GraphSubpathway subpathway : subpathways.keySet()) subpathway.resetHit();
+        content.setStatistics(null);
+    }
+
+    /**
+     * @return true if the graph object of the item is hit by the analysis (it has to be applied)
+     */
+    public boolean isHit(DiagramObject item) {
+        if (hits == null) return false;
+        long id = item.getId();
+        return id >= 0 && id <= Integer.MAX_VALUE && hits.get((int) id);
+    }
+
+    private BitSet getHitDiagramObjects() {
+        BitSet rtn = new BitSet();
+        for (DiagramObject item : content.getDiagramObjects()) {
+            GraphObject graphObject = item.getGraphObject();
+            boolean isHit = false;
+            if (graphObject instanceof GraphPhysicalEntity) {
+                isHit = ((GraphPhysicalEntity) graphObject).isHit();
+            } else if (graphObject instanceof GraphPathway) {
+                isHit = ((GraphPathway) graphObject).isHit();
+            }
+            long id = item.getId();
+            if (isHit && id >= 0 && id <= Integer.MAX_VALUE) rtn.set((int) id);
+        }
+        return rtn;
+    }
+}
@@ -196,6 +196,14 @@ public abstract class ContentFactory {
                 }
             }
         }
+
+        //The relationships are indexed once the graph is complete (the entities rely on the reactions ones)
+        for (GraphObject graphObject : content.getDatabaseObjects()) {
+            if (graphObject instanceof GraphReactionLikeEvent) graphObject.indexRelationships();
+        }
+        for (GraphObject graphObject : content.getDatabaseObjects()) {
+            if (!(graphObject instanceof GraphReactionLikeEvent)) graphObject.indexRelationships();
+        }
     }
 
     private static List<DiagramObject> getDiagramObjects(List<Long> ids) {
@@ -1,19 +1,17 @@
 package org.reactome.web.diagram.data;
 
+import com.google.gwt.dom.client.CanvasElement;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.Widget;
-import org.reactome.web.analysis.client.model.*;
+import org.reactome.web.analysis.client.model.FoundElements;
+import org.reactome.web.analysis.client.model.PathwaySummary;
 import org.reactome.web.diagram.context.ContextDialogPanel;
 import org.reactome.web.diagram.data.content.Content;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
-import org.reactome.web.diagram.data.graph.model.GraphPathway;
-import org.reactome.web.diagram.data.graph.model.GraphPhysicalEntity;
-import org.reactome.web.diagram.data.graph.model.GraphSubpathway;
 import org.reactome.web.diagram.data.layout.DiagramObject;
-import org.reactome.web.diagram.data.layout.Node;
-import org.reactome.web.diagram.data.layout.SummaryItem;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
-import org.reactome.web.diagram.util.MapSet;
+import org.reactome.web.diagram.search.LocalSearchIndex;
+import org.reactome.web.pwp.model.client.util.LruCache;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
 import java.util.HashMap;
@@ -36,11 +34,21 @@ public class Context {
     private String flagTerm;
     private SVGStatus svgStatus;
 
+    private LruCache<AnalysisStatus, AnalysisHitIndex> analysisHitIndexes = new LruCache<>(5);
+    private AnalysisHitIndex analysisHitIndex;
+
 	private Content content;
     private InteractorsContent interactors;
 
     private Map<GraphObject, ContextDialogPanel> dialogMap = new HashMap<>();
 
+    //The thumbnail bitmap is kept with the name of the diagram profile used to render it
+    private CanvasElement thumbnail;
+    private String thumbnailProfile;
+
+    //Built the first time the content is searched (see LocalSearchIndex.get)
+    private LocalSearchIndex searchIndex;
+
     public Context(Content content) {
         //Status needs to be created every time we load a new content
         this.diagramStatus = new DiagramStatus();
@@ -49,7 +57,7 @@ public class Context {
         this.flagStatus = new FlagStatus();
 
         this.content = content; //created and initialised by the DiagramContentFactory
-        this.interactors = new InteractorsContent(content.getMinX(), content.getMinY(), content.getMaxX(), content.getMaxY());
+        this.interactors = new InteractorsContent();
     }
 
     public Set<DiagramObject> getFlagged(String term){
@@ -62,64 +70,34 @@ public class Context {
 
     public void clearAnalysisOverlay() {
         analysisStatus = null;
-        content.setStatistics(null);
-        for (GraphObject graphObject : content.getDatabaseObjects()) {
-            if (graphObject instanceof GraphPhysicalEntity) {
-                ((GraphPhysicalEntity) graphObject).resetHit();
-                for (DiagramObject diagramObject : graphObject.getDiagramObjects()) {
-                    Node node = (Node) diagramObject;
-                    SummaryItem summaryItem = node.getInteractorsSummary();
-                    if (summaryItem != null) {
-                        summaryItem.setHit(null);
-                    }
-                }
-            } else if (graphObject instanceof GraphPathway) {
-                ((GraphPathway) graphObject).resetHit();
-            } else if (graphObject instanceof GraphSubpathway) {
-                ((GraphSubpathway) graphObject).resetHit();
-            }
+        //The interactors summary hits are reset by the InteractorsManager
+        if (analysisHitIndex != null) {
+            analysisHitIndex.reset();
+            analysisHitIndex = null;
         }
     }
 
+    /**
+     * The found elements are only matched against the content the first time an analysis result is set, so
+     * switching back to a recent one (or toggling the overlay) only touches the hit objects
+     */
     public void setAnalysisOverlay(AnalysisStatus analysisStatus, FoundElements foundElements, List<PathwaySummary> pathwaySummaries) {
-        this.analysisStatus = analysisStatus;
-        MapSet<String, GraphObject> map = this.content.getIdentifierMap();
-        if (foundElements != null && foundElements.getEntities() != null) {
-            for (FoundEntity entity : foundElements.getEntities()) {
-                for (IdentifierMap identifierMap : entity.getMapsTo()) {
-                    for (String id : identifierMap.getIds()) {
-                        Set<GraphObject> elements = map.getElements(id);
-                        if (elements == null) continue;
-                        for (GraphObject graphObject : elements) {
-                            if (graphObject instanceof GraphPhysicalEntity) {
-                                GraphPhysicalEntity pe = (GraphPhysicalEntity) graphObject;
-                                pe.setIsHit(entity.getId(), entity.getExp());
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        if (pathwaySummaries != null) {
-            for (PathwaySummary pathwaySummary : pathwaySummaries) {
-                EntityStatistics statistics = pathwaySummary.getEntities();
-                if (statistics.getFound() > 0) {
-                    //In this case process nodes DO NOT HAVE an identifier, but DO NOT use null here! use empty string
-                    GraphObject object = this.content.getDatabaseObject(pathwaySummary.getDbId());
-                    if (object instanceof GraphPathway) {
-                        GraphPathway pathway = (GraphPathway) object;
-                        double percentage = statistics.getFound() / statistics.getTotal().doubleValue();
-                        if (percentage < ANALYSIS_MIN_PERCENTAGE) percentage = ANALYSIS_MIN_PERCENTAGE;
-                        pathway.setIsHit(percentage, pathwaySummary.getEntities().getExp(), statistics);
-                    } else if (object instanceof GraphSubpathway){
-                        GraphSubpathway subpathway = (GraphSubpathway) object;
-                        subpathway.setIsHit(statistics);
-                    } else if (content.getDbId().equals(pathwaySummary.getDbId())) {
-                        content.setStatistics(statistics);
-                    }
-                }
-            }
+        AnalysisHitIndex index = analysisHitIndexes.get(analysisStatus);
+        if (index == null) {
+            index = new AnalysisHitIndex(content, foundElements, pathwaySummaries);
+            analysisHitIndexes.put(analysisStatus, index);
         }
+        if (analysisHitIndex != null && analysisHitIndex != index) analysisHitIndex.reset();
+        this.analysisStatus = analysisStatus;
+        this.analysisHitIndex = index;
+        index.apply();
+    }
+
+    /**
+     * @return the hits of the analysis overlay currently applied (null if there is none)
+     */
+    public AnalysisHitIndex getAnalysisHitIndex() {
+        return analysisHitIndex;
     }
 
     public String getFlagTerm() {
@@ -162,6 +140,26 @@ public class Context {
         return svgStatus;
     }
 
+    /**
+     * @return the thumbnail bitmap rendered with the given profile or null if there is none
+     */
+    public CanvasElement getThumbnail(String profile) {
+        return profile != null && profile.equals(thumbnailProfile) ? thumbnail : null;
+    }
+
+    public void setThumbnail(String profile, CanvasElement thumbnail) {
+        this.thumbnailProfile = profile;
+        this.thumbnail = thumbnail;
+    }
+
+    public LocalSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public void setSearchIndex(LocalSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
     public void hideDialogs() {
         for (ContextDialogPanel dialogPanel : dialogMap.values()) {
             dialogPanel.hide();
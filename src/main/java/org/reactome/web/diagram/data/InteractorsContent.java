@@ -19,9 +19,10 @@ import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.SummaryItem;
 import org.reactome.web.diagram.search.SearchResultObject;
 import org.reactome.web.diagram.util.MapSet;
+import org.reactome.web.diagram.util.spatial.PackedRTree;
+import org.reactome.web.diagram.util.spatial.SpatialIndex;
 import org.reactome.web.pwp.model.client.util.LruCache;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
-import uk.ac.ebi.pwp.structures.quadtree.client.QuadTree;
 
 import java.util.*;
 
@@ -31,15 +32,6 @@ import java.util.*;
 public class InteractorsContent {
 
     static final int INTERACTORS_RESOURCE_CACHE_SIZE = 5;
-    static final int INTERACTORS_FRAME_OFFSET = 1000;
-
-    //The number of elements for every QuadTree quadrant node
-    static final int NUMBER_OF_ELEMENTS = 25;
-    //Quadrant minimum area (width * height):             180
-    //  Right now an area of 180 x 80 = 14400 would     [--][--] 8
-    //  host 4 entities of 90x40 each                   [--][--] 0
-    //  An area of 60,000 includes 25 entities
-    static final int MIN_AREA = 90000;
 
     static final double DEFAULT_SCORE = 0.45;
 
@@ -52,10 +44,15 @@ public class InteractorsContent {
     private Map<String, Map<String, InteractorEntity>> interactorsCache; //resource -> interactor acc -> interactors
     private Map<String, MapSet<Node, InteractorLink>> interactionsPerNode; //resource -> layout node -> interaction
 
-    private LruCache<String, QuadTree<DiagramInteractor>> interactorsTreeCache;
-    private double minX, minY, maxX, maxY;
+    private LruCache<String, SpatialIndex<DiagramInteractor>> interactorsTreeCache;
+
+    //The hovering and visibility queries fill these lists, so nothing is created while moving the mouse or panning
+    private final List<DiagramInteractor> hovered = new ArrayList<>();
+    private final List<DiagramInteractor> visible = new ArrayList<>();
+    private final PackedRTree.Visitor<DiagramInteractor> hoveredCollector = hovered::add;
+    private final PackedRTree.Visitor<DiagramInteractor> visibleCollector = visible::add;
 
-    public InteractorsContent(double minX, double minY, double maxX, double maxY) {
+    public InteractorsContent() {
         this.rawInteractorsCache = new HashMap<>();
         this.interactorsSummaryMap = new MapSet<>();
         this.interactorsCache = new HashMap<>();
@@ -64,10 +61,6 @@ public class InteractorsContent {
         this.interactorsAnalysis = new HashMap<>();
 
         this.interactorsTreeCache = new LruCache<>(INTERACTORS_RESOURCE_CACHE_SIZE);
-        this.minX = minX - INTERACTORS_FRAME_OFFSET;
-        this.maxX = maxX + INTERACTORS_FRAME_OFFSET;
-        this.minY = minY - INTERACTORS_FRAME_OFFSET;
-        this.maxY = maxY + INTERACTORS_FRAME_OFFSET;
     }
 
     public void cache(String resource, String acc, RawInteractor rawInteractor) {
@@ -191,24 +184,21 @@ public class InteractorsContent {
     //when it is called, the interactors have probably been retrieved "again" from the server
     //IMPORTANT: To avoid loading data that already exists -> CHECK BEFORE RETRIEVING :)
     public void addToView(String resource, DiagramInteractor interactor) {
-        QuadTree<DiagramInteractor> tree = interactorsTreeCache.get(resource);
+        SpatialIndex<DiagramInteractor> tree = interactorsTreeCache.get(resource);
         if (tree == null) {
-            tree = new QuadTree<>(minX, minY, maxX, maxY, NUMBER_OF_ELEMENTS, MIN_AREA);
+            tree = new SpatialIndex<>();
             interactorsTreeCache.put(resource, tree);
         }
         tree.add(interactor);
     }
 
     public void updateView(String resource, DiagramInteractor interactor) {
-        QuadTree<DiagramInteractor> tree = interactorsTreeCache.get(resource);
-        if (tree != null) {
-            tree.remove(interactor);
-            tree.add(interactor);
-        }
+        SpatialIndex<DiagramInteractor> tree = interactorsTreeCache.get(resource);
+        if (tree != null) tree.update(interactor);
     }
 
     public void removeFromView(String resource, DiagramInteractor interactor) {
-        QuadTree<DiagramInteractor> tree = interactorsTreeCache.get(resource);
+        SpatialIndex<DiagramInteractor> tree = interactorsTreeCache.get(resource);
         if (tree != null) tree.remove(interactor);
     }
 
@@ -219,7 +209,7 @@ public class InteractorsContent {
                 entity.getLinks().clear();
             }
         }
-        QuadTree<DiagramInteractor> tree = interactorsTreeCache.get(resource);
+        SpatialIndex<DiagramInteractor> tree = interactorsTreeCache.get(resource);
         if (tree != null) {
             tree.clear();
         }
@@ -254,9 +244,14 @@ public class InteractorsContent {
     }
 
 
+    /**
+     * IMPORTANT: the returned collection is reused by the following call (copy it to keep it)
+     */
     public Collection<DiagramInteractor> getHoveredTarget(String resource, Coordinate p, double factor) {
         double f = 1 / factor;
-        return getVisibleInteractors(resource, new Box(p.getX() - f, p.getY() - f, p.getX() + f, p.getY() + f));
+        hovered.clear();
+        search(resource, p.getX() - f, p.getY() - f, p.getX() + f, p.getY() + f, hoveredCollector);
+        return hovered;
     }
 
     //We keep this cache to avoid creating it every time
@@ -343,6 +338,23 @@ public class InteractorsContent {
         return superSet.size();
     }
 
+    /**
+     * @return the number of raw interactors, interactors and interactions kept for all the resources
+     */
+    public int getCachedItemsCount() {
+        int count = 0;
+        for (MapSet<String, RawInteractor> map : rawInteractorsCache.values()) {
+            for (String acc : map.keySet()) count += map.getElements(acc).size();
+        }
+        for (Map<String, InteractorEntity> map : interactorsCache.values()) {
+            count += map.size();
+        }
+        for (MapSet<Node, InteractorLink> map : interactionsPerNode.values()) {
+            for (Node node : map.keySet()) count += map.getElements(node).size();
+        }
+        return count;
+    }
+
     public boolean isResourceLoaded(String resource) {
         return rawInteractorsCache.keySet().contains(resource);
     }
@@ -351,13 +363,20 @@ public class InteractorsContent {
         return rawInteractorsCache.keySet();
     }
 
+    /**
+     * IMPORTANT: the returned collection is reused by the following call (copy it to keep it)
+     */
     public Collection<DiagramInteractor> getVisibleInteractors(String resource, Box visibleArea) {
-        Set<DiagramInteractor> rtn = new HashSet<>();
+        visible.clear();
+        search(resource, visibleArea.getMinX(), visibleArea.getMinY(), visibleArea.getMaxX(), visibleArea.getMaxY(), visibleCollector);
+        return visible;
+    }
+
+    private void search(String resource, double minX, double minY, double maxX, double maxY, PackedRTree.Visitor<DiagramInteractor> visitor) {
         if (resource != null) {
-            QuadTree<DiagramInteractor> quadTree = interactorsTreeCache.get(resource);
-            if (quadTree != null) rtn = quadTree.getItems(visibleArea);
+            SpatialIndex<DiagramInteractor> tree = interactorsTreeCache.get(resource);
+            if (tree != null) tree.search(minX, minY, maxX, maxY, visitor);
         }
-        return rtn;
     }
 
     public boolean isInteractorResourceCached(String resource) {
@@ -7,6 +7,7 @@ import org.reactome.web.diagram.data.graph.model.GraphSubpathway;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.util.MapSet;
+import org.reactome.web.diagram.util.spatial.PackedRTree;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
 import java.util.Collection;
@@ -34,6 +35,9 @@ public interface Content {
 
     Long getDbId();
 
+    /**
+     * IMPORTANT: the returned collection is reused by the following call (copy it to keep it)
+     */
     Collection<DiagramObject> getHoveredTarget(Coordinate p, double factor);
 
     String getStableId();
@@ -106,8 +110,21 @@ public interface Content {
 
     void setMaxY(double maxY);
 
+    /**
+     * IMPORTANT: the returned collection is reused by the following call (copy it to keep it)
+     */
     Collection<DiagramObject> getVisibleItems(Box visibleArea);
 
+    /**
+     * Visits the items in the given area (for the queries that cannot share the getVisibleItems collection)
+     */
+    void searchItems(Box area, PackedRTree.Visitor<DiagramObject> visitor);
+
+    /**
+     * @return true if the item overlaps another node of its renderable class (so their shapes cannot be batched)
+     */
+    boolean isOverlapping(DiagramObject item);
+
     int getNumberOfBurstEntities();
 
     void clearDisplayedInteractors();
@@ -6,8 +6,8 @@ import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.SummaryItem;
 import org.reactome.web.diagram.util.MapSet;
+import org.reactome.web.diagram.util.spatial.PackedRTree;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
-import uk.ac.ebi.pwp.structures.quadtree.client.QuadTree;
 
 import java.util.*;
 
@@ -16,21 +16,20 @@ import java.util.*;
  */
 public class DiagramContent extends GenericContent {
 
-    //The number of elements for every QuadTree quadrant node
-    private static final int NUMBER_OF_ELEMENTS = 25;
-    //Quadrant minimum area (width * height):             180
-    //  Right now an area of 180 x 80 = 14400 would     [--][--] 8
-    //  host 4 entities of 90x40 each                   [--][--] 0
-    //  An area of 90,000 includes 25 entities
-    private static final int MIN_AREA = 90000;
-
     private Map<Long, DiagramObject> diagramObjectMap;
     private Map<String, GraphObject> graphObjectCache;
     private Map<String, GraphSubpathway> subpathwaysCache;
     private MapSet<String, GraphObject> identifierMap;
     private Set<GraphPathway> encapsulatedPathways;
 
-    private QuadTree<DiagramObject> diagramObjects;
+    private PackedRTree<DiagramObject> diagramObjects;
+    private Set<DiagramObject> overlapping;
+
+    //The hovering and visibility queries fill these lists, so nothing is created while moving the mouse or panning
+    private final List<DiagramObject> hovered = new ArrayList<>();
+    private final List<DiagramObject> visible = new ArrayList<>();
+    private final PackedRTree.Visitor<DiagramObject> hoveredCollector = hovered::add;
+    private final PackedRTree.Visitor<DiagramObject> visibleCollector = visible::add;
 
     public DiagramContent() {
         this.diagramObjectMap = new TreeMap<>();
@@ -43,13 +42,41 @@ public class DiagramContent extends GenericContent {
     //Please note that the way the content is created is by injecting the values without the constructor
     //init has to be called to be called once every value has been set up
     public Content init(){
-        this.diagramObjects = new QuadTree<>(minX, minY, maxX, maxY, NUMBER_OF_ELEMENTS, MIN_AREA);
-        for (DiagramObject diagramObject : getDiagramObjects()) {
-            this.diagramObjects.add(diagramObject);
-        }
+        this.diagramObjects = new PackedRTree<>(getDiagramObjects());
+        this.overlapping = findOverlappingNodes(getDiagramObjects());
         return this;
     }
 
+    //Nodes of the same renderable class overlapping each other have to be drawn one by one to keep their stacking order
+    private static Set<DiagramObject> findOverlappingNodes(Collection<DiagramObject> items) {
+        Map<String, List<DiagramObject>> nodes = new HashMap<>();
+        for (DiagramObject item : items) {
+            if (!(item instanceof Node)) continue;
+            List<DiagramObject> list = nodes.get(item.getRenderableClass());
+            if (list == null) {
+                list = new ArrayList<>();
+                nodes.put(item.getRenderableClass(), list);
+            }
+            list.add(item);
+        }
+        Set<DiagramObject> rtn = new HashSet<>();
+        for (List<DiagramObject> list : nodes.values()) {
+            list.sort((o1, o2) -> Double.compare(o1.getMinX(), o2.getMinX()));
+            for (int i = 0; i < list.size(); i++) {
+                DiagramObject a = list.get(i);
+                for (int j = i + 1; j < list.size(); j++) {
+                    DiagramObject b = list.get(j);
+                    if (b.getMinX() > a.getMaxX()) break; //Sorted by minX, so none of the following overlaps a
+                    if (b.getMinY() <= a.getMaxY() && a.getMinY() <= b.getMaxY()) {
+                        rtn.add(a);
+                        rtn.add(b);
+                    }
+                }
+            }
+        }
+        return rtn;
+    }
+
     public void cacheParticipants(GraphPhysicalEntity dbObject) {
         Set<GraphPhysicalEntity> participants = dbObject.getParticipants();
         if (participants.size() == 1) {
@@ -105,8 +132,9 @@ public class DiagramContent extends GenericContent {
     }
 
     public Collection<DiagramObject> getHoveredTarget(Coordinate p, double factor) {
-        double f = 1 / factor;
-        return diagramObjects.getItems(new Box(p.getX() - f, p.getY() - f, p.getX() + f, p.getY() + f));
+        hovered.clear();
+        diagramObjects.search(p.getX(), p.getY(), 1 / factor, hoveredCollector);
+        return hovered;
     }
 
     public Set<GraphPathway> getEncapsulatedPathways() {
@@ -167,7 +195,19 @@ public class DiagramContent extends GenericContent {
     }
 
     public Collection<DiagramObject> getVisibleItems(Box visibleArea) {
-        return this.diagramObjects.getItems(visibleArea);
+        visible.clear();
+        searchItems(visibleArea, visibleCollector);
+        return visible;
+    }
+
+    @Override
+    public void searchItems(Box area, PackedRTree.Visitor<DiagramObject> visitor) {
+        this.diagramObjects.search(area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY(), visitor);
+    }
+
+    @Override
+    public boolean isOverlapping(DiagramObject item) {
+        return this.overlapping.contains(item);
     }
 
     public int getNumberOfBurstEntities() {
@@ -6,6 +6,7 @@ import org.reactome.web.diagram.data.graph.model.GraphSubpathway;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.util.MapSet;
+import org.reactome.web.diagram.util.spatial.PackedRTree;
 import org.vectomatic.dom.svg.OMSVGSVGElement;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
@@ -177,6 +178,16 @@ public class EHLDContent extends GenericContent {
         return null;
     }
 
+    @Override
+    public void searchItems(Box area, PackedRTree.Visitor<DiagramObject> visitor) {
+        //Nothing here
+    }
+
+    @Override
+    public boolean isOverlapping(DiagramObject item) {
+        return false;
+    }
+
     @Override
     public int getNumberOfBurstEntities() {
         return 0;
@@ -35,7 +35,7 @@ public abstract class GraphCompositeEntity extends GraphPhysicalEntity {
     }
 
     @Override
-    public Set<GraphPhysicalEntity> getParticipants() {
+    protected Set<GraphPhysicalEntity> collectParticipants() {
         return new HashSet<>(children);
     }
     public GraphCompositeEntity(EntityNode node) {
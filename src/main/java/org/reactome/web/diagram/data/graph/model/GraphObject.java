@@ -31,6 +31,9 @@ public abstract class GraphObject implements Comparable<GraphObject>, SearchResu
 
     protected List<Double> expression;
 
+    //Indexed once the graph content is complete (see indexRelationships)
+    private DiagramObject[] relatedDiagramObjects;
+
     public GraphObject(GraphNode node) {
         this.dbId = node.getDbId();
         this.stId = node.getStId();
@@ -120,13 +123,14 @@ public abstract class GraphObject implements Comparable<GraphObject>, SearchResu
     public abstract ImageResource getImageResource();
 
     public Set<DiagramObject> getRelatedDiagramObjects() {
+        if (relatedDiagramObjects != null) return new HashSet<>(Arrays.asList(relatedDiagramObjects));
         Set<DiagramObject> toDisplay = new HashSet<>();
         if (this instanceof GraphReactionLikeEvent) {
             toDisplay.addAll(getElementsToDisplay((GraphReactionLikeEvent) this));
         } else if (this instanceof GraphPhysicalEntity) {
             GraphPhysicalEntity pe = (GraphPhysicalEntity) this;
             for (GraphReactionLikeEvent rle : pe.participatesIn()) {
-                toDisplay.addAll(getElementsToDisplay(rle));
+                toDisplay.addAll(rle.getRelatedDiagramObjects());
             }
         } else if (this instanceof GraphPathway) {
             toDisplay.addAll(this.getDiagramObjects());
@@ -136,13 +140,22 @@ public abstract class GraphObject implements Comparable<GraphObject>, SearchResu
             for (GraphObject obj : subpathway.getContainedEvents()) {
                 if(obj instanceof GraphReactionLikeEvent) {
                     GraphReactionLikeEvent rle = (GraphReactionLikeEvent) obj;
-                    toDisplay.addAll(getElementsToDisplay(rle));
+                    toDisplay.addAll(rle.getRelatedDiagramObjects());
                 }
             }
         }
         return toDisplay;
     }
 
+    /**
+     * Keeps the relationships of the object (e.g. the ones used for the selection halo) in arrays so they are
+     * not traversed every time they are requested. It has to be called once the graph content is complete
+     * and, since the entities rely on them, the reactions have to be indexed first
+     */
+    public void indexRelationships() {
+        relatedDiagramObjects = getRelatedDiagramObjects().toArray(new DiagramObject[0]);
+    }
+
     private Collection<DiagramObject> getElementsToDisplay(GraphReactionLikeEvent rle) {
         Set<DiagramObject> toDisplay = new HashSet<>(rle.getDiagramObjects());
         Set<Long> target = new HashSet<>();
@@ -23,6 +23,12 @@ public abstract class GraphPhysicalEntity extends GraphObject {
 
     private boolean interactorsHit = false;
 
+    //Indexed once the graph content is complete (see indexRelationships)
+    private GraphReactionLikeEvent[] participatesIn;
+    private GraphPhysicalEntity[] participants;
+    private GraphPhysicalEntity[] parentLocations;
+    private GraphPhysicalEntity[] parentDiagramIds;
+
     public GraphPhysicalEntity(EntityNode node) {
         super(node);
         this.identifier = node.getIdentifier();
@@ -94,11 +100,32 @@ public abstract class GraphPhysicalEntity extends GraphObject {
     }
 
     public Set<GraphPhysicalEntity> getParticipants() {
+        if (participants != null) return new HashSet<>(Arrays.asList(participants));
+        return collectParticipants();
+    }
+
+    protected Set<GraphPhysicalEntity> collectParticipants() {
         Set<GraphPhysicalEntity> rtn = new HashSet<>();
         rtn.add(this);
         return rtn;
     }
 
+    public int getParticipantsCount() {
+        return participants != null ? participants.length : getParticipants().size();
+    }
+
+    /**
+     * @return the number of participants hit by the analysis (same as getHitParticipants().size())
+     */
+    public int getHitParticipantsCount() {
+        if (participants == null) return getHitParticipants().size();
+        int rtn = 0;
+        for (GraphPhysicalEntity participant : participants) {
+            if (participant.isHit()) rtn++;
+        }
+        return rtn;
+    }
+
     public Map<String, Double> getParticipantsExpression(int column) {
         Map<String, Double> rtn = new HashMap<>();
         if (this.isHit() && this.getExpression(column) != null) {
@@ -116,6 +143,7 @@ public abstract class GraphPhysicalEntity extends GraphObject {
     }
 
     public Set<GraphPhysicalEntity> getParentLocations() {
+        if (parentLocations != null) return new HashSet<>(Arrays.asList(parentLocations));
         Set<GraphPhysicalEntity> rtn = new HashSet<>();
         for (GraphPhysicalEntity parent : parents) {
             rtn.addAll(parent.getParentDiagramIds());
@@ -135,6 +163,7 @@ public abstract class GraphPhysicalEntity extends GraphObject {
     }
 
     public Set<GraphReactionLikeEvent> participatesIn() {
+        if (participatesIn != null) return new HashSet<>(Arrays.asList(participatesIn));
         Set<GraphReactionLikeEvent> rtn = new HashSet<>();
         rtn.addAll(isInputIn);
         rtn.addAll(isOutputIn);
@@ -144,6 +173,33 @@ public abstract class GraphPhysicalEntity extends GraphObject {
         return rtn;
     }
 
+    @Override
+    public void indexRelationships() {
+        participatesIn = participatesIn().toArray(new GraphReactionLikeEvent[0]);
+        participants = collectParticipants().toArray(new GraphPhysicalEntity[0]);
+        Set<GraphPhysicalEntity> locations = new HashSet<>();
+        for (GraphPhysicalEntity parent : parents) {
+            locations.addAll(Arrays.asList(parent.indexParentDiagramIds()));
+        }
+        parentLocations = locations.toArray(new GraphPhysicalEntity[0]);
+        super.indexRelationships();
+    }
+
+    //The ancestors shared by many entities (e.g. complexes containing ATP) are only traversed once
+    private GraphPhysicalEntity[] indexParentDiagramIds() {
+        if (parentDiagramIds == null) {
+            Set<GraphPhysicalEntity> rtn = new HashSet<>();
+            if (!getDiagramObjects().isEmpty()) {
+                rtn.add(this);
+            }
+            for (GraphPhysicalEntity parent : parents) {
+                rtn.addAll(Arrays.asList(parent.indexParentDiagramIds()));
+            }
+            parentDiagramIds = rtn.toArray(new GraphPhysicalEntity[0]);
+        }
+        return parentDiagramIds;
+    }
+
     @Override
     protected String getSecondaryDisplayName() {
         StringBuilder rtn = new StringBuilder(super.getSecondaryDisplayName());
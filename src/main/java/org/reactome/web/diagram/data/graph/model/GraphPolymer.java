@@ -39,7 +39,7 @@ public class GraphPolymer extends GraphPhysicalEntity {
     }
 
     @Override
-    public Set<GraphPhysicalEntity> getParticipants(){
+    protected Set<GraphPhysicalEntity> collectParticipants(){
         Set<GraphPhysicalEntity> rtn = new HashSet<>();
         for (GraphPhysicalEntity child : children) {
             rtn.addAll(child.getParticipants());
@@ -3,6 +3,7 @@ package org.reactome.web.diagram.data.graph.model;
 import org.reactome.web.diagram.data.graph.raw.EventNode;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,6 +23,9 @@ public abstract class GraphReactionLikeEvent extends GraphEvent {
     private List<GraphReactionLikeEvent> followingEvents = new ArrayList<>();
     private List<GraphReactionLikeEvent> precedingEvents = new ArrayList<>();
 
+    //Indexed once the graph content is complete (see indexRelationships)
+    private GraphPhysicalEntity[] participants;
+
     public GraphReactionLikeEvent(EventNode node) {
         super(node);
     }
@@ -106,6 +110,7 @@ public abstract class GraphReactionLikeEvent extends GraphEvent {
     }
 
     public Set<GraphPhysicalEntity> getParticipants(){
+        if (participants != null) return new HashSet<>(Arrays.asList(participants));
         Set<GraphPhysicalEntity> parts = new HashSet<>();
         parts.addAll(inputs);
         parts.addAll(outputs);
@@ -120,4 +125,10 @@ public abstract class GraphReactionLikeEvent extends GraphEvent {
         }
         return rtn;
     }
+
+    @Override
+    public void indexRelationships() {
+        participants = getParticipants().toArray(new GraphPhysicalEntity[0]);
+        super.indexRelationships();
+    }
 }
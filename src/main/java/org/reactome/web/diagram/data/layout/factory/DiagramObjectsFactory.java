@@ -6,8 +6,10 @@ import com.google.web.bindery.autobean.shared.AutoBean;
 import com.google.web.bindery.autobean.shared.AutoBeanCodex;
 import com.google.web.bindery.autobean.shared.AutoBeanFactory;
 import com.google.web.bindery.autobean.shared.AutoBeanFactory.Category;
+import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.data.layout.*;
 import org.reactome.web.diagram.data.layout.category.DiagramObjectCategory;
+import org.reactome.web.diagram.data.layout.overlay.DiagramOverlay;
 
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
@@ -44,6 +46,23 @@ public abstract class DiagramObjectsFactory {
         AutoBean<Diagram> diagram();
     }
 
+    /**
+     * Decodes the diagram layout either with overlays on top of the natively parsed JSON (much faster
+     * since no proxies are created) or with AutoBeans, depending on DiagramFactory.LAYOUT_JSON_OVERLAYS
+     */
+    public static Diagram getDiagram(String json) throws DiagramObjectException {
+        if (!DiagramFactory.LAYOUT_JSON_OVERLAYS) return getModelObject(Diagram.class, json);
+        try {
+            return DiagramOverlay.parse(json);
+        } catch (Throwable e) {
+            throw new DiagramObjectException("Error parsing json string for [" + Diagram.class + "]", e);
+        }
+    }
+
+    public static String getDiagramDecoder() {
+        return DiagramFactory.LAYOUT_JSON_OVERLAYS ? "overlay" : "autobean";
+    }
+
     public static <T> T getModelObject(Class<T> cls, String json) throws DiagramObjectException {
         try{
             AutoBeanFactory factory = GWT.create(ModelAutoBeanFactory.class);
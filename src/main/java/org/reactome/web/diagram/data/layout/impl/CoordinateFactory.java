@@ -6,10 +6,10 @@ import org.reactome.web.diagram.data.layout.Coordinate;
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class CoordinateFactory implements Coordinate {
-    private Double x;
-    private Double y;
+    private double x;
+    private double y;
 
-    private CoordinateFactory(Double x, Double y) {
+    private CoordinateFactory(double x, double y) {
         this.x = x;
         this.y = y;
     }
@@ -63,15 +63,13 @@ public class CoordinateFactory implements Coordinate {
 
         CoordinateFactory that = (CoordinateFactory) o;
 
-        //noinspection SimplifiableIfStatement
-        if (x != null ? !x.equals(that.x) : that.x != null) return false;
-        return !(y != null ? !y.equals(that.y) : that.y != null);
+        return Double.compare(x, that.x) == 0 && Double.compare(y, that.y) == 0;
     }
 
     @Override
     public int hashCode() {
-        int result = x != null ? x.hashCode() : 0;
-        result = 31 * result + (y != null ? y.hashCode() : 0);
+        int result = Double.valueOf(x).hashCode();
+        result = 31 * result + Double.valueOf(y).hashCode();
         return result;
     }
 
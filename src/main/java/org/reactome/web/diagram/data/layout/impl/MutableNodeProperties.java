@@ -0,0 +1,44 @@
+package org.reactome.web.diagram.data.layout.impl;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.NodeProperties;
+
+/**
+ * Primitive backed node properties that are overwritten every time they are transformed. It is meant to be
+ * used as a scratch object in the render path (one per renderer) so no objects are created per item and
+ * frame. The values are only valid until the next call to transform, so references to it cannot be kept.
+ */
+public final class MutableNodeProperties implements NodeProperties {
+    private double x;
+    private double y;
+    private double width;
+    private double height;
+
+    public MutableNodeProperties transform(NodeProperties prop, double factor, Coordinate delta) {
+        this.x = prop.getX() * factor + delta.getX();
+        this.y = prop.getY() * factor + delta.getY();
+        this.width = prop.getWidth() * factor;
+        this.height = prop.getHeight() * factor;
+        return this;
+    }
+
+    @Override
+    public Double getX() {
+        return x;
+    }
+
+    @Override
+    public Double getY() {
+        return y;
+    }
+
+    @Override
+    public Double getWidth() {
+        return width;
+    }
+
+    @Override
+    public Double getHeight() {
+        return height;
+    }
+}
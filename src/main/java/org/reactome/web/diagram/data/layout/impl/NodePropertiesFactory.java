@@ -8,12 +8,12 @@ import org.reactome.web.diagram.data.layout.NodeProperties;
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class NodePropertiesFactory implements NodeProperties {
-    private Double x;
-    private Double y;
-    private Double width;
-    private Double height;
+    private double x;
+    private double y;
+    private double width;
+    private double height;
 
-    private NodePropertiesFactory(Double x, Double y, Double width, Double height) {
+    private NodePropertiesFactory(double x, double y, double width, double height) {
         this.x = x;
         this.y = y;
         this.width = width;
@@ -0,0 +1,17 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Compartment;
+
+import java.util.List;
+
+public class CompartmentOverlay extends NodeCommonOverlay implements Compartment {
+
+    CompartmentOverlay(JsObject data) {
+        super(data);
+    }
+
+    @Override
+    public List<Long> getComponentIds() {
+        return JsList.getLongs(data.getNumbers("componentIds"));
+    }
+}
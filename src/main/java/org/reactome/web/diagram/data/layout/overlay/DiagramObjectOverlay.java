@@ -0,0 +1,108 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.graph.model.GraphObject;
+import org.reactome.web.diagram.data.layout.ContextMenuTrigger;
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.DiagramObject;
+
+/**
+ * Diagram objects are kept as (thin) Java objects on top of the native JSON ones because "instanceof"
+ * cannot distinguish between different overlay types implementing interfaces (Node, Edge, etc.)
+ */
+public abstract class DiagramObjectOverlay implements DiagramObject {
+
+    protected final JsObject data;
+
+    private final Long id;
+    private GraphObject graphObject;
+
+    DiagramObjectOverlay(JsObject data) {
+        this.data = data;
+        this.id = data.getLong("id");
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Long getReactomeId() {
+        return data.getLong("reactomeId");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return data.getString("displayName");
+    }
+
+    @Override
+    public String getSchemaClass() {
+        return data.getString("schemaClass");
+    }
+
+    @Override
+    public String getRenderableClass() {
+        return data.getString("renderableClass");
+    }
+
+    @Override
+    public Coordinate getPosition() {
+        return data.<JsCoordinate>getObject("position");
+    }
+
+    @Override
+    public Boolean getIsDisease() {
+        return data.getBoolean("isDisease");
+    }
+
+    @Override
+    public Boolean getIsFadeOut() {
+        return data.getBoolean("isFadeOut");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends GraphObject> T getGraphObject() {
+        return (T) graphObject;
+    }
+
+    @Override
+    public <T extends GraphObject> void setGraphObject(T obj) {
+        this.graphObject = obj;
+    }
+
+    @Override
+    public ContextMenuTrigger contextMenuTrigger() {
+        return null;
+    }
+
+    @Override
+    public double getMinX() {
+        return data.number("minX");
+    }
+
+    @Override
+    public double getMinY() {
+        return data.number("minY");
+    }
+
+    @Override
+    public double getMaxX() {
+        return data.number("maxX");
+    }
+
+    @Override
+    public double getMaxY() {
+        return data.number("maxY");
+    }
+
+    @Override
+    public String toString() {
+        return getSchemaClass() + "{" +
+                "id=" + getId() +
+                ", dbId=" + getReactomeId() +
+                ", displayName='" + getDisplayName() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsonUtils;
+import org.reactome.web.diagram.data.layout.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diagram on top of the natively parsed JSON. Diagram objects are wrapped once (here) so they keep
+ * their identity; the rest of the properties are read straight from the parsed JSON when requested.
+ */
+public class DiagramOverlay implements Diagram {
+
+    private interface Wrapper<T> {
+        T wrap(JsObject data);
+    }
+
+    private final JsObject data;
+
+    private final List<Node> nodes;
+    private final List<Note> notes;
+    private final List<Edge> edges;
+    private final List<Link> links;
+    private final List<Compartment> compartments;
+    private final List<Shadow> shadows;
+
+    private DiagramOverlay(JsObject data) {
+        this.data = data;
+        this.nodes = wrap(data.getArray("nodes"), NodeOverlay::new);
+        this.notes = wrap(data.getArray("notes"), NoteOverlay::new);
+        this.edges = wrap(data.getArray("edges"), EdgeOverlay::new);
+        this.links = wrap(data.getArray("links"), LinkOverlay::new);
+        this.compartments = wrap(data.getArray("compartments"), CompartmentOverlay::new);
+        this.shadows = wrap(data.getArray("shadows"), ShadowOverlay::new);
+    }
+
+    public static Diagram parse(String json) {
+        return new DiagramOverlay(JsonUtils.<JsObject>safeParse(json));
+    }
+
+    private static <T> List<T> wrap(JsArray<JsObject> array, Wrapper<T> wrapper) {
+        if (array == null) return null;
+        List<T> rtn = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            rtn.add(wrapper.wrap(array.get(i)));
+        }
+        return rtn;
+    }
+
+    @Override
+    public Boolean getIsDisease() {
+        return data.getBoolean("isDisease");
+    }
+
+    @Override
+    public Boolean getForNormalDraw() {
+        return data.getBoolean("forNormalDraw");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return data.getString("displayName");
+    }
+
+    @Override
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public List<Note> getNotes() {
+        return notes;
+    }
+
+    @Override
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    @Override
+    public List<Link> getLinks() {
+        return links;
+    }
+
+    @Override
+    public List<Compartment> getCompartments() {
+        return compartments;
+    }
+
+    @Override
+    public List<Shadow> getShadows() {
+        return shadows;
+    }
+
+    @Override
+    public Long getDbId() {
+        return data.getLong("dbId");
+    }
+
+    @Override
+    public String getStableId() {
+        return data.getString("stableId");
+    }
+
+    @Override
+    public Integer getMinX() {
+        return data.getInteger("minX");
+    }
+
+    @Override
+    public Integer getMaxX() {
+        return data.getInteger("maxX");
+    }
+
+    @Override
+    public Integer getMinY() {
+        return data.getInteger("minY");
+    }
+
+    @Override
+    public Integer getMaxY() {
+        return data.getInteger("maxY");
+    }
+}
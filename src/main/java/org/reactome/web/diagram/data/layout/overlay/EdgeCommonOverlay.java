@@ -0,0 +1,75 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.EdgeCommon;
+import org.reactome.web.diagram.data.layout.ReactionPart;
+import org.reactome.web.diagram.data.layout.Segment;
+import org.reactome.web.diagram.data.layout.Shape;
+
+import java.util.List;
+
+public abstract class EdgeCommonOverlay extends DiagramObjectOverlay implements EdgeCommon {
+
+    EdgeCommonOverlay(JsObject data) {
+        super(data);
+    }
+
+    @Override
+    public String getReactionType() {
+        return data.getString("reactionType");
+    }
+
+    @Override
+    public String getInteractionType() {
+        return data.getString("interactionType");
+    }
+
+    @Override
+    public List<Segment> getSegments() {
+        return JsList.get(data.getArray("segments"));
+    }
+
+    @Override
+    public Shape getEndShape() {
+        return data.<JsShape>getObject("endShape");
+    }
+
+    @Override
+    public Shape getReactionShape() {
+        return data.<JsShape>getObject("reactionShape");
+    }
+
+    @Override
+    public List<ReactionPart> getInputs() {
+        return JsList.get(data.getArray("inputs"));
+    }
+
+    @Override
+    public List<ReactionPart> getOutputs() {
+        return JsList.get(data.getArray("outputs"));
+    }
+
+    @Override
+    public List<ReactionPart> getCatalysts() {
+        return JsList.get(data.getArray("catalysts"));
+    }
+
+    @Override
+    public List<ReactionPart> getInhibitors() {
+        return JsList.get(data.getArray("inhibitors"));
+    }
+
+    @Override
+    public List<ReactionPart> getActivators() {
+        return JsList.get(data.getArray("activators"));
+    }
+
+    @Override
+    public List<Long> getPrecedingEvents() {
+        return JsList.getLongs(data.getNumbers("precedingEvents"));
+    }
+
+    @Override
+    public List<Long> getFollowingEvents() {
+        return JsList.getLongs(data.getNumbers("followingEvents"));
+    }
+}
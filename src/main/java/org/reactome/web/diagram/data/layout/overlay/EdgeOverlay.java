@@ -0,0 +1,10 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Edge;
+
+public class EdgeOverlay extends EdgeCommonOverlay implements Edge {
+
+    EdgeOverlay(JsObject data) {
+        super(data);
+    }
+}
@@ -0,0 +1,33 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Bound;
+
+/**
+ * Used for both NodeProperties and Bound since they share the same properties
+ * (only one overlay type can implement a given interface)
+ */
+public class JsBound extends JsObject implements Bound {
+
+    protected JsBound() {
+    }
+
+    @Override
+    public final Double getX() {
+        return getDouble("x");
+    }
+
+    @Override
+    public final Double getY() {
+        return getDouble("y");
+    }
+
+    @Override
+    public final Double getWidth() {
+        return getDouble("width");
+    }
+
+    @Override
+    public final Double getHeight() {
+        return getDouble("height");
+    }
+}
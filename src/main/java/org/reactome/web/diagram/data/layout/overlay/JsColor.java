@@ -0,0 +1,24 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Color;
+
+public class JsColor extends JsObject implements Color {
+
+    protected JsColor() {
+    }
+
+    @Override
+    public final Integer getR() {
+        return getInteger("r");
+    }
+
+    @Override
+    public final Integer getG() {
+        return getInteger("g");
+    }
+
+    @Override
+    public final Integer getB() {
+        return getInteger("b");
+    }
+}
@@ -0,0 +1,49 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Connector;
+import org.reactome.web.diagram.data.layout.Segment;
+import org.reactome.web.diagram.data.layout.Shape;
+import org.reactome.web.diagram.data.layout.Stoichiometry;
+
+import java.util.List;
+
+public class JsConnector extends JsObject implements Connector {
+
+    protected JsConnector() {
+    }
+
+    @Override
+    public final Long getEdgeId() {
+        return getLong("edgeId");
+    }
+
+    @Override
+    public final Boolean getIsDisease() {
+        return getBoolean("isDisease");
+    }
+
+    @Override
+    public final String getType() {
+        return getString("type");
+    }
+
+    @Override
+    public final Boolean getIsFadeOut() {
+        return getBoolean("isFadeOut");
+    }
+
+    @Override
+    public final List<Segment> getSegments() {
+        return JsList.get(getArray("segments"));
+    }
+
+    @Override
+    public final Shape getEndShape() {
+        return this.<JsShape>getObject("endShape");
+    }
+
+    @Override
+    public final Stoichiometry getStoichiometry() {
+        return this.<JsStoichiometry>getObject("stoichiometry");
+    }
+}
@@ -0,0 +1,45 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
+
+public class JsCoordinate extends JsObject implements Coordinate {
+
+    protected JsCoordinate() {
+    }
+
+    @Override
+    public final Double getX() {
+        return number("x");
+    }
+
+    @Override
+    public final Double getY() {
+        return number("y");
+    }
+
+    @Override
+    public final Coordinate add(Coordinate value) {
+        return CoordinateFactory.get(getX() + value.getX(), getY() + value.getY());
+    }
+
+    @Override
+    public final Coordinate divide(double factor) {
+        return CoordinateFactory.get(getX() / factor, getY() / factor);
+    }
+
+    @Override
+    public final Coordinate minus(Coordinate value) {
+        return CoordinateFactory.get(getX() - value.getX(), getY() - value.getY());
+    }
+
+    @Override
+    public final Coordinate multiply(double factor) {
+        return CoordinateFactory.get(getX() * factor, getY() * factor);
+    }
+
+    @Override
+    public final Coordinate transform(double factor, Coordinate delta) {
+        return CoordinateFactory.get(getX() * factor + delta.getX(), getY() * factor + delta.getY());
+    }
+}
@@ -0,0 +1,19 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Identifier;
+
+public class JsIdentifier extends JsObject implements Identifier {
+
+    protected JsIdentifier() {
+    }
+
+    @Override
+    public final String getResource() {
+        return getString("resource");
+    }
+
+    @Override
+    public final String getId() {
+        return getString("id");
+    }
+}
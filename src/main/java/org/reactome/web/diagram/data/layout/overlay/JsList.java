@@ -0,0 +1,75 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayNumber;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read only list views on top of the native arrays (no copy of the elements is done)
+ */
+abstract class JsList {
+
+    /**
+     * The view is kept in the native array, so the render path gets the same one every time it is requested
+     */
+    static <T> List<T> get(JsArray<JsObject> array) {
+        if (array == null) return null;
+        List<T> list = getView(array);
+        if (list == null) {
+            list = new ObjectList<>(array);
+            setView(array, list);
+        }
+        return list;
+    }
+
+    private static native <T> List<T> getView(JsArray<JsObject> array) /*-{
+        return array.__view || null;
+    }-*/;
+
+    private static native <T> void setView(JsArray<JsObject> array, List<T> list) /*-{
+        array.__view = list;
+    }-*/;
+
+    static List<Long> getLongs(JsArrayNumber array) {
+        return array == null ? null : new LongList(array);
+    }
+
+    private static class ObjectList<T> extends AbstractList<T> {
+        private final JsArray<JsObject> array;
+
+        ObjectList(JsArray<JsObject> array) {
+            this.array = array;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) array.get(index);
+        }
+
+        @Override
+        public int size() {
+            return array.length();
+        }
+    }
+
+    private static class LongList extends AbstractList<Long> {
+        private final JsArrayNumber array;
+
+        LongList(JsArrayNumber array) {
+            this.array = array;
+        }
+
+        @Override
+        public Long get(int index) {
+            return (long) array.get(index);
+        }
+
+        @Override
+        public int size() {
+            return array.length();
+        }
+    }
+}
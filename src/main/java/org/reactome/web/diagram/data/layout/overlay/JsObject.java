@@ -0,0 +1,60 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayNumber;
+
+/**
+ * Base overlay type for the objects obtained when the diagram JSON is parsed natively. It provides the
+ * accessors used by the rest of the overlays to read the properties without copying them.
+ * Missing properties are returned as null, keeping the same behaviour as the AutoBean decoded objects.
+ */
+public class JsObject extends JavaScriptObject {
+
+    protected JsObject() {
+    }
+
+    final native boolean has(String key) /*-{
+        return this[key] != null;
+    }-*/;
+
+    final native double number(String key) /*-{
+        return this[key];
+    }-*/;
+
+    private native boolean bool(String key) /*-{
+        return !!this[key];
+    }-*/;
+
+    final native String getString(String key) /*-{
+        return this[key] == null ? null : this[key];
+    }-*/;
+
+    final native <T extends JavaScriptObject> T getObject(String key) /*-{
+        return this[key] == null ? null : this[key];
+    }-*/;
+
+    final native JsArray<JsObject> getArray(String key) /*-{
+        return this[key] == null ? null : this[key];
+    }-*/;
+
+    final native JsArrayNumber getNumbers(String key) /*-{
+        return this[key] == null ? null : this[key];
+    }-*/;
+
+    final Boolean getBoolean(String key) {
+        return has(key) ? bool(key) : null;
+    }
+
+    final Double getDouble(String key) {
+        return has(key) ? number(key) : null;
+    }
+
+    final Integer getInteger(String key) {
+        return has(key) ? (int) number(key) : null;
+    }
+
+    final Long getLong(String key) {
+        return has(key) ? (long) number(key) : null;
+    }
+}
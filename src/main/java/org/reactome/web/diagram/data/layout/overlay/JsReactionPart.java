@@ -0,0 +1,27 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.ReactionPart;
+
+import java.util.List;
+
+public class JsReactionPart extends JsObject implements ReactionPart {
+
+    protected JsReactionPart() {
+    }
+
+    @Override
+    public final Long getId() {
+        return getLong("id");
+    }
+
+    @Override
+    public final List<Coordinate> getPoints() {
+        return JsList.get(getArray("points"));
+    }
+
+    @Override
+    public final Integer getStoichiometry() {
+        return getInteger("stoichiometry");
+    }
+}
@@ -0,0 +1,20 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.Segment;
+
+public class JsSegment extends JsObject implements Segment {
+
+    protected JsSegment() {
+    }
+
+    @Override
+    public final Coordinate getFrom() {
+        return this.<JsCoordinate>getObject("from");
+    }
+
+    @Override
+    public final Coordinate getTo() {
+        return this.<JsCoordinate>getObject("to");
+    }
+}
@@ -0,0 +1,50 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.Shape;
+
+public class JsShape extends JsObject implements Shape {
+
+    protected JsShape() {
+    }
+
+    @Override
+    public final Coordinate getA() {
+        return this.<JsCoordinate>getObject("a");
+    }
+
+    @Override
+    public final Coordinate getB() {
+        return this.<JsCoordinate>getObject("b");
+    }
+
+    @Override
+    public final Coordinate getC() {
+        return this.<JsCoordinate>getObject("c");
+    }
+
+    @Override
+    public final Double getR() {
+        return getDouble("r");
+    }
+
+    @Override
+    public final Double getR1() {
+        return getDouble("r1");
+    }
+
+    @Override
+    public final String getS() {
+        return getString("s");
+    }
+
+    @Override
+    public final String getType() {
+        return getString("type");
+    }
+
+    @Override
+    public final Boolean getEmpty() {
+        return getBoolean("empty");
+    }
+}
@@ -0,0 +1,20 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Shape;
+import org.reactome.web.diagram.data.layout.Stoichiometry;
+
+public class JsStoichiometry extends JsObject implements Stoichiometry {
+
+    protected JsStoichiometry() {
+    }
+
+    @Override
+    public final Integer getValue() {
+        return getInteger("value");
+    }
+
+    @Override
+    public final Shape getShape() {
+        return this.<JsShape>getObject("shape");
+    }
+}
@@ -0,0 +1,10 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Link;
+
+public class LinkOverlay extends EdgeCommonOverlay implements Link {
+
+    LinkOverlay(JsObject data) {
+        super(data);
+    }
+}
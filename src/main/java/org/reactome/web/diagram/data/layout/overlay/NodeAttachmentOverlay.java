@@ -0,0 +1,36 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.NodeAttachment;
+import org.reactome.web.diagram.data.layout.Shape;
+
+/**
+ * Kept as a Java object because it is distinguished from SummaryItem via "instanceof"
+ */
+public class NodeAttachmentOverlay implements NodeAttachment {
+
+    private final JsObject data;
+
+    NodeAttachmentOverlay(JsObject data) {
+        this.data = data;
+    }
+
+    @Override
+    public String getLabel() {
+        return data.getString("label");
+    }
+
+    @Override
+    public String getDescription() {
+        return data.getString("description");
+    }
+
+    @Override
+    public Long getReactomeId() {
+        return data.getLong("reactomeId");
+    }
+
+    @Override
+    public Shape getShape() {
+        return data.<JsShape>getObject("shape");
+    }
+}
@@ -0,0 +1,60 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.*;
+
+public abstract class NodeCommonOverlay extends DiagramObjectOverlay implements NodeCommon {
+
+    NodeCommonOverlay(JsObject data) {
+        super(data);
+    }
+
+    @Override
+    public NodeProperties getProp() {
+        return data.<JsBound>getObject("prop");
+    }
+
+    @Override
+    public NodeProperties getInnerProp() {
+        return data.<JsBound>getObject("innerProp");
+    }
+
+    @Override
+    public Identifier getIdentifier() {
+        return data.<JsIdentifier>getObject("identifier");
+    }
+
+    @Override
+    public Coordinate getTextPosition() {
+        return data.<JsCoordinate>getObject("textPosition");
+    }
+
+    @Override
+    public Bound getInsets() {
+        return data.<JsBound>getObject("insets");
+    }
+
+    @Override
+    public Color getBgColor() {
+        return data.<JsColor>getObject("bgColor");
+    }
+
+    @Override
+    public Color getFgColor() {
+        return data.<JsColor>getObject("fgColor");
+    }
+
+    @Override
+    public Boolean getIsCrossed() {
+        return data.getBoolean("isCrossed");
+    }
+
+    @Override
+    public Boolean getNeedDashedBorder() {
+        return data.getBoolean("needDashedBorder");
+    }
+
+    @Override
+    public ContextMenuTrigger contextMenuTrigger() {
+        return new ContextMenuTrigger(this);
+    }
+}
@@ -0,0 +1,79 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import com.google.gwt.core.client.JsArray;
+import org.reactome.web.diagram.data.interactors.common.InteractorsSummary;
+import org.reactome.web.diagram.data.layout.Connector;
+import org.reactome.web.diagram.data.layout.Node;
+import org.reactome.web.diagram.data.layout.NodeAttachment;
+import org.reactome.web.diagram.data.layout.SummaryItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NodeOverlay extends NodeCommonOverlay implements Node {
+
+    private List<NodeAttachment> nodeAttachments;
+    private List<Connector> connectors;
+    private SummaryItem interactorsSummary;
+    private InteractorsSummary diagramEntityInteractorsSummary;
+    private List<SummaryItem> otherDecoratorsList;
+
+    NodeOverlay(JsObject data) {
+        super(data);
+        JsArray<JsObject> attachments = data.getArray("nodeAttachments");
+        if (attachments != null) {
+            nodeAttachments = new ArrayList<>(attachments.length());
+            for (int i = 0; i < attachments.length(); i++) {
+                nodeAttachments.add(new NodeAttachmentOverlay(attachments.get(i)));
+            }
+        }
+        JsObject summary = data.getObject("interactorsSummary");
+        if (summary != null) interactorsSummary = new SummaryItemOverlay(summary);
+        connectors = JsList.get(data.getArray("connectors"));
+    }
+
+    @Override
+    public List<NodeAttachment> getNodeAttachments() {
+        return nodeAttachments;
+    }
+
+    @Override
+    public List<Connector> getConnectors() {
+        return connectors;
+    }
+
+    @Override
+    public Boolean getTrivial() {
+        return data.getBoolean("trivial");
+    }
+
+    @Override
+    public SummaryItem getInteractorsSummary() {
+        return interactorsSummary;
+    }
+
+    @Override
+    public void setInteractorsSummary(SummaryItem interactorsSummary) {
+        this.interactorsSummary = interactorsSummary;
+    }
+
+    @Override
+    public InteractorsSummary getDiagramEntityInteractorsSummary() {
+        return diagramEntityInteractorsSummary;
+    }
+
+    @Override
+    public void setDiagramEntityInteractorsSummary(InteractorsSummary interactorsSummary) {
+        this.diagramEntityInteractorsSummary = interactorsSummary;
+    }
+
+    @Override
+    public List<SummaryItem> getOtherDecoratorsList() {
+        return otherDecoratorsList;
+    }
+
+    @Override
+    public void setOtherDecoratorsList(List<SummaryItem> otherDecoratorsList) {
+        this.otherDecoratorsList = otherDecoratorsList;
+    }
+}
@@ -0,0 +1,10 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Note;
+
+public class NoteOverlay extends NodeCommonOverlay implements Note {
+
+    NoteOverlay(JsObject data) {
+        super(data);
+    }
+}
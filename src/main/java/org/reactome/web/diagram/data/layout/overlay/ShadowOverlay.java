@@ -0,0 +1,29 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.NodeProperties;
+import org.reactome.web.diagram.data.layout.Shadow;
+
+import java.util.List;
+
+public class ShadowOverlay extends DiagramObjectOverlay implements Shadow {
+
+    ShadowOverlay(JsObject data) {
+        super(data);
+    }
+
+    @Override
+    public NodeProperties getProp() {
+        return data.<JsBound>getObject("prop");
+    }
+
+    @Override
+    public List<Coordinate> getPoints() {
+        return JsList.get(data.getArray("points"));
+    }
+
+    @Override
+    public String getColour() {
+        return data.getString("colour");
+    }
+}
@@ -0,0 +1,76 @@
+package org.reactome.web.diagram.data.layout.overlay;
+
+import org.reactome.web.diagram.data.layout.Shape;
+import org.reactome.web.diagram.data.layout.SummaryItem;
+
+/**
+ * Kept as a Java object because it is distinguished from NodeAttachment via "instanceof".
+ * The mutable properties are initialised with the values in the JSON (if any).
+ */
+public class SummaryItemOverlay implements SummaryItem {
+
+    private final JsObject data;
+
+    private Boolean pressed;
+    private Integer number;
+    private Boolean hit;
+    private String label;
+
+    SummaryItemOverlay(JsObject data) {
+        this.data = data;
+        this.pressed = data.getBoolean("pressed");
+        this.number = data.getInteger("number");
+        this.hit = data.getBoolean("hit");
+        this.label = data.getString("label");
+    }
+
+    @Override
+    public String getType() {
+        return data.getString("type");
+    }
+
+    @Override
+    public Shape getShape() {
+        return data.<JsShape>getObject("shape");
+    }
+
+    @Override
+    public Boolean getPressed() {
+        return pressed;
+    }
+
+    @Override
+    public void setPressed(Boolean pressed) {
+        this.pressed = pressed;
+    }
+
+    @Override
+    public Integer getNumber() {
+        return number;
+    }
+
+    @Override
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    @Override
+    public void setHit(Boolean hit) {
+        this.hit = hit;
+    }
+
+    @Override
+    public Boolean getHit() {
+        return hit;
+    }
+
+    @Override
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,165 @@
+package org.reactome.web.diagram.data.loader;
+
+import com.google.gwt.http.client.*;
+import org.reactome.web.diagram.data.layout.factory.DiagramObjectException;
+import org.reactome.web.diagram.util.storage.StorageSolutionFactory;
+import org.reactome.web.diagram.util.storage.solutions.ContentStorage;
+import org.reactome.web.diagram.util.storage.solutions.StoredContent;
+import org.reactome.web.pwp.model.client.util.ResponseUtils;
+
+import java.util.Objects;
+
+/**
+ * Retrieves the content of a (stable) URL taking advantage of the persistent content storage:
+ * 1st: If the content is stored and the URL is versioned (LoaderManager.version), it is used straight away
+ * 2nd: If the content is stored, a conditional request (If-None-Match / If-Modified-Since) revalidates it
+ * 3rd: Otherwise, the content is downloaded and stored for next time
+ * <p>
+ * Stored content that cannot be parsed by the handler is removed and downloaded again. When the version
+ * changes, the content stored for other versions is removed.
+ */
+class CachedRequest implements ContentStorage.Handler, RequestCallback {
+
+    interface Handler {
+        /**
+         * @throws DiagramObjectException when the content cannot be parsed (so it is not kept in the storage)
+         */
+        void onContentReceived(String content) throws DiagramObjectException;
+
+        void onContentError(Throwable exception);
+    }
+
+    private static final int SC_NOT_MODIFIED = 304;
+
+    private static ContentStorage storage;
+    private static String storageVersion;
+
+    private final String url;
+    private final Handler handler;
+
+    private StoredContent stored;
+    private Request request;
+    private boolean pending = true;
+
+    private CachedRequest(String url, Handler handler) {
+        this.url = url;
+        this.handler = handler;
+    }
+
+    static CachedRequest get(String url, Handler handler) {
+        boolean created = storage == null;
+        if (created) storage = StorageSolutionFactory.getContentStorage();
+        if (created || !Objects.equals(storageVersion, LoaderManager.version)) {
+            //The content stored for previous versions will not be requested again
+            storageVersion = LoaderManager.version;
+            storage.deleteOtherVersions(storageVersion);
+        }
+        CachedRequest cachedRequest = new CachedRequest(url, handler);
+        storage.read(url, cachedRequest);
+        return cachedRequest;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void cancel() {
+        pending = false;
+        if (request != null && request.isPending()) {
+            request.cancel();
+        }
+    }
+
+    @Override
+    public void onContentRead(StoredContent content) {
+        if (!pending) return;
+        if (LoaderManager.version != null) {
+            //Versioned URLs point to content that does not change
+            pending = false;
+            if (deliver(content.getContent()) != null) {
+                pending = true;
+                send();
+            }
+        } else {
+            stored = content;
+            send();
+        }
+    }
+
+    @Override
+    public void onContentMissing() {
+        if (!pending) return;
+        send();
+    }
+
+    private void send() {
+        RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.GET, url);
+        if (stored != null) {
+            if (stored.getETag() != null) requestBuilder.setHeader("If-None-Match", stored.getETag());
+            if (stored.getLastModified() != null) requestBuilder.setHeader("If-Modified-Since", stored.getLastModified());
+        }
+        try {
+            request = requestBuilder.sendRequest(null, this);
+        } catch (RequestException e) {
+            onError(null, e);
+        }
+    }
+
+    @Override
+    public void onResponseReceived(Request request, Response response) {
+        if (!pending) return;
+        pending = false;
+        switch (response.getStatusCode()) {
+            case Response.SC_OK:
+                StoredContent content = new StoredContent(response.getText(), response.getHeader("ETag"), response.getHeader("Last-Modified"));
+                DiagramObjectException error = deliver(content.getContent());
+                if (error != null) {
+                    handler.onContentError(error);
+                } else if (content.hasValidators() || LoaderManager.version != null) {
+                    //Content without validators can only be reused when the URL is versioned
+                    storage.write(url, content);
+                }
+                break;
+            case SC_NOT_MODIFIED:
+                if (stored != null) {
+                    if (deliver(stored.getContent()) != null) {
+                        //The stored content is not valid, so it is downloaded again (without validators)
+                        pending = true;
+                        send();
+                    }
+                    break;
+                }
+                //A 304 without stored content cannot be answered, so it falls through to be reported as an error
+            default:
+                handler.onContentError(new Exception(ResponseUtils.getStatusText(response.getStatusCode())));
+        }
+    }
+
+    @Override
+    public void onError(Request request, Throwable exception) {
+        if (!pending) return;
+        pending = false;
+        if (stored != null) {
+            //The server cannot be reached but there is a (maybe outdated) version of the content
+            if (deliver(stored.getContent()) != null) {
+                handler.onContentError(exception);
+            }
+        } else {
+            handler.onContentError(exception);
+        }
+    }
+
+    /**
+     * @return the error when the handler could not parse the content (it is then removed from the storage)
+     */
+    private DiagramObjectException deliver(String content) {
+        try {
+            handler.onContentReceived(content);
+            return null;
+        } catch (DiagramObjectException e) {
+            storage.delete(url);
+            stored = null;
+            return e;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.reactome.web.diagram.data.loader;
+
+import com.google.gwt.event.shared.EventBus;
+import com.google.gwt.user.client.Timer;
+import org.reactome.web.diagram.client.DiagramFactory;
+import org.reactome.web.diagram.data.ContentFactory;
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.graph.model.GraphObject;
+import org.reactome.web.diagram.data.graph.model.GraphPathway;
+import org.reactome.web.diagram.data.graph.raw.Graph;
+import org.reactome.web.diagram.data.layout.Diagram;
+import org.reactome.web.diagram.events.GraphObjectHoveredEvent;
+import org.reactome.web.diagram.handlers.GraphObjectHoveredHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Loads in idle time the diagrams of the pathways linked from the one being displayed (encapsulated pathways)
+ * and keeps them in the ContextCache, so they are shown straight away when the user opens them. Subpathways
+ * are regions of the displayed diagram, so there is nothing to prefetch for them.
+ * <p>
+ * The candidates are ranked by their analysis hit percentage and the hovered ones are moved to the front.
+ * The diagrams are loaded one at a time, up to PREFETCH_DIAGRAMS per displayed content and only while the
+ * cache is below half of its budget, so the prefetched contexts never evict the visited ones. Everything is
+ * cancelled as soon as the user navigates to a different content.
+ */
+class ContentPrefetcher implements LayoutLoader.Handler, GraphLoader.Handler, GraphObjectHoveredHandler {
+
+    //Time (ms) without new requests before the next diagram is prefetched
+    private static final int IDLE_DELAY = 1500;
+
+    private final ContextCache contextCache;
+    private final LayoutLoader layoutLoader;
+    private final GraphLoader graphLoader;
+
+    private final LinkedList<String> candidates = new LinkedList<>();
+    private int remaining = 0;
+
+    //The layout and the graph of the diagram being prefetched (null when idle)
+    private String current;
+    private Context context;
+    private Graph graph;
+
+    private final Timer timer = new Timer() {
+        @Override
+        public void run() {
+            prefetchNext();
+        }
+    };
+
+    ContentPrefetcher(EventBus eventBus, ContextCache contextCache) {
+        this.contextCache = contextCache;
+        this.layoutLoader = new LayoutLoader(this);
+        this.graphLoader = new GraphLoader(this);
+        eventBus.addHandler(GraphObjectHoveredEvent.TYPE, this);
+    }
+
+    /**
+     * Queues the linked pathways of the displayed content (the previous candidates are discarded)
+     */
+    void contentLoaded(Content content) {
+        cancel();
+        if (DiagramFactory.PREFETCH_DIAGRAMS <= 0) return;
+
+        List<GraphPathway> pathways = new ArrayList<>(content.getEncapsulatedPathways());
+        pathways.sort((p1, p2) -> Double.compare(getPercentage(p2), getPercentage(p1)));
+        for (GraphPathway pathway : pathways) {
+            String identifier = pathway.getStId();
+            if (identifier != null && !identifier.equals(content.getStableId()) && !candidates.contains(identifier)) {
+                candidates.add(identifier);
+            }
+        }
+        remaining = DiagramFactory.PREFETCH_DIAGRAMS;
+        if (!candidates.isEmpty()) timer.schedule(IDLE_DELAY);
+    }
+
+    void cancel() {
+        timer.cancel();
+        candidates.clear();
+        layoutLoader.cancel();
+        graphLoader.cancel();
+        current = null;
+        context = null;
+        graph = null;
+    }
+
+    @Override
+    public void onGraphObjectHovered(GraphObjectHoveredEvent event) {
+        GraphObject graphObject = event.getGraphObject();
+        if (graphObject instanceof GraphPathway && candidates.remove(graphObject.getStId())) {
+            candidates.addFirst(graphObject.getStId());
+        }
+    }
+
+    private void prefetchNext() {
+        if (current != null) return;
+        while (remaining > 0 && !candidates.isEmpty()) {
+            String identifier = candidates.removeFirst();
+            //The ones with SVG are displayed as EHLD, so their layout is not needed
+            if (contextCache.contains(identifier) || SVGLoader.isSVGAvailable(identifier)) continue;
+            if (contextCache.getEstimatedSize() >= contextCache.getBudget() / 2) break;
+            remaining--;
+            current = identifier;
+            layoutLoader.load(identifier);
+            graphLoader.load(identifier);
+            return;
+        }
+        candidates.clear();
+    }
+
+    @Override
+    public void layoutLoaded(Diagram diagram, long time) {
+        if (current == null) return;
+        context = new Context(ContentFactory.getContent(diagram));
+        join();
+    }
+
+    @Override
+    public void graphLoaded(Graph graph, long time) {
+        if (current == null) return;
+        this.graph = graph;
+        join();
+    }
+
+    private void join() {
+        if (context == null || graph == null) return;
+        ContentFactory.fillGraphContent(context.getContent(), graph);
+        contextCache.prefetched(context.getContent().getStableId(), context);
+        next();
+    }
+
+    @Override
+    public void onLayoutLoaderError(Throwable exception) {
+        //Prefetching is best effort, the error will be reported if the user opens the diagram
+        graphLoader.cancel();
+        next();
+    }
+
+    @Override
+    public void onGraphLoaderError(Throwable exception) {
+        layoutLoader.cancel();
+        next();
+    }
+
+    private void next() {
+        current = null;
+        context = null;
+        graph = null;
+        if (!candidates.isEmpty()) timer.schedule(IDLE_DELAY);
+    }
+
+    private static double getPercentage(GraphPathway pathway) {
+        Double percentage = pathway.getPercentage();
+        return pathway.isHit() && percentage != null ? percentage : 0;
+    }
+}
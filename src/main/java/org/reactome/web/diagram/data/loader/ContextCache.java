@@ -0,0 +1,158 @@
+package org.reactome.web.diagram.data.loader;
+
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.content.Content;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used cache of the loaded contexts bounded by the memory they retain instead of by the
+ * number of entries, so one big pathway takes the room of many small ones. The retained memory is an
+ * estimation based on the number of objects of the content (layout and graph) and the interactors.
+ * <p>
+ * The contexts keep growing after being cached (graph, interactors, analysis...) so the size of every
+ * entry is estimated again each time the cache is checked. The most recently used context is never
+ * evicted, even when it exceeds the budget on its own.
+ */
+public class ContextCache {
+
+    //Rough estimation of the memory (bytes) retained per object
+    private static final long DIAGRAM_OBJECT_SIZE = 1024;
+    private static final long GRAPH_OBJECT_SIZE = 512;
+    private static final long INTERACTOR_SIZE = 256;
+    private static final long SVG_CONTENT_SIZE = 1024 * 1024;
+
+    private final Map<String, Context> contexts = new LinkedHashMap<>(16, 0.75f, true);
+    private long budget;
+
+    private int hits = 0;
+    private int misses = 0;
+    private int evictions = 0;
+    private int prefetches = 0;
+
+    /**
+     * @param budget the approximate memory (bytes) that the cached contexts can retain
+     */
+    public ContextCache(long budget) {
+        this.budget = budget;
+    }
+
+    public Context get(String identifier) {
+        Context context = contexts.get(identifier);
+        if (context == null) {
+            misses++;
+        } else {
+            hits++;
+            evict();
+        }
+        return context;
+    }
+
+    /**
+     * @return true if the context is cached (without affecting the statistics nor the eviction order)
+     */
+    public boolean contains(String identifier) {
+        return contexts.containsKey(identifier);
+    }
+
+    public void put(String identifier, Context context) {
+        contexts.put(identifier, context);
+        evict();
+    }
+
+    /**
+     * Adds a context that has not been requested by the user (see ContentPrefetcher). It is kept as the least
+     * recently used one so it is the first to be evicted, and it is only added when it fits in the budget
+     * left by the cached ones (so it never evicts the visited ones)
+     */
+    public void prefetched(String identifier, Context context) {
+        if (contexts.containsKey(identifier)) return;
+        if (getEstimatedSize() + estimateSize(context) > budget) return;
+        Map<String, Context> visited = new LinkedHashMap<>(contexts);
+        contexts.clear();
+        contexts.put(identifier, context);
+        contexts.putAll(visited);
+        prefetches++;
+    }
+
+    /**
+     * Removes the least recently used contexts until the estimated size of the cache fits in the budget
+     */
+    public void evict() {
+        List<String> identifiers = new ArrayList<>(contexts.keySet());
+        long size = 0;
+        long[] sizes = new long[identifiers.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = estimateSize(contexts.get(identifiers.get(i)));
+            size += sizes[i];
+        }
+        //The last one is the most recently used (access order)
+        for (int i = 0; i < sizes.length - 1 && size > budget; i++) {
+            contexts.remove(identifiers.get(i));
+            size -= sizes[i];
+            evictions++;
+        }
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public void setBudget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    public long getEstimatedSize() {
+        long size = 0;
+        for (Context context : contexts.values()) {
+            size += estimateSize(context);
+        }
+        return size;
+    }
+
+    public int size() {
+        return contexts.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public int getPrefetches() {
+        return prefetches;
+    }
+
+    public static long estimateSize(Context context) {
+        Content content = context.getContent();
+        long size = content.getType() == Content.Type.SVG ? SVG_CONTENT_SIZE : 0;
+        size += content.getDiagramObjects().size() * DIAGRAM_OBJECT_SIZE;
+        size += content.getDatabaseObjects().size() * GRAPH_OBJECT_SIZE;
+        size += context.getInteractors().getCachedItemsCount() * INTERACTOR_SIZE;
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextCache{" +
+                "size=" + contexts.size() +
+                ", estimatedSize=" + getEstimatedSize() +
+                ", budget=" + budget +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", prefetches=" + prefetches +
+                '}';
+    }
+}
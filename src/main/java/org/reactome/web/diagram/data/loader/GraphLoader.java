@@ -1,16 +1,14 @@
 package org.reactome.web.diagram.data.loader;
 
-import com.google.gwt.http.client.*;
 import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.data.graph.raw.Graph;
 import org.reactome.web.diagram.data.graph.raw.factory.GraphFactory;
 import org.reactome.web.diagram.data.layout.factory.DiagramObjectException;
-import org.reactome.web.pwp.model.client.util.ResponseUtils;
 
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
-public class GraphLoader implements RequestCallback {
+public class GraphLoader implements CachedRequest.Handler {
 
     public interface Handler {
         void graphLoaded(Graph graph, long time);
@@ -18,10 +16,10 @@ public class GraphLoader implements RequestCallback {
     }
 
     public static String PREFIX = DiagramFactory.SERVER + "/download/current/diagram/";
-    public static String SUFFIX = ".graph.json?v=" + LoaderManager.version;
+    public static String SUFFIX = ".graph.json";
 
     private Handler handler;
-    private Request request;
+    private CachedRequest request;
 
     GraphLoader(Handler handler) {
         this.handler = handler;
@@ -34,37 +32,20 @@ public class GraphLoader implements RequestCallback {
     }
 
     public void load(String stId){
-        String url = PREFIX + stId + SUFFIX;
-        RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.GET, url);
-        try {
-            this.request = requestBuilder.sendRequest(null, this);
-        } catch (RequestException e) {
-            this.handler.onGraphLoaderError(e);
-        }
+        String url = LoaderManager.getVersionedUrl(PREFIX + stId + SUFFIX);
+        this.request = CachedRequest.get(url, this);
     }
 
     @Override
-    public void onResponseReceived(Request request, Response response) {
-        switch (response.getStatusCode()){
-            case Response.SC_OK:
-                long start = System.currentTimeMillis();
-                Graph graph;
-                try {
-                    //Creates the graph
-                    graph = GraphFactory.getGraphObject(Graph.class, response.getText());
-                } catch (DiagramObjectException e) {
-                    this.handler.onGraphLoaderError(e);
-                    return;
-                }
-                this.handler.graphLoaded(graph, System.currentTimeMillis() - start);
-                break;
-            default:
-                this.handler.onGraphLoaderError(new Exception(ResponseUtils.getStatusText(response.getStatusCode())));
-        }
+    public void onContentReceived(String content) throws DiagramObjectException {
+        long start = System.currentTimeMillis();
+        //Creates the graph (the parsing errors are reported back via onContentError)
+        Graph graph = GraphFactory.getGraphObject(Graph.class, content);
+        this.handler.graphLoaded(graph, System.currentTimeMillis() - start);
     }
 
     @Override
-    public void onError(Request request, Throwable exception) {
+    public void onContentError(Throwable exception) {
         this.handler.onGraphLoaderError(exception);
     }
 }
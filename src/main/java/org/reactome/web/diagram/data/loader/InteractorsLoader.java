@@ -37,17 +37,29 @@ public class InteractorsLoader implements RequestCallback {
     Request request;
 
     OverlayResource resource;
+    private Content content;
 
     public InteractorsLoader(Handler handler) {
         this.handler = handler;
     }
 
     public void cancel() {
+        content = null;
         if (request != null && request.isPending()) {
             request.cancel();
         }
     }
 
+    /**
+     * @return true if the interactors of the given resource are being retrieved for the given content
+     */
+    public boolean isLoading(Content content, OverlayResource resource) {
+        return request != null && request.isPending()
+                && this.content == content
+                && resource != null && this.resource != null
+                && resource.getIdentifier().equals(this.resource.getIdentifier());
+    }
+
     public void load(Content content, OverlayResource resource) {
         // Any previous request has to be canceled
         cancel();
@@ -57,6 +69,8 @@ public class InteractorsLoader implements RequestCallback {
             return;
         }
         this.resource = resource;
+        this.content = content;
+        this.request = null;
 
         String post = getPostData(content.getDiagramObjects());
         if (post != null) {
@@ -76,7 +90,7 @@ public class InteractorsLoader implements RequestCallback {
                     url = PREFIX_INTERACTOR + "psicquic/molecules/" + resource.getIdentifier() + "/details";
                     break;
             }
-            url += "?v=" + LoaderManager.version;
+            url = LoaderManager.getVersionedUrl(url);
 
             RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.POST, url);
             try {
@@ -1,16 +1,14 @@
 package org.reactome.web.diagram.data.loader;
 
-import com.google.gwt.http.client.*;
 import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.data.layout.Diagram;
 import org.reactome.web.diagram.data.layout.factory.DiagramObjectException;
 import org.reactome.web.diagram.data.layout.factory.DiagramObjectsFactory;
-import org.reactome.web.pwp.model.client.util.ResponseUtils;
 
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
-public class LayoutLoader implements RequestCallback {
+public class LayoutLoader implements CachedRequest.Handler {
 
     public interface Handler {
         void layoutLoaded(Diagram diagram, long time);
@@ -18,11 +16,11 @@ public class LayoutLoader implements RequestCallback {
     }
 
     public static String PREFIX = DiagramFactory.SERVER + "/download/current/diagram/";
-    public static String SUFFIX = ".json?v=" + LoaderManager.version;
+    public static String SUFFIX = ".json";
 
 
     protected Handler handler;
-    protected Request request;
+    protected CachedRequest request;
 
     protected LayoutLoader(Handler handler) {
         this.handler = handler;
@@ -35,34 +33,21 @@ public class LayoutLoader implements RequestCallback {
     }
 
     void load(String stId){
-        String url = PREFIX + stId + SUFFIX;
-        RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.GET, url);
-        try {
-            this.request = requestBuilder.sendRequest(null, this);
-        } catch (RequestException e) {
-            this.handler.onLayoutLoaderError(e);
-        }
+        String url = LoaderManager.getVersionedUrl(PREFIX + stId + SUFFIX);
+        this.request = CachedRequest.get(url, this);
     }
 
     @Override
-    public void onResponseReceived(Request request, Response response) {
-        if (response.getStatusCode() == Response.SC_OK) {
-            try {
-                long start = System.currentTimeMillis();
-                //Creates the rawmodel
-                Diagram diagram = DiagramObjectsFactory.getModelObject(Diagram.class, response.getText());
-                long time = System.currentTimeMillis() - start;
-                this.handler.layoutLoaded(diagram, time);
-            } catch (DiagramObjectException e) {
-                this.handler.onLayoutLoaderError(e);
-            }
-        } else {
-            this.handler.onLayoutLoaderError(new Exception(ResponseUtils.getStatusText(response.getStatusCode())));
-        }
+    public void onContentReceived(String content) throws DiagramObjectException {
+        long start = System.currentTimeMillis();
+        //Creates the rawmodel (the parsing errors are reported back via onContentError)
+        Diagram diagram = DiagramObjectsFactory.getDiagram(content);
+        long time = System.currentTimeMillis() - start;
+        this.handler.layoutLoaded(diagram, time);
     }
 
     @Override
-    public void onError(Request request, Throwable exception) {
+    public void onContentError(Throwable exception) {
         this.handler.onLayoutLoaderError(exception);
     }
 }
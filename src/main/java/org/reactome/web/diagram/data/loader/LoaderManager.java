@@ -1,5 +1,6 @@
 package org.reactome.web.diagram.data.loader;
 
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.event.shared.EventBus;
 import org.reactome.web.diagram.client.DiagramFactory;
@@ -11,12 +12,12 @@ import org.reactome.web.diagram.data.interactors.common.OverlayResource;
 import org.reactome.web.diagram.data.interactors.raw.RawInteractors;
 import org.reactome.web.diagram.data.interactors.raw.factory.InteractorsException;
 import org.reactome.web.diagram.data.layout.Diagram;
+import org.reactome.web.diagram.data.layout.factory.DiagramObjectsFactory;
 import org.reactome.web.diagram.events.*;
 import org.reactome.web.diagram.handlers.ContentLoadedHandler;
 import org.reactome.web.diagram.handlers.ContentRequestedHandler;
 import org.reactome.web.diagram.handlers.InteractorsRequestCanceledHandler;
 import org.reactome.web.diagram.handlers.InteractorsResourceChangedHandler;
-import org.reactome.web.pwp.model.client.util.LruCache;
 import org.vectomatic.dom.svg.OMSVGSVGElement;
 
 import static org.reactome.web.diagram.data.content.Content.Type.DIAGRAM;
@@ -24,38 +25,46 @@ import static org.reactome.web.diagram.data.content.Content.Type.DIAGRAM;
 /**
  * Implements a combination of two series of steps.
  * A: Load SVG for the diagram and use it
- * B: If there is not SVG then it follows a three step loading strategy
- *      1st step: Loads Diagram
- *      2nd step: Loads Graph
- *      3rd step: Loads Interactors (if INTERACTORS_RESOURCE is not null)
+ * B: If there is not SVG then it loads the Diagram (layout)
+ *
+ * In both cases the Graph is requested at the same time and it is joined with the content as soon as both
+ * of them have arrived. Right after that, the Interactors are requested (if INTERACTORS_RESOURCE is not null)
+ * since they need the graph content to build the query.
  *
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, GraphLoader.Handler, InteractorsLoader.Handler,
         InteractorsResourceChangedHandler, InteractorsRequestCanceledHandler, ContentRequestedHandler, ContentLoadedHandler {
 
-    //Every time the diagram widget is loaded will retrieve new data from the sever
-    public static String version = String.valueOf(System.currentTimeMillis()); //UNIQUE per session
+    //Content version (e.g. the database release) appended to the downloads. When it is null, the stored
+    //content is revalidated against the server (ETag / Last-Modified) instead of being downloaded again
+    public static String version = null;
 
     //It has a value by default but it can be set to a different one so in every load
     //the "user preferred" interactors resource will be selected
     public static OverlayResource INTERACTORS_RESOURCE = new OverlayResource(DiagramFactory.INTERACTORS_INITIAL_RESOURCE, DiagramFactory.INTERACTORS_INITIAL_RESOURCE_NAME, OverlayResource.ResourceType.STATIC);
 
-    protected LruCache<String, Context> contextMap = new LruCache<>(5);
+    protected ContextCache contextCache = new ContextCache(DiagramFactory.CONTEXT_CACHE_BUDGET * 1024L * 1024L);
     private final EventBus eventBus;
 
     protected SVGLoader svgLoader;
     public LayoutLoader layoutLoader;
     private final GraphLoader graphLoader;
     private final InteractorsLoader interactorsLoader;
+    private final ContentPrefetcher prefetcher;
     protected Context context;
 
+    //The graph might arrive before the layout (or SVG). In that case it is kept here until the join
+    private Graph graph;
+    private long graphTime;
+
     public LoaderManager(EventBus eventBus) {
         this.eventBus = eventBus;
         svgLoader = new SVGLoader(this);
         layoutLoader = new LayoutLoader(this);
         graphLoader = new GraphLoader(this);
         interactorsLoader = new InteractorsLoader(this);
+        prefetcher = new ContentPrefetcher(eventBus, contextCache);
 
         //For the time being we only want to do something on demand for interactors
         eventBus.addHandler(InteractorsResourceChangedEvent.TYPE, this);
@@ -64,12 +73,26 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
         eventBus.addHandler(ContentRequestedEvent.TYPE, this);
     }
 
+    /**
+     * @return the cache of the loaded contexts (e.g. to check its statistics or to change its budget)
+     */
+    public ContextCache getContextCache() {
+        return contextCache;
+    }
+
+    static String getVersionedUrl(String url) {
+        if (version == null) return url;
+        return url + (url.contains("?") ? "&" : "?") + "v=" + version;
+    }
+
     public void cancel() {
         svgLoader.cancel();
         layoutLoader.cancel();
         graphLoader.cancel();
         interactorsLoader.cancel();
+        prefetcher.cancel();
         context = null;
+        graph = null;
     }
 
     public void load(String identifier) {
@@ -79,7 +102,7 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
 
     private void loadOnRequest(String identifier) {
         cancel(); //First cancel possible loading process
-        context = this.contextMap.get(identifier);
+        context = this.contextCache.get(identifier);
         if (context != null) {
             eventBus.fireEventFromSource(new ContentLoadedEvent(context), this);
         } else {
@@ -88,6 +111,8 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
             } else {
                 layoutLoader.load(identifier);
             }
+            //The graph is needed in both cases so there is no need to wait for the content to request it
+            graphLoader.load(identifier);
         }
     }
 
@@ -102,9 +127,9 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
     public void onSvgLoaded(String stId, boolean isInDisease, OMSVGSVGElement svg, long time) {
         Context context = new Context(ContentFactory.getContent(stId, isInDisease, svg));
         //caching the context
-        contextMap.put(context.getContent().getStableId(), context);
+        contextCache.put(context.getContent().getStableId(), context);
         this.context = context;
-        graphLoader.load(stId);
+        joinGraph();
     }
 
     @Override
@@ -118,11 +143,16 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
         long start = System.currentTimeMillis();
         Context context = new Context(ContentFactory.getContent(diagram));
         //caching the context
-        contextMap.put(context.getContent().getStableId(), context);
+        contextCache.put(context.getContent().getStableId(), context);
         this.context = context;
-        graphLoader.load(diagram.getStableId());
         time += System.currentTimeMillis() - start;
-        eventBus.fireEventFromSource(new LayoutLoadedEvent(context, time), this);
+        eventBus.fireEventFromSource(new LayoutLoadedEvent(context, time, DiagramObjectsFactory.getDiagramDecoder()), this);
+        if (DiagramFactory.PROGRESSIVE_RENDERING) {
+            //The layout gets painted in the next frame, before (the potentially long) joining of the graph
+            AnimationScheduler.get().requestAnimationFrame(timestamp -> Scheduler.get().scheduleDeferred(this::joinGraph));
+        } else {
+            joinGraph();
+        }
     }
 
     @Override
@@ -135,10 +165,30 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
 
     @Override
     public void graphLoaded(Graph graph, long time) {
+        this.graph = graph;
+        this.graphTime = time;
+        joinGraph();
+    }
+
+    /**
+     * Fills the content with the graph once both of them are available
+     */
+    private void joinGraph() {
+        if (context == null || graph == null) return;
+        Graph graph = this.graph;
+        this.graph = null;
+
         long start = System.currentTimeMillis();
         ContentFactory.fillGraphContent(context.getContent(), graph);
-        time += System.currentTimeMillis() - start;
+        contextCache.evict(); //The context has grown
+        long time = graphTime + System.currentTimeMillis() - start;
         eventBus.fireEventFromSource(new GraphLoadedEvent(context.getContent(), time), this);
+
+        //The interactors query is based on the graph content, so this is the earliest they can be requested
+        if (INTERACTORS_RESOURCE != null && context.getContent() instanceof DiagramContent) {
+            interactorsLoader.load(context.getContent(), INTERACTORS_RESOURCE);
+        }
+
         //Once the graph is loaded the ContentLoadedEvent can be fired
         eventBus.fireEventFromSource(new ContentLoadedEvent(context), this);
     }
@@ -154,6 +204,7 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
     public void interactorsLoaded(RawInteractors interactors, long time) {
         long start = System.currentTimeMillis();
         ContentFactory.fillInteractorsContent(context, interactors);
+        contextCache.evict(); //The context has grown
         time += System.currentTimeMillis() - start;
         eventBus.fireEventFromSource(new InteractorsLoadedEvent(interactors, time), this);
     }
@@ -167,6 +218,8 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
     @Override
     public void onInteractorsResourceChanged(InteractorsResourceChangedEvent event) {
         INTERACTORS_RESOURCE = event.getResource();
+        //The interactors for the loaded content might have been requested already while joining the graph
+        if (interactorsLoader.isLoading(context.getContent(), INTERACTORS_RESOURCE)) return;
         interactorsLoader.cancel();
         if (INTERACTORS_RESOURCE != null && !context.getInteractors().isInteractorResourceCached(INTERACTORS_RESOURCE.getIdentifier())) {
             interactorsLoader.load(context.getContent(), INTERACTORS_RESOURCE);
@@ -180,11 +233,13 @@ public class LoaderManager implements SVGLoader.Handler, LayoutLoader.Handler, G
 
     @Override
     public void onContentLoaded(ContentLoadedEvent event) {
+        //The diagrams that might be opened from this one are loaded while the user explores it
+        prefetcher.contentLoaded(event.getContext().getContent());
         if (event.getContext().getContent().getType() == DIAGRAM) {
             context = event.getContext();
             if (INTERACTORS_RESOURCE != null) {   //Checking here so no error message is displayed in this case
                 //This fakes a resource changed so the control will show the loading message
-                //The behaviour of the three steps loading continues as expected
+                //If the interactors are already being retrieved (see joinGraph) the request is kept
                 Scheduler.get().scheduleDeferred(new Scheduler.ScheduledCommand() {
                     //We use the schedule deferred here because all the diagram loaded subscribers should be called BEFORE
                     //the InteractorsResourceChangedEvent is fired (to avoid messing the order of the events)
@@ -32,7 +32,6 @@ public class SVGLoader implements RequestCallback {
     }
 
     private static String PREFIX = DiagramFactory.SERVER + "/download/current/ehld/";
-    private static String SUFFIX = "?v=" + LoaderManager.version;
     private static boolean BROWSER_SUPPORTED = true;
 
     static {
@@ -66,7 +65,7 @@ public class SVGLoader implements RequestCallback {
     void loadSVGFile(String stId){
         if (!stId.endsWith(".svg")) stId = stId + ".svg";
 
-        String url = PREFIX + stId + SUFFIX;
+        String url = LoaderManager.getVersionedUrl(PREFIX + stId);
         RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.GET, url);
         try {
             this.request = requestBuilder.sendRequest(null, this);
@@ -138,7 +137,7 @@ public class SVGLoader implements RequestCallback {
     private static Set<String> availableSVG = null;
 
     static {
-        String url = PREFIX + "svgsummary.txt" + SUFFIX;
+        String url = LoaderManager.getVersionedUrl(PREFIX + "svgsummary.txt");
         RequestBuilder requestBuilder = new RequestBuilder(RequestBuilder.GET, url);
         try {
             requestBuilder.sendRequest(null, new RequestCallback() {
@@ -12,10 +12,20 @@ public class LayoutLoadedEvent extends GwtEvent<LayoutLoadedHandler> {
 
     private Context context;
     private long time;
+    private String decoder;
 
     public LayoutLoadedEvent(Context context, long time) {
+        this(context, time, null);
+    }
+
+    /**
+     * @param time    time spent decoding the layout and creating the content
+     * @param decoder the layout decoder used (so the times of the different decoders can be compared)
+     */
+    public LayoutLoadedEvent(Context context, long time, String decoder) {
         this.context = context;
         this.time = time;
+        this.decoder = decoder;
     }
 
     @Override
@@ -36,10 +46,15 @@ public class LayoutLoadedEvent extends GwtEvent<LayoutLoadedHandler> {
         return time;
     }
 
+    public String getDecoder() {
+        return decoder;
+    }
+
     @Override
     public String toString() {
         return "LayoutLoadedEvent{" +
                 "time=" + time +
+                ", decoder=" + decoder +
                 ", content=" + context +
                 '}';
     }
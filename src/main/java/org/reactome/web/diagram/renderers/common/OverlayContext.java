@@ -1,15 +1,29 @@
 package org.reactome.web.diagram.renderers.common;
 
+import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
 /**
+ * The buffer is used to compose the analysis overlay of an item before copying it to the overlay (or any
+ * other context). Instead of copying the whole buffer for every item, the composition is limited to the
+ * item region (see openRegion and composeRegion): the buffer is clipped to the region, so the composite
+ * operations do not touch the rest of the canvas, and only that region is copied back.
+ *
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class OverlayContext {
 
+    //Extra pixels around the region to include the strokes of the shape borders
+    private static final int REGION_PADDING = 4;
+
     private AdvancedContext2d overlay;
     private AdvancedContext2d buffer;
 
+    private int minX, minY, maxX, maxY;
+
+    //Transform of the contexts the items are drawn in (the regions are always opened in canvas pixels)
+    private double factor = 1.0, dX = 0, dY = 0;
+
     public OverlayContext(AdvancedContext2d overlay, AdvancedContext2d buffer) {
         this.overlay = overlay;
         this.buffer = buffer;
@@ -22,4 +36,65 @@ public class OverlayContext {
     public AdvancedContext2d getBuffer() {
         return buffer;
     }
+
+    /**
+     * To be set when the items are drawn in layout coordinates (the zoom and offset are applied by the canvas
+     * transform), so the regions are mapped to the canvas pixels and the buffer is drawn with the same transform
+     */
+    public void setTransform(double factor, double dX, double dY) {
+        this.factor = factor;
+        this.dX = dX;
+        this.dY = dY;
+    }
+
+    /**
+     * Clears the given region of the buffer and clips the buffer to it (regions cannot be nested)
+     *
+     * @return the buffer ready to compose the item overlay
+     */
+    public AdvancedContext2d openRegion(double x, double y, double width, double height) {
+        x = x * factor + dX;
+        y = y * factor + dY;
+        width = width * factor;
+        height = height * factor;
+        minX = Math.max(0, (int) Math.floor(x) - REGION_PADDING);
+        minY = Math.max(0, (int) Math.floor(y) - REGION_PADDING);
+        maxX = Math.min(buffer.getCanvas().getWidth(), (int) Math.ceil(x + width) + REGION_PADDING);
+        maxY = Math.min(buffer.getCanvas().getHeight(), (int) Math.ceil(y + height) + REGION_PADDING);
+
+        buffer.save();
+        buffer.setTransform(1, 0, 0, 1, 0, 0);
+        if (!isRegionEmpty()) buffer.clearRect(minX, minY, maxX - minX, maxY - minY);
+        buffer.beginPath();
+        buffer.rect(minX, minY, Math.max(0, maxX - minX), Math.max(0, maxY - minY));
+        buffer.clip();
+        buffer.setTransform(factor, 0, 0, factor, dX, dY);
+        buffer.beginPath();
+        return buffer;
+    }
+
+    /**
+     * Copies the region opened in the buffer to the overlay
+     */
+    public void composeRegion() {
+        composeRegion(overlay);
+    }
+
+    /**
+     * Copies the region opened in the buffer to the given context
+     */
+    public void composeRegion(Context2d ctx) {
+        if (!isRegionEmpty()) {
+            int width = maxX - minX, height = maxY - minY;
+            ctx.save();
+            ctx.setTransform(1, 0, 0, 1, 0, 0);
+            ctx.drawImage(buffer.getCanvas(), minX, minY, width, height, minX, minY, width, height);
+            ctx.restore();
+        }
+        buffer.restore();
+    }
+
+    private boolean isRegionEmpty() {
+        return maxX <= minX || maxY <= minY;
+    }
 }
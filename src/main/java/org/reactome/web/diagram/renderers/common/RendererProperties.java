@@ -59,6 +59,18 @@ public abstract class RendererProperties {
         DRUG_RX_BOX = ChemicalDrugAbstractRenderer.CHEMICAL_DRUG_RX_BOX * factor;
     }
 
+    /**
+     * Sets the properties in layout units, for when the zoom is applied by the canvas transform. They are the
+     * ones for factor 1 but the font size, that keeps its on-screen limit for the given factor
+     */
+    public static void setModelUnits(double factor) {
+        setFactor(factor);
+        double fontSize = WIDGET_FONT_SIZE / factor;
+        setFactor(1.0);
+        WIDGET_FONT_SIZE = fontSize;
+        FACTOR = factor;
+    }
+
     public static double getFactor() {
         return FACTOR;
     }
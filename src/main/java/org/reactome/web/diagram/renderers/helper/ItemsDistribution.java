@@ -1,13 +1,19 @@
 package org.reactome.web.diagram.renderers.helper;
 
 import org.reactome.web.analysis.client.model.AnalysisType;
+import org.reactome.web.diagram.data.AnalysisHitIndex;
+import org.reactome.web.diagram.data.content.Content;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.data.graph.model.GraphPathway;
 import org.reactome.web.diagram.data.graph.model.GraphPhysicalEntity;
 import org.reactome.web.diagram.data.layout.DiagramObject;
-import org.reactome.web.diagram.util.MapSet;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Items are distributed at two different levels. The most generic one is at the level of
@@ -17,113 +23,179 @@ import java.util.*;
  * On the other hand, every RenderableClass group will contain different item types which
  * requires changes in the canvas Context2d. By keeping them in the same set, and drawing
  * one after the other, we minimise the number of times the Context2d properties are set.
+ * <p/>
+ * The renderable class and render type of every item only depend on the content and the analysis overlay,
+ * so they are worked out for all the items of the content once (when any of them changes) and every frame
+ * only appends the visible items to their buckets. The buckets are cleared (keeping their capacity) every
+ * time the visible items are distributed, so no collections are created while panning or zooming.
  *
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class ItemsDistribution {
 
-    private Map<String, MapSet<RenderType, DiagramObject>> map;
+    private static final RenderType[] RENDER_TYPES = RenderType.values();
 
-    public ItemsDistribution(Collection<DiagramObject> items, AnalysisType analysisType) {
-        this.map = new HashMap<>();
-        for (DiagramObject item : items) {
-            add(item, analysisType);
+    /**
+     * The items of a renderable class, all of them and by render type
+     */
+    private static class Buckets {
+        private final String renderableClass;
+        private final List<DiagramObject> all = new ArrayList<>();
+        private final List<List<DiagramObject>> byType = new ArrayList<>(RENDER_TYPES.length);
+
+        Buckets(String renderableClass) {
+            this.renderableClass = renderableClass;
+            for (int i = 0; i < RENDER_TYPES.length; i++) byType.add(new ArrayList<>());
+        }
+
+        void clear() {
+            all.clear();
+            for (int i = 0; i < byType.size(); i++) byType.get(i).clear();
         }
     }
 
-    public void add(DiagramObject item, AnalysisType analysisType) {
-        if (item != null) {
-            String renderableClass = item.getRenderableClass();
-            if (item.getIsFadeOut() != null) {
-                getOrCreate(renderableClass).add(RenderType.FADE_OUT, item);
-            } else {
-                if (analysisType.equals(AnalysisType.NONE)) {
-                    if (item.getIsDisease() != null) {
-                        getOrCreate(renderableClass).add(RenderType.DISEASE, item);
-                    } else {
-                        getOrCreate(renderableClass).add(RenderType.NORMAL, item);
-                    }
-                } else {
-                    GraphObject dbObject = item.getGraphObject();
-                    boolean isHit = false;
-                    if (dbObject != null) {
-                        if (dbObject instanceof GraphPhysicalEntity) {
-                            GraphPhysicalEntity pe = (GraphPhysicalEntity) dbObject;
-                            isHit = pe.isHit();
-                            if (pe.isInteractorsHit()) {
-                                getOrCreate(renderableClass).add(RenderType.HIT_INTERACTORS, item);
-                            }
-                        }else if (dbObject instanceof GraphPathway) {
-                            isHit = ((GraphPathway) dbObject).isHit();
-                        }
-                        if (isHit) {
-                            switch (analysisType) {
-                                case OVERREPRESENTATION:
-                                case SPECIES_COMPARISON:
-                                    if(item.getIsDisease()!=null) {
-                                        getOrCreate(renderableClass).add(RenderType.HIT_BY_ENRICHMENT_DISEASE, item);
-                                    }else{
-                                        getOrCreate(renderableClass).add(RenderType.HIT_BY_ENRICHMENT_NORMAL, item);
-                                    }
-                                    break;
-                                case EXPRESSION:
-                                case GSVA:
-                                case GSA_STATISTICS:
-                                case GSA_REGULATION:
-                                    if(item.getIsDisease()!=null) {
-                                        getOrCreate(renderableClass).add(RenderType.HIT_BY_EXPRESSION_DISEASE, item);
-                                    }else{
-                                        getOrCreate(renderableClass).add(RenderType.HIT_BY_EXPRESSION_NORMAL, item);
-                                    }
-                                    break;
-                            }
-                        }else{
-                            if(item.getIsDisease()!=null) {
-                                getOrCreate(renderableClass).add(RenderType.NOT_HIT_BY_ANALYSIS_DISEASE, item);
-                            }else{
-                                getOrCreate(renderableClass).add(RenderType.NOT_HIT_BY_ANALYSIS_NORMAL, item);
-                            }
-                        }
-                    } else {
-                        if(item.getIsDisease()!=null) {
-                            getOrCreate(renderableClass).add(RenderType.NOT_HIT_BY_ANALYSIS_DISEASE, item);
-                        }else{
-                            getOrCreate(renderableClass).add(RenderType.NOT_HIT_BY_ANALYSIS_NORMAL, item);
-                        }
-                    }
-                }
-            }
+    /**
+     * Where an item goes. They are shared by all the items of the same renderable class and render type
+     */
+    private static class Classification {
+        private final Buckets buckets;
+        private final List<DiagramObject> items;
+        //The interactors hits are set when the interactors are loaded, so they are checked in every frame
+        private final boolean physicalEntity;
+
+        Classification(Buckets buckets, RenderType type, boolean physicalEntity) {
+            this.buckets = buckets;
+            this.items = type == null ? null : buckets.byType.get(type.ordinal());
+            this.physicalEntity = physicalEntity;
         }
     }
 
-    public Set<String> keySet() {
-        return map.keySet();
+    private final Map<String, Buckets> map = new HashMap<>();
+    private final List<String> renderableClasses = new ArrayList<>();
+
+    private final Map<DiagramObject, Classification> classifications = new HashMap<>();
+    private final Map<String, Classification> shared = new HashMap<>();
+
+    private Content content;
+    private boolean graphLoaded;
+    private AnalysisType analysisType = AnalysisType.NONE;
+    private AnalysisHitIndex hitIndex;
+
+    /**
+     * Replaces the current distribution with the given items (the buckets of the previous one are reused)
+     *
+     * @param hitIndex when available, the analysis hits are looked up in it instead of checking the graph objects
+     */
+    public void distribute(Content content, Collection<DiagramObject> items, AnalysisType analysisType, AnalysisHitIndex hitIndex) {
+        for (int i = 0; i < renderableClasses.size(); i++) {
+            map.get(renderableClasses.get(i)).clear();
+        }
+        renderableClasses.clear();
+        if (content != this.content || content.isGraphLoaded() != graphLoaded || analysisType != this.analysisType || hitIndex != this.hitIndex) {
+            classify(content, analysisType, hitIndex);
+        }
+        boolean analysis = !analysisType.equals(AnalysisType.NONE);
+        for (DiagramObject item : items) {
+            if (item == null) continue;
+            Classification classification = classifications.get(item);
+            if (classification == null) { //Items not in the content are classified as they come
+                classification = classify(item);
+                classifications.put(item, classification);
+            }
+            Buckets buckets = classification.buckets;
+            if (buckets.all.isEmpty()) renderableClasses.add(buckets.renderableClass);
+            buckets.all.add(item);
+            if (classification.items != null) classification.items.add(item);
+            if (analysis && classification.physicalEntity && ((GraphPhysicalEntity) item.getGraphObject()).isInteractorsHit()) {
+                buckets.byType.get(RenderType.HIT_INTERACTORS.ordinal()).add(item);
+            }
+        }
     }
 
-    public MapSet<RenderType, DiagramObject> getItems(String renderableClass) {
-        return map.get(renderableClass);
+    private void classify(Content content, AnalysisType analysisType, AnalysisHitIndex hitIndex) {
+        this.content = content;
+        this.graphLoaded = content.isGraphLoaded();
+        this.analysisType = analysisType;
+        this.hitIndex = hitIndex;
+        classifications.clear();
+        for (DiagramObject item : content.getDiagramObjects()) {
+            classifications.put(item, classify(item));
+        }
     }
 
-    public Set<DiagramObject> getAll(String renderableClass) {
-        Set<DiagramObject> rtn = new HashSet<>();
-        MapSet<RenderType, DiagramObject> target = map.get(renderableClass);
-        if (target != null) {
-            for (RenderType type : RenderType.values()) {
-                Set<DiagramObject> items = target.getElements(type);
-                if (items != null) {
-                    rtn.addAll(items);
+    private Classification classify(DiagramObject item) {
+        boolean isDisease = item.getIsDisease() != null;
+        RenderType type = null;
+        boolean physicalEntity = false;
+        if (item.getIsFadeOut() != null) {
+            type = RenderType.FADE_OUT;
+        } else if (analysisType.equals(AnalysisType.NONE)) {
+            type = isDisease ? RenderType.DISEASE : RenderType.NORMAL;
+        } else {
+            GraphObject dbObject = item.getGraphObject();
+            boolean isHit = false;
+            if (dbObject instanceof GraphPhysicalEntity) {
+                physicalEntity = true;
+                isHit = hitIndex != null ? hitIndex.isHit(item) : ((GraphPhysicalEntity) dbObject).isHit();
+            } else if (dbObject instanceof GraphPathway) {
+                isHit = hitIndex != null ? hitIndex.isHit(item) : ((GraphPathway) dbObject).isHit();
+            }
+            if (isHit) {
+                switch (analysisType) {
+                    case OVERREPRESENTATION:
+                    case SPECIES_COMPARISON:
+                        type = isDisease ? RenderType.HIT_BY_ENRICHMENT_DISEASE : RenderType.HIT_BY_ENRICHMENT_NORMAL;
+                        break;
+                    case EXPRESSION:
+                    case GSVA:
+                    case GSA_STATISTICS:
+                    case GSA_REGULATION:
+                        type = isDisease ? RenderType.HIT_BY_EXPRESSION_DISEASE : RenderType.HIT_BY_EXPRESSION_NORMAL;
+                        break;
                 }
+            } else {
+                type = isDisease ? RenderType.NOT_HIT_BY_ANALYSIS_DISEASE : RenderType.NOT_HIT_BY_ANALYSIS_NORMAL;
             }
         }
-        return rtn;
+        String renderableClass = item.getRenderableClass();
+        String key = renderableClass + "|" + type + "|" + physicalEntity;
+        Classification classification = shared.get(key);
+        if (classification == null) {
+            classification = new Classification(getOrCreate(renderableClass), type, physicalEntity);
+            shared.put(key, classification);
+        }
+        return classification;
+    }
+
+    /**
+     * @return the renderable classes with items in the current distribution
+     */
+    public List<String> getRenderableClasses() {
+        return renderableClasses;
+    }
+
+    /**
+     * @return the items of the renderable class for the given render type (empty if there are none)
+     */
+    public List<DiagramObject> getItems(String renderableClass, RenderType type) {
+        Buckets buckets = map.get(renderableClass);
+        return buckets == null ? Collections.emptyList() : buckets.byType.get(type.ordinal());
+    }
+
+    /**
+     * @return all the items of the renderable class (empty if there are none)
+     */
+    public List<DiagramObject> getAll(String renderableClass) {
+        Buckets buckets = map.get(renderableClass);
+        return buckets == null ? Collections.emptyList() : buckets.all;
     }
 
-    private MapSet<RenderType, DiagramObject> getOrCreate(String renderableClass) {
-        MapSet<RenderType, DiagramObject> map = this.map.get(renderableClass);
-        if (map == null) {
-            map = new MapSet<>();
-            this.map.put(renderableClass, map);
+    private Buckets getOrCreate(String renderableClass) {
+        Buckets buckets = map.get(renderableClass);
+        if (buckets == null) {
+            buckets = new Buckets(renderableClass);
+            map.put(renderableClass, buckets);
         }
-        return map;
+        return buckets;
     }
 }
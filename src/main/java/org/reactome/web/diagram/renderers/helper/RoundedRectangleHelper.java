@@ -80,21 +80,26 @@ public final class RoundedRectangleHelper implements NodeProperties {
     }
 
     public void trace(AdvancedContext2d ctx, Boolean isDashed, double[] dashLinePattern) {
+        trace(ctx, properties, padding, arc, isDashed, dashLinePattern);
+    }
+
+    /**
+     * Traces the rounded rectangle without creating a helper (the render path draws it for every item and frame)
+     */
+    public static void trace(AdvancedContext2d ctx, NodeProperties prop, double padding, double arc, Boolean isDashed) {
+        trace(ctx, prop, padding, arc, isDashed, RendererProperties.DASHED_LINE_PATTERN);
+    }
+
+    private static void trace(AdvancedContext2d ctx, NodeProperties prop, double padding, double arc, Boolean isDashed, double[] dashLinePattern) {
+        double x = prop.getX() + padding;
+        double y = prop.getY() + padding;
+        double width = prop.getWidth() - 2 * padding;
+        double height = prop.getHeight() - 2 * padding;
+        double limitedArc = limitArc(arc - padding, prop);
         if (isDashed == null || !isDashed) {
-            ctx.roundedRectangle(
-                    this.getX(),
-                    this.getY(),
-                    this.getWidth(),
-                    this.getHeight(),
-                    this.getArc());
+            ctx.roundedRectangle(x, y, width, height, limitedArc);
         } else {
-            ctx.dashedRoundedRectangle(
-                    this.getX(),
-                    this.getY(),
-                    this.getWidth(),
-                    this.getHeight(),
-                    this.getArc(), dashLinePattern);
+            ctx.dashedRoundedRectangle(x, y, width, height, limitedArc, dashLinePattern);
         }
-
     }
 }
\ No newline at end of file
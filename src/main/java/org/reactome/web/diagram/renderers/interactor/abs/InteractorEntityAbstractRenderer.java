@@ -110,7 +110,7 @@ public abstract class InteractorEntityAbstractRenderer extends InteractorAbstrac
         String displayName = node.getDisplayName();
         if (displayName == null) return;
         DiagramBox box = item.transform(factor, offset);
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
         TextMetrics metrics = ctx.measureText(displayName);
         if (metrics.getWidth() <= box.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
             textRenderer.drawTextSingleLine(ctx, displayName, box.getCentre());
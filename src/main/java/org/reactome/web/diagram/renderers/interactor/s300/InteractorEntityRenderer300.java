@@ -65,7 +65,7 @@ public class InteractorEntityRenderer300 extends InteractorEntityAbstractRendere
     }
 
     private void drawDiseaseOrProteinDetails(String details, InteractorEntity node, AdvancedContext2d ctx, DiagramBox box, String displayName, Double factor) {
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.INTERACTOR_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.INTERACTOR_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
 
         if (details == null) {
             if (node.getAlias() == null) {
@@ -88,7 +88,7 @@ public class InteractorEntityRenderer300 extends InteractorEntityAbstractRendere
 
             double fontSize = 3 * factor;
             ctx.setFont(RendererProperties.getFont(fontSize));
-            textRenderer = new TextRenderer(fontSize, RendererProperties.NODE_TEXT_PADDING);
+            textRenderer = TextRenderer.get(fontSize, RendererProperties.NODE_TEXT_PADDING);
             textRenderer.drawTextSingleLine(ctx, node.getAccession(), vBoxes.get(1).getCentre());
 
             DiagramBox detailsBox = vBoxes.get(2);
@@ -107,7 +107,7 @@ public class InteractorEntityRenderer300 extends InteractorEntityAbstractRendere
             ctx.drawImage(node.getImage(), centre.getX() - delta, centre.getY() - delta / 2, delta, delta);
         }
         DiagramBox textBox = box.splitHorizontally(box.getWidth() * 0.5).get(1); //box is now the remaining of item box removing the image
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.INTERACTOR_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.INTERACTOR_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
         if (node.getAlias() == null || node.getAccession().length() < 30) {
             textRenderer.drawTextMultiLine(ctx, node.getAccession(), NodePropertiesFactory.get(textBox));
         } else {
@@ -116,7 +116,7 @@ public class InteractorEntityRenderer300 extends InteractorEntityAbstractRendere
 
             double fontSize = 3 * factor;
             ctx.setFont(RendererProperties.getFont(fontSize));
-            textRenderer = new TextRenderer(fontSize, RendererProperties.NODE_TEXT_PADDING);
+            textRenderer = TextRenderer.get(fontSize, RendererProperties.NODE_TEXT_PADDING);
             textRenderer.drawTextSingleLine(ctx, node.getAccession(), vBoxes.get(1).getCentre());
         }
         ctx.restore();
@@ -7,6 +7,8 @@ import org.reactome.web.diagram.renderers.common.HoveredItem;
 import org.reactome.web.diagram.renderers.common.OverlayContext;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import java.util.List;
+
 /**
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
@@ -21,6 +23,17 @@ public interface Renderer {
 
     void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset);
 
+    /**
+     * Draws the shapes of the items (that share the current style) with a single fill and stroke. Until
+     * endBatch is called, draw renders everything but the shape of the items. The items must not overlap each
+     * other (see Content isOverlapping), otherwise the stacking order of their shapes and decorators changes
+     *
+     * @return false if the renderer cannot batch the shapes (so draw renders them item by item)
+     */
+    boolean batchShapes(AdvancedContext2d ctx, List<DiagramObject> items, Double factor, Coordinate offset);
+
+    void endBatch();
+
     void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset);
 
     void drawHitInteractors(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset);
@@ -7,6 +7,8 @@ import org.reactome.web.diagram.events.DiagramZoomEvent;
 import org.reactome.web.diagram.handlers.ContentLoadedHandler;
 import org.reactome.web.diagram.handlers.DiagramZoomHandler;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
+import org.reactome.web.diagram.renderers.layout.abs.NodeAbstractRenderer;
+import org.reactome.web.diagram.renderers.layout.abs.TextRenderer;
 import org.reactome.web.diagram.renderers.layout.s000.*;
 import org.reactome.web.diagram.renderers.layout.s050.*;
 import org.reactome.web.diagram.renderers.layout.s100.*;
@@ -219,6 +221,7 @@ public class RendererManager implements DiagramZoomHandler, ContentLoadedHandler
 
     @Override
     public void onContentLoaded(ContentLoadedEvent event) {
+        NodeAbstractRenderer.clearShapeCache(); //The cached shapes belong to the nodes of the previous content
         if (event.getContext().getContent().getType() == DIAGRAM) {
             this.setFactor(event.getContext().getDiagramStatus().getFactor());
         }
@@ -226,6 +229,7 @@ public class RendererManager implements DiagramZoomHandler, ContentLoadedHandler
 
     private void setFactor(double factor) {
         RendererProperties.setFactor(factor);
+        Map<String, Renderer> previous = this.current;
         if (factor < 0.5) {
             this.connectorRenderer = new ConnectorRenderer000();
             this.current = this.s000;
@@ -242,5 +246,6 @@ public class RendererManager implements DiagramZoomHandler, ContentLoadedHandler
             connectorRenderer = new ConnectorRenderer800();
             this.current = this.s800;
         }
+        if (previous != this.current) TextRenderer.clearLayoutCache();
     }
 }
@@ -3,7 +3,7 @@ package org.reactome.web.diagram.renderers.layout.abs;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.data.graph.model.GraphPhysicalEntity;
 import org.reactome.web.diagram.data.layout.*;
-import org.reactome.web.diagram.data.layout.impl.SegmentFactory;
+import org.reactome.web.diagram.data.layout.impl.MutableNodeProperties;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.renderers.common.HoveredItem;
 import org.reactome.web.diagram.renderers.common.OverlayContext;
@@ -20,6 +20,16 @@ import java.util.List;
 @SuppressWarnings("Duplicates")
 public abstract class AbstractRenderer implements Renderer {
 
+    //Reused every time an item is drawn, so the properties are not copied into a new object per item and frame
+    private final MutableNodeProperties transformed = new MutableNodeProperties();
+
+    /**
+     * @return the transformed properties (only valid until this method is called again for this renderer)
+     */
+    protected NodeProperties transform(NodeProperties prop, double factor, Coordinate offset) {
+        return transformed.transform(prop, factor, offset);
+    }
+
     @Override
     public Double getExpressionHovered(DiagramObject item, Coordinate pos, int t) {
         return null;
@@ -49,6 +59,16 @@ public abstract class AbstractRenderer implements Renderer {
         draw(ctx, item, factor, offset); //By default the normal draw method is called
     }
 
+    @Override
+    public boolean batchShapes(AdvancedContext2d ctx, List<DiagramObject> items, Double factor, Coordinate offset) {
+        return false; //By default every item draws its own shape
+    }
+
+    @Override
+    public void endBatch() {
+        //Nothing here
+    }
+
     @Override
     public void drawHitInteractors(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         //Nothing here
@@ -83,11 +103,13 @@ public abstract class AbstractRenderer implements Renderer {
     }
 
     public void drawSegments(AdvancedContext2d ctx, List<Segment> segments, Double factor, Coordinate offset) {
-        for(Segment segment : segments) {
-            segment = SegmentFactory.transform(segment, factor, offset);
+        double dX = offset.getX(), dY = offset.getY();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            Coordinate from = segment.getFrom(), to = segment.getTo();
             ctx.beginPath();
-            ctx.moveTo(segment.getFrom().getX(), segment.getFrom().getY());
-            ctx.lineTo(segment.getTo().getX(), segment.getTo().getY());
+            ctx.moveTo(from.getX() * factor + dX, from.getY() * factor + dY);
+            ctx.lineTo(to.getX() * factor + dX, to.getY() * factor + dY);
             ctx.stroke();
         }
     }
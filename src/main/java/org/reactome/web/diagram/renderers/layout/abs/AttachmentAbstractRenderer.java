@@ -4,7 +4,6 @@ import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.NodeAttachment;
 import org.reactome.web.diagram.data.layout.Shape;
-import org.reactome.web.diagram.data.layout.impl.ShapeFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.util.AdvancedContext2d;
@@ -15,24 +14,18 @@ import org.reactome.web.diagram.util.AdvancedContext2d;
 public abstract class AttachmentAbstractRenderer {
 
     public static void draw(AdvancedContext2d ctx, NodeAttachment attachment, Double factor, Coordinate offset, boolean fill){
-        Shape s = ShapeFactory.transform(attachment.getShape(), factor, offset);
+        Shape s = attachment.getShape();
+        double aX = s.getA().getX() * factor + offset.getX();
+        double aY = s.getA().getY() * factor + offset.getY();
+        double bX = s.getB().getX() * factor + offset.getX();
+        double bY = s.getB().getY() * factor + offset.getY();
         ctx.beginPath();
-        ctx.rect(
-                s.getA().getX(),
-                s.getA().getY(),
-                s.getB().getX() - s.getA().getX(),
-                s.getB().getY() - s.getA().getY()
-        );
+        ctx.rect(aX, aY, bX - aX, bY - aY);
         ctx.stroke();
         if (fill) {
             ctx.fill();
         } else {
-            ctx.clearRect(
-                    s.getA().getX(),
-                    s.getA().getY(),
-                    s.getB().getX() - s.getA().getX(),
-                    s.getB().getY() - s.getA().getY()
-            );
+            ctx.clearRect(aX, aY, bX - aX, bY - aY);
         }
 
         if(attachment.getLabel()!=null) {
@@ -41,8 +34,7 @@ public abstract class AttachmentAbstractRenderer {
             ctx.setTextBaseline(Context2d.TextBaseline.MIDDLE);
             ctx.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
             ctx.setFillStyle(DiagramColours.get().PROFILE.getAttachment().getText());
-            Coordinate c = s.getB().minus(s.getA()).divide(2).add(s.getA());
-            ctx.fillText(attachment.getLabel(), c.getX(), c.getY());
+            ctx.fillText(attachment.getLabel(), (aX + bX) / 2, (aY + bY) / 2);
             ctx.restore();
         }
     }
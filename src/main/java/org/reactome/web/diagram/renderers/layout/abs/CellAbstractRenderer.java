@@ -1,7 +1,6 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.graph.model.GraphCell;
 import org.reactome.web.diagram.data.graph.model.Participant;
 import org.reactome.web.diagram.data.layout.*;
@@ -87,7 +86,7 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
         if (item.getDisplayName() == null || item.getDisplayName().isEmpty()) {
             return;
         }
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
 
         Node node = (Node) item;
         NodeProperties.Builder builder = new NodeProperties.Builder()
@@ -97,9 +96,9 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
                 .height(prop -> prop.getHeight() / 2)
                 .padding(3 * CELL_SEPARATION);
 
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
 
-        if (metrics.getWidth() <= builder.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
+        if (textWidth <= builder.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
             textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), builder.getCenter());
         } else {
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), builder.build());
@@ -180,7 +179,7 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
         List<Participant> participantsWithExpression = Participant.asSortedList(cell.getParticipantsExpression(t));
         if (participantsWithExpression.isEmpty()) return null;
 
-        double delta = prop.getWidth() / cell.getParticipants().size();
+        double delta = prop.getWidth() / cell.getParticipantsCount();
         double minX = prop.getX();
         for (Participant participant : participantsWithExpression) {
             Double value = participant.getExpression();
@@ -208,15 +207,14 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
 
     protected void drawAggregatedAnalysis(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset, String color) {
         GraphCell cell = item.getGraphObject();
-        double percentage = cell.getHitParticipants().size() / (double) cell.getParticipants().size();
+        double percentage = cell.getHitParticipantsCount() / (double) cell.getParticipantsCount();
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
         RoundedRectangleHelper nucleus = drawCellBodyAndGetNucleus(ctx, item, factor, offset);
         ctx.restore();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(nucleus.getX(), nucleus.getY(), nucleus.getWidth(), nucleus.getHeight());
         buffer.setFillStyle(color);
         nucleus.trace(buffer);
         buffer.fill();
@@ -227,8 +225,7 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
         setTextProperties(buffer, ColourProfileType.ANALYSIS);
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     protected void drawCompositeAnalysis(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, Double factor, Coordinate offset, Function<Double, String> colorMapper) {
@@ -239,11 +236,10 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
         RoundedRectangleHelper nucleus = drawCellBodyAndGetNucleus(ctx, item, factor, offset);
         ctx.restore();
 
-        double delta = nucleus.getWidth() / cell.getParticipants().size();
+        double delta = nucleus.getWidth() / cell.getParticipantsCount();
         double x = nucleus.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(nucleus.getX(), nucleus.getY(), nucleus.getWidth(), nucleus.getHeight());
         for (Participant participant : Participant.asSortedList(cell.getParticipantsExpression(t))) {
             buffer.setFillStyle(colorMapper.apply(participant.getExpression()));
             buffer.fillRect(x, nucleus.getY(), delta, nucleus.getHeight());
@@ -262,7 +258,6 @@ public abstract class CellAbstractRenderer extends NodeAbstractRenderer {
         nucleus.trace(buffer);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 }
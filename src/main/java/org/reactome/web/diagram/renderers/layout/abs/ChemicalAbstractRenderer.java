@@ -1,13 +1,10 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.HoveredItem;
@@ -24,27 +21,30 @@ public abstract class ChemicalAbstractRenderer extends NodeAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        shape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset){
         if(item.getDisplayName() == null || item.getDisplayName().isEmpty())  return;
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         double padding = RendererProperties.NODE_TEXT_PADDING * 2;
         padding = (prop.getWidth() - padding * 2 < 0) ? 0 : padding;
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, padding);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, padding);
         double x = prop.getX() + prop.getWidth() / 2d;
         double y = prop.getY() + prop.getHeight() / 2d;
-        if(metrics.getWidth()<=prop.getWidth() - 0.5 * padding) {
-            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), CoordinateFactory.get(x, y));
+        if(textWidth<=prop.getWidth() - 0.5 * padding) {
+            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
         }else{
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), prop);
         }
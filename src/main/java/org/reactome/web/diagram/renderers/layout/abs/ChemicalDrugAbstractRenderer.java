@@ -1,13 +1,11 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.HoveredItem;
@@ -28,7 +26,7 @@ public abstract class ChemicalDrugAbstractRenderer extends NodeAbstractRenderer
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
         ctx.fill();
@@ -43,17 +41,17 @@ public abstract class ChemicalDrugAbstractRenderer extends NodeAbstractRenderer
     @Override
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset){
         if(item.getDisplayName() == null || item.getDisplayName().isEmpty())  return;
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         double padding = RendererProperties.NODE_TEXT_PADDING * 2;
         padding = (prop.getWidth() - padding * 2 < 0) ? 0 : padding;
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, padding);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, padding);
         double x = prop.getX() + prop.getWidth() / 2d;
         double y = prop.getY() + prop.getHeight() / 2d;
-        if(metrics.getWidth()<=prop.getWidth() - 0.5 * padding) {
-            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), CoordinateFactory.get(x, y));
+        if(textWidth<=prop.getWidth() - 0.5 * padding) {
+            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
         }else{
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), prop);
         }
@@ -65,7 +63,7 @@ public abstract class ChemicalDrugAbstractRenderer extends NodeAbstractRenderer
     public void highlight(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if (!isVisible(item)) return;
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
         ctx.save();
@@ -105,7 +103,7 @@ public abstract class ChemicalDrugAbstractRenderer extends NodeAbstractRenderer
         double rxX = prop.getX() + prop.getWidth() - cdrb * 2;
         double rxY = prop.getY() + prop.getHeight() - cdrb;
 
-        TextRenderer textRenderer = new TextRenderer(CHEMICAL_DRUG_RX_FONT * factor, 0);
+        TextRenderer textRenderer = TextRenderer.get(CHEMICAL_DRUG_RX_FONT * factor, 0);
         Coordinate c = CoordinateFactory.get(rxX + cdrb, rxY + cdrb / 2.0);
         ctx.save();
         ctx.setFont(RendererProperties.getFont(CHEMICAL_DRUG_RX_FONT * factor));
@@ -6,7 +6,7 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
+import org.reactome.web.diagram.data.layout.impl.MutableNodeProperties;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -19,12 +19,17 @@ import org.reactome.web.diagram.util.AdvancedContext2d;
 public abstract class CompartmentAbstractRenderer extends AbstractRenderer {
     private static final Coordinate GWU_CORRECTION = CoordinateFactory.get(14, 18);
 
+    //The insets are transformed while the compartment properties are still in use
+    private final MutableNodeProperties insets = new MutableNodeProperties();
+
     @Override
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         Compartment compartment = (Compartment) item;
-        Coordinate pos = compartment.getTextPosition().add(GWU_CORRECTION).transform(factor, offset);
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE);
-        textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), pos);
+        Coordinate pos = compartment.getTextPosition();
+        double x = (pos.getX() + GWU_CORRECTION.getX()) * factor + offset.getX();
+        double y = (pos.getY() + GWU_CORRECTION.getY()) * factor + offset.getY();
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE);
+        textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
     }
 
     @Override
@@ -33,20 +38,17 @@ public abstract class CompartmentAbstractRenderer extends AbstractRenderer {
 
 
         Compartment compartment = (Compartment) item;
-        NodeProperties prop = NodePropertiesFactory.transform(compartment.getProp(), factor, offset);
+        NodeProperties prop = transform(compartment.getProp(), factor, offset);
 
-        RoundedRectangleHelper helper = new RoundedRectangleHelper(prop).setArc(3 * RendererProperties.ROUND_RECT_ARC_WIDTH);
-        helper.trace(ctx);
+        RoundedRectangleHelper.trace(ctx, prop, 0, 3 * RendererProperties.ROUND_RECT_ARC_WIDTH, false);
         ctx.stroke();
         ctx.fill();
 
         if (isInsetsNeeded(compartment)) {
-            NodeProperties insets = new NodeProperties.Builder()
-                    .copy(compartment.getInsets())
-                    .transform(factor, offset).build();
+            NodeProperties insets = this.insets.transform(compartment.getInsets(), factor, offset);
 
             ctx.beginPath();
-            new RoundedRectangleHelper(insets, 0d, 3 * RendererProperties.ROUND_RECT_ARC_WIDTH - (insets.getX() - prop.getX())).trace(ctx);
+            RoundedRectangleHelper.trace(ctx, insets, 0, 3 * RendererProperties.ROUND_RECT_ARC_WIDTH - (insets.getX() - prop.getX()), false);
             ctx.stroke();
             ctx.fill();
         }
@@ -5,7 +5,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -20,34 +19,30 @@ public abstract class ComplexAbstractRenderer extends NodeAbstractRenderer {
         if(!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        fillShape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
     }
 
     @Override
-    public void shape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        ctx.beginPath();
-        if(needsDashed!=null){
-            ctx.dashedOctagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH, RendererProperties.DASHED_LINE_PATTERN);
-        }else {
-            ctx.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
-        }
+    protected boolean isOutlineFilled(Boolean needsDashed) {
+        return needsDashed != null; //The dashed shape is not closed
     }
 
-    protected void fillShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed){
+    @Override
+    public void shape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
         ctx.beginPath();
         if(needsDashed!=null){
-            //This is needed since the dashed rounded rectangle will always be filled
-            ctx.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
-            ctx.fill();
             ctx.dashedOctagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH, RendererProperties.DASHED_LINE_PATTERN);
         }else {
             ctx.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -24,10 +23,8 @@ public abstract class ComplexDrugAbstractRenderer extends NodeAbstractRenderer {
         if(!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        fillShape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
@@ -35,16 +32,26 @@ public abstract class ComplexDrugAbstractRenderer extends NodeAbstractRenderer {
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         super.drawText(ctx, item, factor, offset);
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         //Render the Rx inside the bottom right box
         rxText(ctx, prop, factor);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
     }
 
+    @Override
+    protected boolean isOutlineFilled(Boolean needsDashed) {
+        return needsDashed != null; //The dashed shape is not closed
+    }
+
     @Override
     public void shape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
         ctx.beginPath();
@@ -59,7 +66,7 @@ public abstract class ComplexDrugAbstractRenderer extends NodeAbstractRenderer {
         double rxX = prop.getX() + prop.getWidth() - 3.5 * RendererProperties.NODE_LINE_WIDTH;
         double rxY = prop.getY() + prop.getHeight() - 3.5 * RendererProperties.NODE_LINE_WIDTH;
 
-        TextRenderer textRenderer = new TextRenderer(COMPLEX_DRUG_RX_FONT * factor, 0);
+        TextRenderer textRenderer = TextRenderer.get(COMPLEX_DRUG_RX_FONT * factor, 0);
         Coordinate c = CoordinateFactory.get(rxX , rxY);
 
         ctx.save();
@@ -70,18 +77,6 @@ public abstract class ComplexDrugAbstractRenderer extends NodeAbstractRenderer {
         ctx.restore();
     }
 
-    protected void fillShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed){
-        ctx.beginPath();
-        if(needsDashed!=null){
-            //This is needed since the dashed rounded rectangle will always be filled
-            ctx.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
-            ctx.fill();
-            ctx.dashedOctagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH, RendererProperties.DASHED_LINE_PATTERN);
-        }else {
-            ctx.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
-        }
-    }
-
     @Override
     public void setColourProperties(AdvancedContext2d ctx, ColourProfileType type) {
         type.setColourProfile(ctx, DiagramColours.get().PROFILE.getComplexdrug());
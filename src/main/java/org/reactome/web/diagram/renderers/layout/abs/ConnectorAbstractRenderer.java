@@ -2,14 +2,14 @@ package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.data.layout.*;
-import org.reactome.web.diagram.data.layout.impl.SegmentFactory;
-import org.reactome.web.diagram.data.layout.impl.ShapeFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.profiles.diagram.model.DiagramProfile;
 import org.reactome.web.diagram.renderers.layout.ConnectorRenderer;
 import org.reactome.web.diagram.renderers.layout.RendererManager;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import java.util.List;
+
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
@@ -53,11 +53,14 @@ public abstract class ConnectorAbstractRenderer implements ConnectorRenderer {
     }
 
     private void drawConnector(AdvancedContext2d ctx, Connector connector, Double factor, Coordinate offset){
+        double dX = offset.getX(), dY = offset.getY();
         ctx.beginPath();
-        for (Segment segment : connector.getSegments()) {
-            segment = SegmentFactory.transform(segment, factor, offset);
-            ctx.moveTo(segment.getFrom().getX(), segment.getFrom().getY());
-            ctx.lineTo(segment.getTo().getX(), segment.getTo().getY());
+        List<Segment> segments = connector.getSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            Coordinate from = segment.getFrom(), to = segment.getTo();
+            ctx.moveTo(from.getX() * factor + dX, from.getY() * factor + dY);
+            ctx.lineTo(to.getX() * factor + dX, to.getY() * factor + dY);
         }
         ctx.stroke();
         ShapeAbstractRenderer.draw(ctx, connector.getEndShape(), factor, offset);
@@ -68,22 +71,20 @@ public abstract class ConnectorAbstractRenderer implements ConnectorRenderer {
         this.setTextProperties(ctx); //TODO: Check whether this can be done once
         if(stoichiometry!=null){
             if(stoichiometry.getValue()>1){
-                Shape stShape = ShapeFactory.transform(stoichiometry.getShape(), factor, offset);
+                Shape stShape = stoichiometry.getShape();
+                double aX = stShape.getA().getX() * factor + offset.getX();
+                double aY = stShape.getA().getY() * factor + offset.getY();
+                double bX = stShape.getB().getX() * factor + offset.getX();
+                double bY = stShape.getB().getY() * factor + offset.getY();
                 ctx.beginPath();
-                ctx.rect(
-                        stShape.getA().getX(),
-                        stShape.getA().getY(),
-                        stShape.getB().getX() - stShape.getA().getX(),
-                        stShape.getB().getY() - stShape.getA().getY()
-                );
+                ctx.rect(aX, aY, bX - aX, bY - aY);
                 ctx.stroke();
                 ctx.save();
                 ctx.setFillStyle("#FFFFFF");
                 ctx.fill();
                 ctx.restore();
 
-                Coordinate c = stShape.getB().minus(stShape.getA()).divide(2).add(stShape.getA());
-                ctx.fillText(stoichiometry.getValue().toString(),c.getX(), c.getY());
+                ctx.fillText(stoichiometry.getValue().toString(), (aX + bX) / 2, (aY + bY) / 2);
             }
         }
     }
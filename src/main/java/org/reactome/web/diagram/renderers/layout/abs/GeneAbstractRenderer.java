@@ -1,7 +1,6 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
@@ -23,7 +22,7 @@ public abstract class GeneAbstractRenderer extends NodeAbstractRenderer{
     public void draw(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if(!isVisible(item)) return;
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         fillTextHolder(ctx, prop);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
@@ -33,7 +32,7 @@ public abstract class GeneAbstractRenderer extends NodeAbstractRenderer{
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset) {
         if(!isVisible(item)) return;
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         ctx.setStrokeStyle(DiagramColours.get().PROFILE.getGene().getStroke());
         fillTextHolder(ctx, prop);
         shape(ctx, prop, node.getNeedDashedBorder());
@@ -47,7 +46,7 @@ public abstract class GeneAbstractRenderer extends NodeAbstractRenderer{
         setExpressionColour(ctx, graphObject.getExpression(), min, max, t);
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         ctx.setStrokeStyle(DiagramColours.get().PROFILE.getGene().getStroke());
         fillTextHolder(ctx, prop);
         shape(ctx, prop, node.getNeedDashedBorder());
@@ -61,7 +60,7 @@ public abstract class GeneAbstractRenderer extends NodeAbstractRenderer{
         setRegulationColour(ctx, graphObject.getExpression(), min, max, t);
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         ctx.setStrokeStyle(DiagramColours.get().PROFILE.getGene().getStroke());
         fillTextHolder(ctx, prop);
         shape(ctx, prop, node.getNeedDashedBorder());
@@ -71,12 +70,12 @@ public abstract class GeneAbstractRenderer extends NodeAbstractRenderer{
     @Override
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if(isVisible(item) && item.getDisplayName() != null && !item.getDisplayName().isEmpty()) {
-            TextMetrics metrics = ctx.measureText(item.getDisplayName());
+            double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
             Node node = (Node) item;
-            NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+            NodeProperties prop = transform(node.getProp(), factor, offset);
             Coordinate centre = CoordinateFactory.get(prop.getX() + prop.getWidth() / 2, prop.getY() + prop.getHeight() * 0.75);
-            TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
-            if(metrics.getWidth()<=prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
+            TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+            if(textWidth<=prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
                 textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), centre);
             }else{
                 // Create a smaller placeholder as text is only displayed at the bottom end of the gene node
@@ -4,12 +4,13 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Link;
 import org.reactome.web.diagram.data.layout.Segment;
-import org.reactome.web.diagram.data.layout.impl.SegmentFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import java.util.List;
+
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
@@ -19,15 +20,18 @@ public abstract class LinkAbstractRenderer extends EdgeAbstractRenderer {
         if(!isVisible(item)) return;
 
         Link link = (Link) item;
-        for (Segment segment : link.getSegments()) {
-            segment = SegmentFactory.transform(segment, factor, offset);
+        double dX = offset.getX(), dY = offset.getY();
+        List<Segment> segments = link.getSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            Coordinate from = segment.getFrom(), to = segment.getTo();
             ctx.beginPath();
             DashedLineAbstractRenderer.drawDashedLine(
                     ctx,
-                    segment.getFrom().getX(),
-                    segment.getFrom().getY(),
-                    segment.getTo().getX(),
-                    segment.getTo().getY(),
+                    from.getX() * factor + dX,
+                    from.getY() * factor + dY,
+                    to.getX() * factor + dX,
+                    to.getY() * factor + dY,
                     RendererProperties.DASHED_LINE_PATTERN[0],
                     RendererProperties.DASHED_LINE_PATTERN[1]
             );
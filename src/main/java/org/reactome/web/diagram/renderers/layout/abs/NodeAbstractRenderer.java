@@ -1,16 +1,14 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.layout.*;
 import org.reactome.web.diagram.data.layout.category.SegmentCategory;
 import org.reactome.web.diagram.data.layout.category.ShapeCategory;
-import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.HoveredItem;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.renderers.layout.RendererManager;
 import org.reactome.web.diagram.util.AdvancedContext2d;
+import org.reactome.web.diagram.util.Path2D;
 
 import java.util.List;
 
@@ -19,20 +17,23 @@ import java.util.List;
  */
 public abstract class NodeAbstractRenderer extends AbstractRenderer {
 
+    //Set while the shapes of the items being drawn have already been drawn (see batchShapes)
+    private boolean shapesBatched = false;
+
     @Override
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if (item.getDisplayName() == null || item.getDisplayName().isEmpty()) {
             return;
         }
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE, RendererProperties.NODE_TEXT_PADDING);
         double x = prop.getX() + prop.getWidth() / 2d;
         double y = prop.getY() + prop.getHeight() / 2d;
-        if (metrics.getWidth() <= prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
-            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), CoordinateFactory.get(x, y));
+        if (textWidth <= prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
+            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
         } else {
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), prop);
         }
@@ -43,7 +44,7 @@ public abstract class NodeAbstractRenderer extends AbstractRenderer {
         Node node = (Node) item;
         SummaryItem summaryItem = node.getInteractorsSummary();
         if (summaryItem != null && summaryItem.getHit() != null && summaryItem.getHit()) {
-            NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+            NodeProperties prop = transform(node.getProp(), factor, offset);
             ctx.save();
             shape(ctx, prop, false);
             ctx.clip();
@@ -59,11 +60,11 @@ public abstract class NodeAbstractRenderer extends AbstractRenderer {
         if (!isVisible(item)) return;
         ContextMenuTrigger trigger = item.contextMenuTrigger();
         if (trigger == null) return;
-        trigger = trigger.transform(factor, offset);
+        double dX = offset.getX(), dY = offset.getY();
         ctx.beginPath();
-        ctx.moveTo(trigger.getA().getX(), trigger.getA().getY());
-        ctx.lineTo(trigger.getB().getX(), trigger.getB().getY());
-        ctx.lineTo(trigger.getC().getX(), trigger.getC().getY());
+        ctx.moveTo(trigger.getA().getX() * factor + dX, trigger.getA().getY() * factor + dY);
+        ctx.lineTo(trigger.getB().getX() * factor + dX, trigger.getB().getY() * factor + dY);
+        ctx.lineTo(trigger.getC().getX() * factor + dX, trigger.getC().getY() * factor + dY);
         ctx.closePath();
         ctx.fill();
     }
@@ -73,7 +74,7 @@ public abstract class NodeAbstractRenderer extends AbstractRenderer {
     public void highlight(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if (!isVisible(item)) return;
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
     }
@@ -162,5 +163,100 @@ public abstract class NodeAbstractRenderer extends AbstractRenderer {
         }
     }
 
+    /**
+     * Fills (when required) and strokes the shape of the node, as shape followed by fill and stroke would do.
+     * When the content is drawn in layout coordinates the shape is only traced the first time (see ShapePathCache)
+     */
+    protected void drawShape(AdvancedContext2d ctx, Node node, NodeProperties prop, double factor, Coordinate offset, boolean fill) {
+        if (shapesBatched) return;
+        if (ShapePathCache.isApplicable(factor, offset)) {
+            Boolean needsDashed = node.getNeedDashedBorder();
+            Path2D path = getShapePath(node, needsDashed, false);
+            if (fill) {
+                if (isOutlineFilled(needsDashed)) ctx.fill(getShapePath(node, null, true));
+                ctx.fill(path);
+            }
+            ctx.stroke(path);
+        } else {
+            traceShape(ctx, node, prop, fill);
+            if (fill) ctx.fill();
+            ctx.stroke();
+        }
+    }
+
+    @Override
+    public boolean batchShapes(AdvancedContext2d ctx, List<DiagramObject> items, Double factor, Coordinate offset) {
+        if (!isShapeBatchable() || !ShapePathCache.isSupported()) return false;
+        Path2D outlines = Path2D.create();
+        Path2D shapes = Path2D.create();
+        boolean outlined = false;
+        for (DiagramObject item : items) {
+            if (!isVisible(item)) continue;
+            Node node = (Node) item;
+            Boolean needsDashed = node.getNeedDashedBorder();
+            if (isOutlineFilled(needsDashed)) {
+                appendShape(outlines, node, null, true, factor, offset);
+                outlined = true;
+            }
+            appendShape(shapes, node, needsDashed, false, factor, offset);
+        }
+        if (outlined) ctx.fill(outlines);
+        ctx.fill(shapes);
+        ctx.stroke(shapes);
+        shapesBatched = true;
+        return true;
+    }
+
+    @Override
+    public void endBatch() {
+        shapesBatched = false;
+    }
+
+    /**
+     * Only the renderers whose draw fills and strokes the shape with drawShape before anything else can have
+     * the shapes of all the items drawn at once (see batchShapes)
+     */
+    protected boolean isShapeBatchable() {
+        return false;
+    }
+
+    /**
+     * @return true if the dashed shape does not cover the whole node, so the solid one has to be filled first
+     */
+    protected boolean isOutlineFilled(Boolean needsDashed) {
+        return false;
+    }
+
+    public static void clearShapeCache() {
+        ShapePathCache.clear();
+    }
+
+    private void traceShape(AdvancedContext2d ctx, Node node, NodeProperties prop, boolean fill) {
+        Boolean needsDashed = node.getNeedDashedBorder();
+        if (fill && isOutlineFilled(needsDashed)) {
+            shape(ctx, prop, null);
+            ctx.fill();
+        }
+        shape(ctx, prop, needsDashed);
+    }
+
+    private void appendShape(Path2D path, Node node, Boolean needsDashed, boolean outline, double factor, Coordinate offset) {
+        if (ShapePathCache.isApplicable(factor, offset)) {
+            path.addPath(getShapePath(node, needsDashed, outline));
+        } else {
+            shape(path.asContext(), transform(node.getProp(), factor, offset), needsDashed);
+        }
+    }
+
+    private Path2D getShapePath(Node node, Boolean needsDashed, boolean outline) {
+        Path2D path = ShapePathCache.get(this, node, outline);
+        if (path == null) {
+            path = Path2D.create();
+            shape(path.asContext(), node.getProp(), needsDashed);
+            ShapePathCache.put(this, node, outline, path);
+        }
+        return path;
+    }
+
     public abstract void shape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed);
 }
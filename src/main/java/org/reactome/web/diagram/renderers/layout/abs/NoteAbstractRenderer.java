@@ -1,11 +1,9 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.NodeCommon;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -25,14 +23,16 @@ public abstract class NoteAbstractRenderer extends AbstractRenderer {
         if(!isVisible(item)) return;
         // Set the updated font size and measure the text
         ctx.setFont(RendererProperties.getFont(RendererProperties.NOTE_FONT_SIZE));
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.NOTE_FONT_SIZE);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.NOTE_FONT_SIZE);
 
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
         NodeCommon node = (NodeCommon) item;
-        Coordinate textPos = node.getPosition().transform(factor, offset);
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        if(metrics.getWidth()<=prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
-            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), textPos);
+        Coordinate textPos = node.getPosition();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        if(textWidth<=prop.getWidth() - 2 * RendererProperties.NODE_TEXT_PADDING) {
+            double x = textPos.getX() * factor + offset.getX();
+            double y = textPos.getY() * factor + offset.getY();
+            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
         }else{
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), prop);
         }
@@ -5,7 +5,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -20,13 +19,16 @@ public abstract class OtherEntityAbstractRenderer extends NodeAbstractRenderer {
         if(!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        shape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
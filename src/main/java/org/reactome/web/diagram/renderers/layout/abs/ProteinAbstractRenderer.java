@@ -2,7 +2,6 @@ package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.data.layout.*;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -19,14 +18,17 @@ public abstract class ProteinAbstractRenderer extends NodeAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        fillShape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
@@ -36,28 +38,9 @@ public abstract class ProteinAbstractRenderer extends NodeAbstractRenderer {
         return false;
     }
 
-    private void fillShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        if (needsDashed != null && needsDashed) {
-            //This is needed since the dashed rounded rectangle will always be filled
-            ctx.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
-            ctx.fill();
-            ctx.dashedRoundedRectangle(
-                    prop.getX(),
-                    prop.getY(),
-                    prop.getWidth(),
-                    prop.getHeight(),
-                    RendererProperties.ROUND_RECT_ARC_WIDTH,
-                    RendererProperties.DASHED_LINE_PATTERN
-            );
-        } else {
-            ctx.roundedRectangle(
-                    prop.getX(),
-                    prop.getY(),
-                    prop.getWidth(),
-                    prop.getHeight(),
-                    RendererProperties.ROUND_RECT_ARC_WIDTH
-            );
-        }
+    @Override
+    protected boolean isOutlineFilled(Boolean needsDashed) {
+        return needsDashed != null && needsDashed; //The dashed shape is not closed
     }
 
     @Override
@@ -3,7 +3,6 @@ package org.reactome.web.diagram.renderers.layout.abs;
 import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.data.layout.*;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -24,11 +23,9 @@ public abstract class ProteinDrugAbstractRenderer extends NodeAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        fillShape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
@@ -36,11 +33,16 @@ public abstract class ProteinDrugAbstractRenderer extends NodeAbstractRenderer {
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         super.drawText(ctx, item, factor, offset);
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         //Render the Rx inside the bottom right box
         rxText(ctx, prop, factor);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
@@ -50,28 +52,9 @@ public abstract class ProteinDrugAbstractRenderer extends NodeAbstractRenderer {
         return false;
     }
 
-    private void fillShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        if (needsDashed != null && needsDashed) {
-            //This is needed since the dashed rounded rectangle will always be filled
-            ctx.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
-            ctx.fill();
-            ctx.dashedRoundedRectangle(
-                    prop.getX(),
-                    prop.getY(),
-                    prop.getWidth(),
-                    prop.getHeight(),
-                    RendererProperties.ROUND_RECT_ARC_WIDTH,
-                    RendererProperties.DASHED_LINE_PATTERN
-            );
-        } else {
-            ctx.roundedRectangle(
-                    prop.getX(),
-                    prop.getY(),
-                    prop.getWidth(),
-                    prop.getHeight(),
-                    RendererProperties.ROUND_RECT_ARC_WIDTH
-            );
-        }
+    @Override
+    protected boolean isOutlineFilled(Boolean needsDashed) {
+        return needsDashed != null && needsDashed; //The dashed shape is not closed
     }
 
     @Override
@@ -100,7 +83,7 @@ public abstract class ProteinDrugAbstractRenderer extends NodeAbstractRenderer {
         double rxX = prop.getX() + prop.getWidth() - 1.75 * RendererProperties.NODE_LINE_WIDTH;
         double rxY = prop.getY() + prop.getHeight() - 1.75 * RendererProperties.NODE_LINE_WIDTH;
 
-        TextRenderer textRenderer = new TextRenderer(PROTEIN_DRUG_RX_FONT * factor, 0);
+        TextRenderer textRenderer = TextRenderer.get(PROTEIN_DRUG_RX_FONT * factor, 0);
         Coordinate c = CoordinateFactory.get(rxX , rxY);
 
         ctx.save();
@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -24,10 +23,8 @@ public abstract class RNADrugAbstractRenderer extends NodeAbstractRenderer {
     public void draw(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         if (!isVisible(item)) return;
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        shape(ctx, prop, node.getNeedDashedBorder());
-        ctx.fill();
-        ctx.stroke();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        drawShape(ctx, node, prop, factor, offset, true);
         drawCross(ctx, node, prop);
     }
 
@@ -35,11 +32,16 @@ public abstract class RNADrugAbstractRenderer extends NodeAbstractRenderer {
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         super.drawText(ctx, item, factor, offset);
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         //Render the Rx inside the bottom right box
         rxText(ctx, prop, factor);
     }
 
+    @Override
+    protected boolean isShapeBatchable() {
+        return true;
+    }
+
     @Override
     public boolean isVisible(DiagramObject item) {
         return true;
@@ -61,7 +63,7 @@ public abstract class RNADrugAbstractRenderer extends NodeAbstractRenderer {
         double rxX = prop.getX() + prop.getWidth() - 2.5 * RendererProperties.NODE_LINE_WIDTH;
         double rxY = prop.getY() + prop.getHeight() - 5 * RendererProperties.NODE_LINE_WIDTH;
 
-        TextRenderer textRenderer = new TextRenderer(RNA_DRUG_RX_FONT * factor, 0);
+        TextRenderer textRenderer = TextRenderer.get(RNA_DRUG_RX_FONT * factor, 0);
         Coordinate c = CoordinateFactory.get(rxX , rxY);
 
         ctx.save();
@@ -5,7 +5,6 @@ import org.reactome.web.diagram.data.graph.model.GraphReactionLikeEvent;
 import org.reactome.web.diagram.data.layout.*;
 import org.reactome.web.diagram.data.layout.category.SegmentCategory;
 import org.reactome.web.diagram.data.layout.category.ShapeCategory;
-import org.reactome.web.diagram.data.layout.impl.ShapeFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.HoveredItem;
@@ -37,9 +36,9 @@ public abstract class ReactionAbstractRenderer extends EdgeAbstractRenderer {
 
     protected void drawSymbol(AdvancedContext2d ctx, Edge edge, Double factor, Coordinate offset){
         if(edge.getReactionShape().getS()!=null){
-            Shape shape = ShapeFactory.transform(edge.getReactionShape(), factor, offset);
-            double x = shape.getA().getX() + (shape.getB().getX() - shape.getA().getX())/ 2.0;
-            double y = shape.getA().getY() + (shape.getB().getY() - shape.getA().getY())/ 2.0;
+            Shape shape = edge.getReactionShape();
+            double x = (shape.getA().getX() + (shape.getB().getX() - shape.getA().getX())/ 2.0) * factor + offset.getX();
+            double y = (shape.getA().getY() + (shape.getB().getY() - shape.getA().getY())/ 2.0) * factor + offset.getY();
             ctx.save();
             ctx.setFont(RendererProperties.getFont(RendererProperties.WIDGET_FONT_SIZE));
             ctx.setTextAlign(Context2d.TextAlign.CENTER);
@@ -5,13 +5,14 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.renderers.helper.RoundedRectangleHelper;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import static org.reactome.web.diagram.renderers.common.RendererProperties.ROUND_RECT_ARC_WIDTH;
+
 /**
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
@@ -21,20 +22,14 @@ public abstract class SetAbstractRenderer extends NodeAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = new NodeProperties.Builder()
-                .copy(((Node) item).getProp())
-                .transform(factor, offset)
-                .build();
-
-        RoundedRectangleHelper helper = new RoundedRectangleHelper(prop);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        helper.trace(ctx);
+        RoundedRectangleHelper.trace(ctx, prop, 0, ROUND_RECT_ARC_WIDTH, false);
         ctx.fill();
-        helper.trace(ctx, node.getNeedDashedBorder());
+        RoundedRectangleHelper.trace(ctx, prop, 0, ROUND_RECT_ARC_WIDTH, node.getNeedDashedBorder());
         ctx.stroke();
 
-        helper = helper.setPadding(RendererProperties.SEPARATION);
-        helper.trace(ctx, node.getNeedDashedBorder());
+        RoundedRectangleHelper.trace(ctx, prop, RendererProperties.SEPARATION, ROUND_RECT_ARC_WIDTH, node.getNeedDashedBorder());
         ctx.stroke();
 
         drawCross(ctx, node, prop);
@@ -43,7 +38,7 @@ public abstract class SetAbstractRenderer extends NodeAbstractRenderer {
     @Override
     public void highlight(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
         innerShape(ctx, prop, node.getNeedDashedBorder());
@@ -58,18 +53,17 @@ public abstract class SetAbstractRenderer extends NodeAbstractRenderer {
 
     @Override
     public void shape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        new RoundedRectangleHelper(prop).trace(ctx, needsDashed);
+        RoundedRectangleHelper.trace(ctx, prop, 0, ROUND_RECT_ARC_WIDTH, needsDashed);
     }
 
     protected void fillShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        RoundedRectangleHelper helper = new RoundedRectangleHelper(prop);
-        helper.trace(ctx);
+        RoundedRectangleHelper.trace(ctx, prop, 0, ROUND_RECT_ARC_WIDTH, false);
         ctx.fill();
-        helper.trace(ctx, needsDashed);
+        RoundedRectangleHelper.trace(ctx, prop, 0, ROUND_RECT_ARC_WIDTH, needsDashed);
     }
 
     protected void innerShape(AdvancedContext2d ctx, NodeProperties prop, Boolean needsDashed) {
-        new RoundedRectangleHelper(prop, RendererProperties.SEPARATION).trace(ctx, needsDashed);
+        RoundedRectangleHelper.trace(ctx, prop, RendererProperties.SEPARATION, ROUND_RECT_ARC_WIDTH, needsDashed);
     }
 
     @Override
@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -25,7 +24,7 @@ public abstract class SetDrugAbstractRenderer extends NodeAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         fillShape(ctx, prop, node.getNeedDashedBorder());
         ctx.fill();
         ctx.stroke();
@@ -39,7 +38,7 @@ public abstract class SetDrugAbstractRenderer extends NodeAbstractRenderer {
     public void drawText(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         super.drawText(ctx, item, factor, offset);
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         //Render the Rx inside the bottom right box
         rxText(ctx, prop, factor);
     }
@@ -47,7 +46,7 @@ public abstract class SetDrugAbstractRenderer extends NodeAbstractRenderer {
     @Override
     public void highlight(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.stroke();
         innerShape(ctx, prop, node.getNeedDashedBorder());
@@ -72,7 +71,7 @@ public abstract class SetDrugAbstractRenderer extends NodeAbstractRenderer {
         double rxX = prop.getX() + prop.getWidth() - 3.5 * RendererProperties.NODE_LINE_WIDTH;
         double rxY = prop.getY() + prop.getHeight() - 3.5 * RendererProperties.NODE_LINE_WIDTH;
 
-        TextRenderer textRenderer = new TextRenderer(SET_DRUG_RX_FONT * factor, 0);
+        TextRenderer textRenderer = TextRenderer.get(SET_DRUG_RX_FONT * factor, 0);
         Coordinate c = CoordinateFactory.get(rxX, rxY);
 
         ctx.save();
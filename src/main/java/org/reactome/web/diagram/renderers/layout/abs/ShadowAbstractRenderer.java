@@ -1,29 +1,31 @@
 package org.reactome.web.diagram.renderers.layout.abs;
 
 import com.google.gwt.canvas.dom.client.Context2d;
-import com.google.gwt.canvas.dom.client.TextMetrics;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.Shadow;
 import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import java.util.List;
+
 /**
  * @author Kostas Sidiropoulos (ksidiro@ebi.ac.uk)
  */
 public abstract class ShadowAbstractRenderer extends AbstractRenderer {
 
     public void shape(AdvancedContext2d ctx, Shadow shadow, Double factor, Coordinate offset) {
-        Coordinate initial = shadow.getPoints().get(0).transform(factor, offset);
+        List<Coordinate> points = shadow.getPoints();
+        double dX = offset.getX(), dY = offset.getY();
+        Coordinate initial = points.get(0);
         ctx.beginPath();
-        ctx.moveTo(initial.getX(), initial.getY());
-        for (int i = 1; i < shadow.getPoints().size(); i++) {
-            Coordinate aux = shadow.getPoints().get(i).transform(factor, offset);
-            ctx.lineTo(aux.getX(), aux.getY());
+        ctx.moveTo(initial.getX() * factor + dX, initial.getY() * factor + dY);
+        for (int i = 1; i < points.size(); i++) {
+            Coordinate aux = points.get(i);
+            ctx.lineTo(aux.getX() * factor + dX, aux.getY() * factor + dY);
         }
         ctx.closePath();
     }
@@ -34,17 +36,17 @@ public abstract class ShadowAbstractRenderer extends AbstractRenderer {
             return;
         }
         Shadow shadow = (Shadow) item;
-        NodeProperties prop = NodePropertiesFactory.transform(shadow.getProp(), factor, offset);
+        NodeProperties prop = transform(shadow.getProp(), factor, offset);
 
         double padding = RendererProperties.NODE_TEXT_PADDING * 2;
         padding = (prop.getWidth() - padding * 2 < 0) ? 0 : padding;
-        TextRenderer textRenderer = new TextRenderer(RendererProperties.WIDGET_FONT_SIZE * 5, padding);
+        TextRenderer textRenderer = TextRenderer.get(RendererProperties.WIDGET_FONT_SIZE * 5, padding);
         double x = prop.getX() + prop.getWidth() / 2d;
         double y = prop.getY() + prop.getHeight() / 2d;
 
-        TextMetrics metrics = ctx.measureText(item.getDisplayName());
-        if (metrics.getWidth() <= prop.getWidth() - 0.5 * padding) {
-            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), CoordinateFactory.get(x, y));
+        double textWidth = TextRenderer.measureText(ctx, item.getDisplayName());
+        if (textWidth <= prop.getWidth() - 0.5 * padding) {
+            textRenderer.drawTextSingleLine(ctx, item.getDisplayName(), x, y);
 //            textRenderer.borderTextSingleLine(ctx, item.getDisplayName(), CoordinateFactory.get(x, y));
         } else {
             textRenderer.drawTextMultiLine(ctx, item.getDisplayName(), prop);
@@ -2,7 +2,6 @@ package org.reactome.web.diagram.renderers.layout.abs;
 
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.Shape;
-import org.reactome.web.diagram.data.layout.impl.ShapeFactory;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
 /**
@@ -14,14 +13,15 @@ public abstract class ShapeAbstractRenderer {
     //filling is hardly appreciated for the human eye so avoiding the filling speeds the rendering up
     public static void draw(AdvancedContext2d ctx, Shape shape, Double factor, Coordinate offset) {
         if (shape == null) return;
-        shape = ShapeFactory.transform(shape, factor, offset);
+        //The points are transformed on the fly instead of creating a transformed copy of the shape
+        double dX = offset.getX(), dY = offset.getY();
         String type = shape.getType();
         switch (type) {
             case "ARROW":
                 ctx.beginPath();
-                ctx.moveTo(shape.getA().getX(), shape.getA().getY());
-                ctx.lineTo(shape.getB().getX(), shape.getB().getY());
-                ctx.lineTo(shape.getC().getX(), shape.getC().getY());
+                ctx.moveTo(shape.getA().getX() * factor + dX, shape.getA().getY() * factor + dY);
+                ctx.lineTo(shape.getB().getX() * factor + dX, shape.getB().getY() * factor + dY);
+                ctx.lineTo(shape.getC().getX() * factor + dX, shape.getC().getY() * factor + dY);
                 ctx.closePath();
                 ctx.stroke();
                 fill(ctx, shape.getEmpty());
@@ -29,10 +29,10 @@ public abstract class ShapeAbstractRenderer {
             case "BOX":
                 ctx.beginPath();
                 ctx.rect(
-                        shape.getA().getX(),
-                        shape.getA().getY(),
-                        shape.getB().getX() - shape.getA().getX(),
-                        shape.getB().getY() - shape.getA().getY()
+                        shape.getA().getX() * factor + dX,
+                        shape.getA().getY() * factor + dY,
+                        (shape.getB().getX() - shape.getA().getX()) * factor,
+                        (shape.getB().getY() - shape.getA().getY()) * factor
                 );
                 ctx.stroke();
                 fill(ctx, shape.getEmpty());
@@ -40,9 +40,9 @@ public abstract class ShapeAbstractRenderer {
             case "CIRCLE":
                 ctx.beginPath();
                 ctx.arc(
-                        shape.getC().getX(),
-                        shape.getC().getY(),
-                        shape.getR(),
+                        shape.getC().getX() * factor + dX,
+                        shape.getC().getY() * factor + dY,
+                        shape.getR() * factor,
                         0,
                         2 * Math.PI
                 );
@@ -50,30 +50,20 @@ public abstract class ShapeAbstractRenderer {
                 fill(ctx, shape.getEmpty());
                 break;
             case "DOUBLE_CIRCLE":
+                double cX = shape.getC().getX() * factor + dX;
+                double cY = shape.getC().getY() * factor + dY;
                 ctx.beginPath();
-                ctx.arc(
-                        shape.getC().getX(),
-                        shape.getC().getY(),
-                        shape.getR(),
-                        0,
-                        2 * Math.PI
-                );
+                ctx.arc(cX, cY, shape.getR() * factor, 0, 2 * Math.PI);
                 ctx.stroke();
                 fill(ctx, shape.getEmpty());
                 ctx.beginPath();
-                ctx.arc(
-                        shape.getC().getX(),
-                        shape.getC().getY(),
-                        shape.getR1(),
-                        0,
-                        2 * Math.PI
-                );
+                ctx.arc(cX, cY, shape.getR1() * factor, 0, 2 * Math.PI);
                 ctx.stroke();
                 break;
             case "STOP":
                 ctx.beginPath();
-                ctx.moveTo(shape.getA().getX(), shape.getA().getY());
-                ctx.lineTo(shape.getB().getX(), shape.getB().getY());
+                ctx.moveTo(shape.getA().getX() * factor + dX, shape.getA().getY() * factor + dY);
+                ctx.lineTo(shape.getB().getX() * factor + dX, shape.getB().getY() * factor + dY);
                 ctx.stroke();
                 break;
             default:
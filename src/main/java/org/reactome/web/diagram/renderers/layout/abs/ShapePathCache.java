@@ -0,0 +1,58 @@
+package org.reactome.web.diagram.renderers.layout.abs;
+
+import org.reactome.web.diagram.data.layout.Coordinate;
+import org.reactome.web.diagram.data.layout.Node;
+import org.reactome.web.diagram.util.Path2D;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the shapes of the nodes traced as Path2D in layout coordinates so they are not traced again in every
+ * frame. The shapes are kept per renderer (every zoom level has its own set of renderers and they do not
+ * draw the same shapes) and node, and they are all discarded when a new content is loaded.
+ * <p>
+ * The paths can only be used when the content is drawn in layout coordinates (see DiagramFactory
+ * TRANSFORM_RENDERING), otherwise the shapes have to be traced for the current factor and offset.
+ */
+final class ShapePathCache {
+
+    private static final boolean SUPPORTED = Path2D.isSupported();
+
+    private static final Map<NodeAbstractRenderer, Map<Node, Path2D>> shapes = new IdentityHashMap<>();
+    private static final Map<NodeAbstractRenderer, Map<Node, Path2D>> outlines = new IdentityHashMap<>();
+
+    private ShapePathCache() {
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    static boolean isApplicable(double factor, Coordinate offset) {
+        return SUPPORTED && factor == 1 && offset.getX() == 0 && offset.getY() == 0;
+    }
+
+    /**
+     * @param outline true for the solid outline filled underneath the dashed shapes
+     */
+    static Path2D get(NodeAbstractRenderer renderer, Node node, boolean outline) {
+        Map<Node, Path2D> paths = (outline ? outlines : shapes).get(renderer);
+        return paths == null ? null : paths.get(node);
+    }
+
+    static void put(NodeAbstractRenderer renderer, Node node, boolean outline, Path2D path) {
+        Map<NodeAbstractRenderer, Map<Node, Path2D>> map = outline ? outlines : shapes;
+        Map<Node, Path2D> paths = map.get(renderer);
+        if (paths == null) {
+            paths = new IdentityHashMap<>();
+            map.put(renderer, paths);
+        }
+        paths.put(node, path);
+    }
+
+    static void clear() {
+        shapes.clear();
+        outlines.clear();
+    }
+}
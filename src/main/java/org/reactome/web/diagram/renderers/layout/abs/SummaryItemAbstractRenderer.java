@@ -4,7 +4,6 @@ import com.google.gwt.canvas.dom.client.Context2d;
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.Shape;
 import org.reactome.web.diagram.data.layout.SummaryItem;
-import org.reactome.web.diagram.data.layout.impl.ShapeFactory;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
@@ -49,17 +48,16 @@ public abstract class SummaryItemAbstractRenderer {
         if (type == null) return;
         Shape shape = summaryItem.getShape();
         if (shape == null) return;
-        shape = ShapeFactory.transform(shape, factor, offset);
         double x, y;
         switch (shape.getType()) {
             case "CIRCLE":
-                x = shape.getC().getX();
-                y = shape.getC().getY();
+                x = shape.getC().getX() * factor + offset.getX();
+                y = shape.getC().getY() * factor + offset.getY();
                 ctx.beginPath();
                 ctx.arc(
-                        shape.getC().getX(),
-                        shape.getC().getY(),
-                        shape.getR(),
+                        x,
+                        y,
+                        shape.getR() * factor,
                         0,
                         2 * Math.PI
                 );
@@ -69,7 +67,7 @@ public abstract class SummaryItemAbstractRenderer {
                 //by checking whether the background colour is the standard one
                 boolean isSelection = ctx.getFillStyle().toString().equals("#000000");
                 if (isSelection) {
-                    double r = shape.getR();
+                    double r = shape.getR() * factor;
                     ctx.save();         //Here we need to apply a small trick to clear the inside of the summary item
                     ctx.arc(x, y, r, 0, 2 * Math.PI);   //First we set the arc defining the inside of the summary item
                     ctx.clip();         //Clipping forces all future drawing to be limited to the clipped region
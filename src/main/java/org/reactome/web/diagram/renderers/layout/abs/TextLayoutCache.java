@@ -0,0 +1,195 @@
+package org.reactome.web.diagram.renderers.layout.abs;
+
+import org.reactome.web.diagram.util.AdvancedContext2d;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the lines in which the texts are wrapped by the TextRenderer so they are not split again in every
+ * frame. The layouts are kept per font style, font size bucket and available width, so the continuously
+ * changing font sizes used while zooming within a zoom level share them, and they are all discarded when
+ * the zoom level (set of renderers) changes. Neither the font measures nor the layouts lookups create
+ * objects, so the labels can be drawn in every frame without allocations.
+ * <p>
+ * The widths of the texts are calculated with a table of glyph widths per font style (measured once at a
+ * reference size and scaled to the font size) instead of calling measureText for every word and prefix.
+ */
+final class TextLayoutCache {
+
+    /**
+     * The width of the texts and the wrapped layouts for a given font
+     */
+    static class Measure {
+        private final GlyphWidths glyphs;
+        private final double fontSize;
+        private final Layouts layouts;
+
+        private Measure(GlyphWidths glyphs, double fontSize, Layouts layouts) {
+            this.glyphs = glyphs;
+            this.fontSize = fontSize;
+            this.layouts = layouts;
+        }
+
+        double width(AdvancedContext2d ctx, String text) {
+            if (glyphs == null) return ctx.measureText(text).getWidth();
+            return glyphs.width(ctx, text) * fontSize;
+        }
+
+        /**
+         * @return the lines of the text wrapped for the available width or null if they have not been cached
+         */
+        List<String> getLines(String text, double availableWidth) {
+            if (layouts == null) return null;
+            int width = (int) Math.floor(availableWidth);
+            for (Layout layout = layouts.get(text); layout != null; layout = layout.next) {
+                if (layout.width == width) return layout.lines;
+            }
+            return null;
+        }
+
+        void putLines(String text, double availableWidth, List<String> lines) {
+            if (layouts == null) return; //The measures of unknown fonts are not kept, so neither are their layouts
+            layouts.put(text, new Layout((int) Math.floor(availableWidth), lines, layouts.get(text)));
+        }
+    }
+
+    /**
+     * The same text can be wrapped for different widths (e.g. the same name in nodes of different sizes)
+     */
+    private static class Layout {
+        final int width;
+        final List<String> lines;
+        final Layout next;
+
+        Layout(int width, List<String> lines, Layout next) {
+            this.width = width;
+            this.lines = lines;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The layouts of the texts for a font style and size bucket (the least recently used texts are evicted)
+     */
+    private static class Layouts extends LinkedHashMap<String, Layout> {
+        Layouts() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Layout> eldest) {
+            return size() > MAX_LAYOUTS;
+        }
+    }
+
+    private static final int MAX_LAYOUTS = 5000;
+    private static final int MAX_FONTS = 256;
+    private static final int REFERENCE_SIZE = 100;
+    private static final int BASIC_GLYPHS = 0x0500; //Latin, Greek and Cyrillic
+    //The font sizes whose ratio is within 2% share the layouts of the texts
+    private static final double SIZE_BUCKETS = 1 / Math.log(1.02);
+
+    private static final Map<String, GlyphWidths> glyphWidths = new HashMap<>();
+    private static final Map<String, Layouts> layouts = new HashMap<>();
+    private static final Map<String, Measure> measures = new LinkedHashMap<String, Measure>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Measure> eldest) {
+            return size() > MAX_FONTS;
+        }
+    };
+
+    //The labels of the same type are drawn one after the other, so the last font is very likely to be repeated
+    private static String lastFont;
+    private static Measure lastMeasure;
+
+    private TextLayoutCache() {
+    }
+
+    static Measure getMeasure(AdvancedContext2d ctx) {
+        String font = ctx.getFont();
+        if (font.equals(lastFont)) return lastMeasure;
+        Measure measure = measures.get(font);
+        if (measure == null) {
+            measure = createMeasure(font);
+            if (measure.glyphs != null) measures.put(font, measure);
+        }
+        lastFont = font;
+        lastMeasure = measure;
+        return measure;
+    }
+
+    private static Measure createMeasure(String font) {
+        int px = font.indexOf("px");
+        int start = font.lastIndexOf(' ', px) + 1;
+        if (px > start) {
+            try {
+                double fontSize = Double.parseDouble(font.substring(start, px));
+                String style = font.substring(0, start) + "{0}" + font.substring(px);
+                GlyphWidths glyphs = glyphWidths.get(style);
+                if (glyphs == null) {
+                    glyphs = new GlyphWidths(style.replace("{0}", String.valueOf(REFERENCE_SIZE)));
+                    glyphWidths.put(style, glyphs);
+                }
+                String key = style + "|" + Math.round(Math.log(fontSize) * SIZE_BUCKETS);
+                Layouts bucket = layouts.get(key);
+                if (bucket == null) {
+                    bucket = new Layouts();
+                    layouts.put(key, bucket);
+                }
+                return new Measure(glyphs, fontSize, bucket);
+            } catch (NumberFormatException e) {
+                //Unknown font format, measureText is used instead
+            }
+        }
+        return new Measure(null, 0, null);
+    }
+
+    /**
+     * Discards the layouts (the measures referencing them are discarded as well). It is called when the
+     * zoom level changes, so never while the labels are being drawn
+     */
+    static void clear() {
+        layouts.clear();
+        measures.clear();
+        lastFont = null;
+        lastMeasure = null;
+    }
+
+    /**
+     * Width of the glyphs (in "em", so they only have to be multiplied by the font size) for a font style
+     */
+    private static class GlyphWidths {
+        private final String referenceFont;
+        private final double[] basic = new double[BASIC_GLYPHS];
+        private final Map<Character, Double> others = new HashMap<>();
+
+        GlyphWidths(String referenceFont) {
+            this.referenceFont = referenceFont;
+            for (int i = 0; i < BASIC_GLYPHS; i++) basic[i] = -1;
+        }
+
+        double width(AdvancedContext2d ctx, String text) {
+            String font = null;
+            double rtn = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                double w = c < BASIC_GLYPHS ? basic[c] : others.getOrDefault(c, -1d);
+                if (w < 0) {
+                    if (font == null) {
+                        font = ctx.getFont();
+                        ctx.setFont(referenceFont);
+                    }
+                    w = ctx.measureText(String.valueOf(c)).getWidth() / (double) REFERENCE_SIZE;
+                    if (c < BASIC_GLYPHS) basic[c] = w;
+                    else others.put(c, w);
+                }
+                rtn += w;
+            }
+            if (font != null) ctx.setFont(font);
+            return rtn;
+        }
+    }
+}
@@ -2,23 +2,32 @@ package org.reactome.web.diagram.renderers.layout.abs;
 
 import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.CoordinateFactory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
+import org.reactome.web.diagram.data.layout.impl.MutableNodeProperties;
 import org.reactome.web.diagram.util.AdvancedContext2d;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Contains the methods for rendering text on a canvas in both single and multiple lines.
+ * The lines of the wrapped texts are cached (see TextLayoutCache) and the renderers for the font sizes and
+ * paddings used while drawing are shared (see get), so drawing the labels does not create any object.
  *
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
  */
 public class TextRenderer {
     public static final int MAX_LINE = 4;
-    private double fontSize;
-    private double padding;
+
+    //The font sizes and paddings depend on the zoom level, so just the last ones used are kept
+    private static final TextRenderer[] recent = new TextRenderer[8];
+    private static int next = 0;
+
+    private final double fontSize;
+    private final double padding;
+    //Reused for the properties transformed before drawing the text
+    private final MutableNodeProperties transformed = new MutableNodeProperties();
 
     public TextRenderer(double fontSize, double padding) {
         this.fontSize = fontSize;
@@ -30,15 +39,39 @@ public class TextRenderer {
         this.padding = 0;
     }
 
+    /**
+     * @return a (shared) renderer for the given font size and padding
+     */
+    public static TextRenderer get(double fontSize, double padding) {
+        for (TextRenderer textRenderer : recent) {
+            if (textRenderer != null && textRenderer.fontSize == fontSize && textRenderer.padding == padding) {
+                return textRenderer;
+            }
+        }
+        TextRenderer textRenderer = new TextRenderer(fontSize, padding);
+        recent[next] = textRenderer;
+        next = (next + 1) % recent.length;
+        return textRenderer;
+    }
+
+    public static TextRenderer get(double fontSize) {
+        return get(fontSize, 0);
+    }
+
     public void drawTextSingleLine(AdvancedContext2d ctx, String message, Coordinate centerPosition, Double factor, Coordinate offset) {
-        Coordinate newCenter = CoordinateFactory.get(centerPosition.getX(), centerPosition.getY()).transform(factor, offset);
-        drawTextSingleLine(ctx, message, newCenter);
+        double x = centerPosition.getX() * factor + offset.getX();
+        double y = centerPosition.getY() * factor + offset.getY();
+        drawTextSingleLine(ctx, message, x, y);
     }
 
     public void drawTextSingleLine(AdvancedContext2d ctx, String message, Coordinate centerPosition) {
         ctx.fillText(message, centerPosition.getX(), centerPosition.getY());
     }
 
+    public void drawTextSingleLine(AdvancedContext2d ctx, String message, double centerX, double centerY) {
+        ctx.fillText(message, centerX, centerY);
+    }
+
     public void borderTextSingleLine(AdvancedContext2d ctx, String message, Coordinate centerPosition) {
         ctx.fillText(message, centerPosition.getX(), centerPosition.getY());
         ctx.strokeText(message, centerPosition.getX(), centerPosition.getY());
@@ -62,28 +95,25 @@ public class TextRenderer {
     }
 
     public void drawTextMultiLine(AdvancedContext2d ctx, String message, NodeProperties properties, Double factor, Coordinate offset) {
-        NodeProperties prop = NodePropertiesFactory.transform(properties, factor, offset);
-        drawTextMultiLine(ctx, message, prop);
+        drawTextMultiLine(ctx, message, transformed.transform(properties, factor, offset));
     }
 
     public void drawTextMultiLine(AdvancedContext2d ctx, String message, NodeProperties properties) {
         double availableWidth = properties.getWidth() - padding;
-        List<String> textLines = splitText(ctx, message, availableWidth);
+        List<String> textLines = getTextLines(ctx, message, availableWidth);
 
         double x = properties.getX() + properties.getWidth() / 2;
         double y = properties.getY() + properties.getHeight() / 2;
 
         if (textLines.size() == 1) {
             //Attempt to split at the end of CHEMBL
-            textLines = splitAfterPrefix(message, "CHEMBL");
-            if (textLines.size() == 1) {
-                drawTextSingleLine(ctx, message, CoordinateFactory.get(x, y));
+            if (!startsWithIgnoreCase(message, "CHEMBL")) {
+                drawTextSingleLine(ctx, message, x, y);
                 return;
             }
+            textLines = splitAfterPrefix(message, "CHEMBL");
         }
 
-        textLines = ellipsisTextLines(textLines);
-
         // If multiple lines start drawing a bit higher
         y = y - ((textLines.size() - 1) * fontSize) / 2;
 
@@ -98,18 +128,16 @@ public class TextRenderer {
 
     public void borderTextMultiLine(AdvancedContext2d ctx, String message, NodeProperties properties) {
         double availableWidth = properties.getWidth() - padding;
-        List<String> textLines = splitText(ctx, message, availableWidth);
+        List<String> textLines = getTextLines(ctx, message, availableWidth);
 
         double x = properties.getX() + properties.getWidth() / 2;
         double y = (properties.getY() + properties.getHeight() / 2);
 
         if (textLines.size() == 1) {
-            drawTextSingleLine(ctx, message, CoordinateFactory.get(x, y));
+            drawTextSingleLine(ctx, message, x, y);
             return;
         }
 
-        textLines = ellipsisTextLines(textLines);
-
         // If multiple lines start drawing a bit higher
         y = y - ((textLines.size() - 1) * fontSize) / 2;
 
@@ -128,19 +156,45 @@ public class TextRenderer {
         }
     }
 
-    private List<String> ellipsisTextLines(List<String> textLines) {
+    /**
+     * Width of the message with the font of the context (using the glyph widths table instead of measureText)
+     */
+    public static double measureText(AdvancedContext2d ctx, String message) {
+        return TextLayoutCache.getMeasure(ctx).width(ctx, message);
+    }
+
+    /**
+     * The cached layouts have to be discarded when the zoom level changes
+     */
+    public static void clearLayoutCache() {
+        TextLayoutCache.clear();
+    }
+
+    //The cached lists are shared so they are never modified
+    private static List<String> ellipsisTextLines(List<String> textLines) {
         if (textLines.size() > MAX_LINE) {
-            textLines = textLines.subList(0, MAX_LINE - 1);
+            textLines = new ArrayList<>(textLines.subList(0, MAX_LINE - 1));
             textLines.add("...");
         }
         return textLines;
     }
 
+    private static List<String> getTextLines(AdvancedContext2d ctx, String message, double availableWidth) {
+        TextLayoutCache.Measure measure = TextLayoutCache.getMeasure(ctx);
+        List<String> rtn = measure.getLines(message, availableWidth);
+        if (rtn == null) {
+            //The lines are kept already shortened to the ones that are drawn
+            rtn = ellipsisTextLines(splitText(ctx, measure, message, availableWidth));
+            measure.putLines(message, availableWidth, rtn);
+        }
+        return rtn;
+    }
+
     //**************************************************************//
     //*********** Methods used to split the long text  *************//
     //**************************************************************//
 
-    private static List<String> splitText(AdvancedContext2d ctx, String fullName, double availableWidth) {
+    private static List<String> splitText(AdvancedContext2d ctx, TextLayoutCache.Measure measure, String fullName, double availableWidth) {
         List<String> rtn = new LinkedList<>();
 
         //1. split all words
@@ -148,11 +202,11 @@ public class TextRenderer {
         if (words.length > 0) {
             StringBuilder singleLine = new StringBuilder();
             for (String word : words) {
-                double wordWidth = measureText(ctx, word);
+                double wordWidth = measure.width(ctx, word);
 
                 // check if word is too large
                 if (wordWidth > availableWidth) {
-                    splitLongWord(ctx, rtn, singleLine, word, availableWidth);
+                    splitLongWord(ctx, measure, rtn, singleLine, word, availableWidth);
                     continue;
                 }
 
@@ -160,7 +214,7 @@ public class TextRenderer {
 
                 if (singleLine.length() == 0) {
                     singleLine.append(word);
-                } else if (Math.floor(measureText(ctx, aux)) <= Math.floor(availableWidth) + 2) {
+                } else if (Math.floor(measure.width(ctx, aux)) <= Math.floor(availableWidth) + 2) {
                     singleLine.append(" ").append(word);
                 } else {
                     rtn.add(singleLine.toString());
@@ -177,8 +231,8 @@ public class TextRenderer {
         return rtn;
     }
 
-    private static void splitLongWord(AdvancedContext2d ctx, List<String> allLines, StringBuilder currentLine, String longWord, double availableWidth) {
-        double currentLineWidth = measureText(ctx, currentLine.toString());
+    private static void splitLongWord(AdvancedContext2d ctx, TextLayoutCache.Measure measure, List<String> allLines, StringBuilder currentLine, String longWord, double availableWidth) {
+        double currentLineWidth = measure.width(ctx, currentLine.toString());
 
         //Attempt to split the word backwards
         for (int i = longWord.length() - 1; i >= 0; i--) {
@@ -196,7 +250,7 @@ public class TextRenderer {
 
                 String aux = currentLine.toString() + firstPart;
 
-                if (Math.floor(measureText(ctx, aux)) <= Math.floor(availableWidth) + 1) {
+                if (Math.floor(measure.width(ctx, aux)) <= Math.floor(availableWidth) + 1) {
                     // It fits!
 
                     // Add first part into the currentLine
@@ -213,8 +267,8 @@ public class TextRenderer {
                     currentLine.setLength(0);
 
                     // If word needs further splitting call the method again
-                    if (measureText(ctx, secondPart) > availableWidth) {
-                        splitLongWord(ctx, allLines, currentLine, secondPart, availableWidth);
+                    if (measure.width(ctx, secondPart) > availableWidth) {
+                        splitLongWord(ctx, measure, allLines, currentLine, secondPart, availableWidth);
                     } else {
                         // Add the second part of the split word into the new line
                         currentLine.append(secondPart);
@@ -226,7 +280,7 @@ public class TextRenderer {
                 //change line and try to split again
                 allLines.add(currentLine.toString());
                 currentLine.setLength(0);
-                splitLongWord(ctx, allLines, currentLine, longWord, availableWidth);
+                splitLongWord(ctx, measure, allLines, currentLine, longWord, availableWidth);
             } else if (i == 0 && currentLine.length() == 0) {
                 //It is impossible to split the word so just show it in new line
                 allLines.add(longWord);
@@ -234,6 +288,10 @@ public class TextRenderer {
         }
     }
 
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
     private static List<String> splitAfterPrefix(String fullName, final String prefix) {
         List<String> rtn = new LinkedList<>();
 
@@ -247,8 +305,4 @@ public class TextRenderer {
         }
         return rtn;
     }
-
-    private static double measureText(AdvancedContext2d ctx, String message) {
-        return ctx.measureText(message).getWidth();
-    }
 }
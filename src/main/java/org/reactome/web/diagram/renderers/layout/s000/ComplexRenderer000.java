@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -40,7 +39,7 @@ public class ComplexRenderer000 extends ComplexAbstractRenderer {
 
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         double minX = prop.getX();
         double maxX = minX + prop.getWidth() * percentage;
@@ -51,10 +50,10 @@ public class ComplexRenderer000 extends ComplexAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -64,25 +63,23 @@ public class ComplexRenderer000 extends ComplexAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getEnrichment().getGradient().getMax());
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawExpression(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -96,26 +93,23 @@ public class ComplexRenderer000 extends ComplexAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().expressionGradient.getColor(value, min, max));
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -129,17 +123,14 @@ public class ComplexRenderer000 extends ComplexAbstractRenderer {
         Collections.sort(expression);
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().regulationColorMap.getColor((int) value));
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
 
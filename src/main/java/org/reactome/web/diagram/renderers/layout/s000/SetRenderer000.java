@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -29,7 +28,7 @@ public class SetRenderer000 extends SetAbstractRenderer {
         if (!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         fillShape(ctx, prop, node.getNeedDashedBorder());
         ctx.fill();
         ctx.stroke();
@@ -51,7 +50,7 @@ public class SetRenderer000 extends SetAbstractRenderer {
 
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         double minX = prop.getX();
         double maxX = minX + prop.getWidth() * percentage;
@@ -62,10 +61,10 @@ public class SetRenderer000 extends SetAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset){
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -75,26 +74,23 @@ public class SetRenderer000 extends SetAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawExpression(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -108,25 +104,23 @@ public class SetRenderer000 extends SetAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().expressionGradient.getColor(value, min, max));
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -140,16 +134,14 @@ public class SetRenderer000 extends SetAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().regulationColorMap.getColor((int) value));
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.fill();
         buffer.setGlobalCompositeOperation(Context2d.Composite.SOURCE_IN);
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
 
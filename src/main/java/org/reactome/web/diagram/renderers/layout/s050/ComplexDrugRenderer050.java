@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -35,7 +34,7 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
 
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         double minX = prop.getX();
         double maxX = minX + prop.getWidth() * percentage;
@@ -46,10 +45,10 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -59,8 +58,7 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
@@ -72,17 +70,16 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getEnrichment().getText());
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawExpression(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -96,8 +93,7 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().expressionGradient.getColor(value, min, max));
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
@@ -111,17 +107,16 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getExpression().getText());
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset){
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -135,8 +130,7 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().regulationColorMap.getColor((int) value));
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
@@ -150,7 +144,6 @@ public class ComplexDrugRenderer050 extends ComplexDrugAbstractRenderer {
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getExpression().getText());
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0);
-        buffer.restore();
+        overlay.composeRegion();
     }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.OverlayContext;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -21,7 +20,7 @@ public class EncapsulatedNodeRenderer050 extends EncapsulatedNodeAbstractRendere
     @SuppressWarnings("Duplicates")
     public void highlight(AdvancedContext2d ctx, DiagramObject item, Double factor, Coordinate offset) {
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         ctx.save();
         ctx.setLineWidth(RendererProperties.PROCESS_NODE_INSET_WIDTH + 4);
         shape(ctx, prop, node.getNeedDashedBorder());
@@ -45,7 +44,7 @@ public class EncapsulatedNodeRenderer050 extends EncapsulatedNodeAbstractRendere
         if(!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.NORMAL);
@@ -60,8 +59,7 @@ public class EncapsulatedNodeRenderer050 extends EncapsulatedNodeAbstractRendere
 
         GraphPathway graphPathway = node.getGraphObject();
         double p = graphPathway.getPercentage() < 0.075 ? 0.075 : graphPathway.getPercentage();
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         setColourProperties(buffer, ColourProfileType.NORMAL);
         buffer.setLineWidth(RendererProperties.PROCESS_NODE_INSET_WIDTH);
         buffer.setFillStyle(ctx.getFillStyle());
@@ -72,7 +70,6 @@ public class EncapsulatedNodeRenderer050 extends EncapsulatedNodeAbstractRendere
         shape(buffer, prop, node.getNeedDashedBorder());
         buffer.stroke();
 
-        ctx.drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion(ctx);
     }
 }
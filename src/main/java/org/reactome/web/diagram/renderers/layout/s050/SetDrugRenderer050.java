@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -35,7 +34,7 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
 
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         double minX = prop.getX();
         double maxX = minX + prop.getWidth() * percentage;
@@ -46,7 +45,7 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset){
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS); //IMPORTANT
@@ -55,10 +54,9 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         ctx.restore();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
@@ -72,17 +70,16 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        ctx.drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion(ctx);
     }
 
     @Override
     public void drawExpression(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset) {
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -94,8 +91,7 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().expressionGradient.getColor(value, min, max));
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
@@ -115,17 +111,16 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getExpression().getText());
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset) {
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -137,8 +132,7 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         Collections.sort(expression);       //Collections.sort(expression, Collections.reverseOrder());
         double value = ExpressionUtil.median(expression);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(AnalysisColours.get().regulationColorMap.getColor((int)value));
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
 
@@ -158,7 +152,6 @@ public class SetDrugRenderer050 extends SetDrugAbstractRenderer {
         buffer.setFillStyle(AnalysisColours.get().PROFILE.getExpression().getText());
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0);
-        buffer.restore();
+        overlay.composeRegion();
     }
 }
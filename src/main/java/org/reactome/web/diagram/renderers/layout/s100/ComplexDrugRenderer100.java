@@ -7,7 +7,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -31,7 +30,7 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         List<Participant> participantsWithExpression = Participant.asSortedList(complex.getParticipantsExpression(t));
         if (participantsWithExpression.isEmpty()) return null;
 
-        double delta = prop.getWidth() / complex.getParticipants().size();
+        double delta = prop.getWidth() / complex.getParticipantsCount();
         double minX = prop.getX();
         for (Participant participant : participantsWithExpression) {
             Double value = participant.getExpression();
@@ -45,10 +44,10 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset) {
         GraphComplex complex = item.getGraphObject();
-        double percentage = complex.getHitParticipants().size() / (double) complex.getParticipants().size();
+        double percentage = complex.getHitParticipantsCount() / (double) complex.getParticipantsCount();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -58,8 +57,7 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
@@ -70,15 +68,14 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         setTextProperties(buffer, ColourProfileType.ANALYSIS);
         drawText(buffer, item, factor, offset);
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawExpression(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset) {
         GraphComplex complex = item.getGraphObject();
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -88,11 +85,10 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        double delta = prop.getWidth() / complex.getParticipants().size();
+        double delta = prop.getWidth() / complex.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         for (Participant participant : Participant.asSortedList(complex.getParticipantsExpression(t))) {
             double value = participant.getExpression();
             buffer.setFillStyle(AnalysisColours.get().expressionGradient.getColor(value, min, max));
@@ -116,15 +112,14 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
     public void drawRegulation(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, int t, double min, double max, Double factor, Coordinate offset) {
         GraphComplex complex = item.getGraphObject();
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -134,11 +129,10 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         ctx.stroke();
         ctx.restore();
 
-        double delta = prop.getWidth() / complex.getParticipants().size();
+        double delta = prop.getWidth() / complex.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         for (Participant participant : Participant.asSortedList(complex.getParticipantsExpression(t))) {
             double value = participant.getExpression();
             buffer.setFillStyle(AnalysisColours.get().regulationColorMap.getColor((int)value));
@@ -162,7 +156,6 @@ public class ComplexDrugRenderer100 extends ComplexDrugAbstractRenderer {
         buffer.octagon(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.COMPLEX_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0);
-        buffer.restore();
+        overlay.composeRegion();
     }
 }
\ No newline at end of file
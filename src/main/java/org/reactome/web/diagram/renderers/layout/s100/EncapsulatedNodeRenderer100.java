@@ -6,7 +6,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
 import org.reactome.web.diagram.renderers.common.OverlayContext;
 import org.reactome.web.diagram.renderers.common.RendererProperties;
@@ -22,7 +21,7 @@ public class EncapsulatedNodeRenderer100 extends EncapsulatedNodeAbstractRendere
         if(!isVisible(item)) return;
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
         shape(ctx, prop, node.getNeedDashedBorder());
         ctx.fill();
         ctx.stroke();
@@ -61,7 +60,7 @@ public class EncapsulatedNodeRenderer100 extends EncapsulatedNodeAbstractRendere
     @Override
     public void drawAnalysisResult(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset){
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.NORMAL);
@@ -79,8 +78,7 @@ public class EncapsulatedNodeRenderer100 extends EncapsulatedNodeAbstractRendere
         ctx.restore();
 
         GraphPathway graphPathway = node.getGraphObject();
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         setColourProperties(buffer, ColourProfileType.NORMAL);
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setFillStyle(ctx.getFillStyle());
@@ -95,7 +93,6 @@ public class EncapsulatedNodeRenderer100 extends EncapsulatedNodeAbstractRendere
         shape(buffer, prop, node.getNeedDashedBorder());
         buffer.fill();
 
-        ctx.drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion(ctx);
     }
 }
@@ -7,7 +7,6 @@ import org.reactome.web.diagram.data.layout.Coordinate;
 import org.reactome.web.diagram.data.layout.DiagramObject;
 import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -31,7 +30,7 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         List<Participant> participantsWithExpression = Participant.asSortedList(set.getParticipantsExpression(t));
         if (participantsWithExpression.isEmpty()) return null;
 
-        double delta = prop.getWidth() / set.getParticipants().size();
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double minX = prop.getX();
         for (Participant participant : participantsWithExpression) {
             Double value = participant.getExpression();
@@ -45,7 +44,7 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset) {
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -54,10 +53,9 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         ctx.restore();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
@@ -71,8 +69,7 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        ctx.drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion(ctx);
     }
 
     @Override
@@ -86,12 +83,11 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         ctx.restore();
 
         GraphEntitySet set = item.getGraphObject();
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        double delta = prop.getWidth() / set.getParticipants().size();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setStrokeStyle(ctx.getStrokeStyle());
         buffer.setFillStyle(ctx.getFillStyle());
@@ -127,8 +123,7 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
@@ -142,12 +137,11 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         ctx.restore();
 
         GraphEntitySet set = item.getGraphObject();
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        double delta = prop.getWidth() / set.getParticipants().size();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setStrokeStyle(ctx.getStrokeStyle());
         buffer.setFillStyle(ctx.getFillStyle());
@@ -183,7 +177,6 @@ public class SetDrugRenderer100 extends SetDrugAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0);
-        buffer.restore();
+        overlay.composeRegion();
     }
 }
@@ -9,7 +9,6 @@ import org.reactome.web.diagram.data.layout.Node;
 import org.reactome.web.diagram.data.layout.NodeProperties;
 import org.reactome.web.diagram.data.layout.SummaryItem;
 import org.reactome.web.diagram.data.layout.category.ShapeCategory;
-import org.reactome.web.diagram.data.layout.impl.NodePropertiesFactory;
 import org.reactome.web.diagram.profiles.analysis.AnalysisColours;
 import org.reactome.web.diagram.profiles.diagram.DiagramColours;
 import org.reactome.web.diagram.renderers.common.ColourProfileType;
@@ -34,7 +33,7 @@ public class SetRenderer100 extends SetAbstractRenderer {
         List<Participant> participantsWithExpression = Participant.asSortedList(set.getParticipantsExpression(t));
         if (participantsWithExpression.isEmpty()) return null;
 
-        double delta = prop.getWidth() / set.getParticipants().size();
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double minX = prop.getX();
         for (Participant participant : participantsWithExpression) {
             Double value = participant.getExpression();
@@ -48,7 +47,7 @@ public class SetRenderer100 extends SetAbstractRenderer {
     @Override
     public void drawEnrichment(AdvancedContext2d ctx, OverlayContext overlay, DiagramObject item, Double factor, Coordinate offset) {
         GraphEntitySet set = item.getGraphObject();
-        double percentage = set.getHitParticipants().size() / (double) set.getParticipants().size();
+        double percentage = set.getHitParticipantsCount() / (double) set.getParticipantsCount();
 
         ctx.save();
         setColourProperties(ctx, ColourProfileType.ANALYSIS);
@@ -57,10 +56,9 @@ public class SetRenderer100 extends SetAbstractRenderer {
         ctx.restore();
 
         Node node = (Node) item;
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
+        NodeProperties prop = transform(node.getProp(), factor, offset);
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setFillStyle(ctx.getFillStyle());
         buffer.fillRect(prop.getX(), prop.getY(), prop.getWidth() * percentage, prop.getHeight());
@@ -74,8 +72,7 @@ public class SetRenderer100 extends SetAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        ctx.drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion(ctx);
     }
 
     @Override
@@ -89,12 +86,11 @@ public class SetRenderer100 extends SetAbstractRenderer {
         ctx.restore();
 
         GraphEntitySet set = item.getGraphObject();
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        double delta = prop.getWidth() / set.getParticipants().size();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setStrokeStyle(ctx.getStrokeStyle());
         buffer.setFillStyle(ctx.getFillStyle());
@@ -130,8 +126,7 @@ public class SetRenderer100 extends SetAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
 
     @Override
@@ -145,12 +140,11 @@ public class SetRenderer100 extends SetAbstractRenderer {
         ctx.restore();
 
         GraphEntitySet set = item.getGraphObject();
-        NodeProperties prop = NodePropertiesFactory.transform(node.getProp(), factor, offset);
-        double delta = prop.getWidth() / set.getParticipants().size();
+        NodeProperties prop = transform(node.getProp(), factor, offset);
+        double delta = prop.getWidth() / set.getParticipantsCount();
         double x = prop.getX();
 
-        AdvancedContext2d buffer = overlay.getBuffer();
-        buffer.save();
+        AdvancedContext2d buffer = overlay.openRegion(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight());
         buffer.setLineWidth(ctx.getLineWidth());
         buffer.setStrokeStyle(ctx.getStrokeStyle());
         buffer.setFillStyle(ctx.getFillStyle());
@@ -186,8 +180,7 @@ public class SetRenderer100 extends SetAbstractRenderer {
         buffer.roundedRectangle(prop.getX(), prop.getY(), prop.getWidth(), prop.getHeight(), RendererProperties.ROUND_RECT_ARC_WIDTH);
         buffer.fill();
 
-        overlay.getOverlay().drawImage(buffer.getCanvas(), 0, 0); //TODO: Improve this to copy only the region
-        buffer.restore();
+        overlay.composeRegion();
     }
     
     @Override
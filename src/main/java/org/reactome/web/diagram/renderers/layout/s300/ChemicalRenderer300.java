@@ -79,7 +79,7 @@ public class ChemicalRenderer300 extends ChemicalAbstractRenderer {
 
             String displayName = node.getDisplayName();
             DiagramBox textBox = box.splitHorizontally(splitBasis).get(1); //box is now the remaining of item box removing the image
-            TextRenderer textRenderer = new TextRenderer(fontSize, RendererProperties.NODE_TEXT_PADDING);
+            TextRenderer textRenderer = TextRenderer.get(fontSize, RendererProperties.NODE_TEXT_PADDING);
             textRenderer.drawTextMultiLine(ctx, displayName, NodePropertiesFactory.get(textBox));
         }
         ctx.restore();
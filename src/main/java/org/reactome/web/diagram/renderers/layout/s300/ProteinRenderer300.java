@@ -105,7 +105,7 @@ public class ProteinRenderer300 extends ProteinAbstractRenderer {
             }
 
             box = box.splitHorizontally(splitBasis).get(1); //box is now the remaining of item box removing the image
-            TextRenderer textRenderer = new TextRenderer(fontSize, RendererProperties.NODE_TEXT_PADDING);
+            TextRenderer textRenderer = TextRenderer.get(fontSize, RendererProperties.NODE_TEXT_PADDING);
 
             String details = pe.getDetails();
             if (details == null) {
@@ -126,7 +126,7 @@ public class ProteinRenderer300 extends ProteinAbstractRenderer {
 
                 fontSize /= 2.11;
                 ctx.setFont(RendererProperties.getFont(fontSize));
-                textRenderer = new TextRenderer(fontSize, RendererProperties.NODE_TEXT_PADDING);
+                textRenderer = TextRenderer.get(fontSize, RendererProperties.NODE_TEXT_PADDING);
                 textRenderer.drawTextSingleLine(ctx, pe.getIdentifier(), vBoxes.get(1).getCentre());
 
                 DiagramBox detailsBox = vBoxes.get(2);
@@ -0,0 +1,270 @@
+package org.reactome.web.diagram.search;
+
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.graph.model.GraphObject;
+import org.reactome.web.diagram.data.graph.model.GraphPhysicalEntity;
+import org.reactome.web.diagram.data.interactors.common.OverlayResource;
+import org.reactome.web.diagram.data.interactors.model.InteractorSearchResult;
+import org.reactome.web.diagram.search.results.ResultItem;
+import org.reactome.web.diagram.search.results.data.model.Entry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix index of the words in the display names, identifiers and gene names of the objects of a content
+ * (and the accessions and aliases of the interactors of every resource) so the in-diagram search and the
+ * autocomplete are answered without querying the server. A query matches the objects containing, for each
+ * one of its terms, a word starting with it (the interactors are also matched by any part of their accession
+ * or alias).
+ * <p>
+ * It is built once per context (see get) and the interactors are indexed the first time they are searched
+ * for a given resource since they are loaded after the content.
+ */
+public class LocalSearchIndex {
+
+    private final TokenIndex<GraphObject> objects = new TokenIndex<>();
+    private final Map<String, TokenIndex<InteractorSearchResult>> interactors = new HashMap<>();
+    private final Map<String, List<InteractorSearchResult>> indexedInteractors = new HashMap<>();
+
+    private LocalSearchIndex(Content content) {
+        for (GraphObject graphObject : content.getDatabaseObjects()) {
+            if (graphObject.getDiagramObjects().isEmpty()) continue; //Only the ones that can be found in the diagram
+            List<String> terms = new ArrayList<>();
+            terms.add(graphObject.getDisplayName());
+            terms.add(graphObject.getStId());
+            if (graphObject instanceof GraphPhysicalEntity) {
+                GraphPhysicalEntity pe = (GraphPhysicalEntity) graphObject;
+                terms.add(pe.getIdentifier());
+                terms.addAll(pe.getGeneNames());
+            }
+            objects.add(graphObject, terms);
+        }
+        objects.freeze();
+    }
+
+    /**
+     * @return the index of the context content (it is built the first time it is requested)
+     */
+    public static LocalSearchIndex get(Context context) {
+        LocalSearchIndex index = context.getSearchIndex();
+        if (index == null) {
+            index = new LocalSearchIndex(context.getContent());
+            context.setSearchIndex(index);
+        }
+        return index;
+    }
+
+    /**
+     * @return the graph objects matching all the terms of the query, the ones whose name starts with it first
+     */
+    public List<GraphObject> search(String query) {
+        List<GraphObject> rtn = new ArrayList<>(objects.find(query));
+        String q = query.trim().toLowerCase();
+        rtn.sort((o1, o2) -> {
+            int c = Integer.compare(getRank(o2, q), getRank(o1, q));
+            return c != 0 ? c : o1.compareTo(o2);
+        });
+        return rtn;
+    }
+
+    /**
+     * @return the search results for the graph objects matching the query (as the ones retrieved from the server)
+     */
+    public List<SearchResultObject> searchResults(String query) {
+        List<SearchResultObject> rtn = new ArrayList<>();
+        for (GraphObject graphObject : search(query)) {
+            rtn.add(new ResultItem(new GraphObjectEntry(graphObject)));
+        }
+        return rtn;
+    }
+
+    /**
+     * @return up to max distinct names of the objects (and interactors) matching the query
+     */
+    public List<String> suggest(String query, List<InteractorSearchResult> interactors, OverlayResource resource, int max) {
+        Set<String> rtn = new LinkedHashSet<>();
+        for (GraphObject graphObject : search(query)) {
+            if (rtn.size() >= max) break;
+            rtn.add(graphObject.getDisplayName());
+        }
+        if (interactors != null && resource != null) {
+            for (InteractorSearchResult interactor : searchInteractors(query, interactors, resource)) {
+                if (rtn.size() >= max) break;
+                rtn.add(interactor.getDisplayName());
+            }
+        }
+        return new ArrayList<>(rtn);
+    }
+
+    /**
+     * @param interactors the interactors search items of the resource (see InteractorsContent.getInteractorSearchResult)
+     * @return the interactors matching all the terms of the query or containing it in their accession or alias
+     */
+    public List<InteractorSearchResult> searchInteractors(String query, List<InteractorSearchResult> interactors, OverlayResource resource) {
+        String key = resource.getIdentifier();
+        TokenIndex<InteractorSearchResult> index = this.interactors.get(key);
+        //The search items are created again when the interactors of the resource are reloaded
+        if (index == null || indexedInteractors.get(key) != interactors) {
+            index = new TokenIndex<>();
+            for (InteractorSearchResult interactor : interactors) {
+                index.add(interactor, Arrays.asList(interactor.getAccession(), interactor.getAlias()));
+            }
+            index.freeze();
+            this.interactors.put(key, index);
+            indexedInteractors.put(key, interactors);
+        }
+        Set<InteractorSearchResult> found = new HashSet<>(index.find(query));
+        //Interactors have always been found by any part of their accession or alias (see containsTerm)
+        String term = query == null ? "" : query.trim().toLowerCase();
+        List<InteractorSearchResult> rtn = new ArrayList<>();
+        for (InteractorSearchResult interactor : interactors) {
+            if (found.contains(interactor) || (!term.isEmpty() && interactor.containsTerm(term))) rtn.add(interactor);
+        }
+        return rtn;
+    }
+
+    private static int getRank(GraphObject graphObject, String query) {
+        String name = graphObject.getDisplayName() != null ? graphObject.getDisplayName().toLowerCase() : "";
+        if (name.equals(query)) return 2;
+        return name.startsWith(query) ? 1 : 0;
+    }
+
+    /**
+     * Sorted words with the items containing each one of them. The items are kept in the order they were added
+     */
+    private static class TokenIndex<T> {
+        private final List<T> items = new ArrayList<>();
+        private Map<String, Set<Integer>> building = new HashMap<>();
+
+        private String[] tokens;
+        private int[][] postings;
+
+        void add(T item, List<String> terms) {
+            int position = items.size();
+            items.add(item);
+            for (String term : terms) {
+                if (term == null || term.isEmpty()) continue;
+                String lower = term.toLowerCase();
+                addToken(lower, position);     //The whole term, so identifiers can be searched with punctuation
+                for (String word : lower.split("[^a-z0-9]+")) {
+                    addToken(word, position);
+                }
+            }
+        }
+
+        private void addToken(String token, int position) {
+            if (token.isEmpty()) return;
+            Set<Integer> set = building.get(token);
+            if (set == null) {
+                set = new LinkedHashSet<>();
+                building.put(token, set);
+            }
+            set.add(position);
+        }
+
+        void freeze() {
+            tokens = building.keySet().toArray(new String[0]);
+            Arrays.sort(tokens);
+            postings = new int[tokens.length][];
+            for (int i = 0; i < tokens.length; i++) {
+                Set<Integer> set = building.get(tokens[i]);
+                int[] positions = new int[set.size()];
+                int j = 0;
+                for (Integer position : set) positions[j++] = position;
+                postings[i] = positions;
+            }
+            building = null;
+        }
+
+        List<T> find(String query) {
+            if (query == null || query.trim().isEmpty()) return Collections.emptyList();
+            boolean[] matches = null;
+            for (String term : query.trim().toLowerCase().split("\\s+")) {
+                boolean[] aux = new boolean[items.size()];
+                //All the tokens starting with the term are contiguous in the sorted array
+                for (int i = lowerBound(term); i < tokens.length && tokens[i].startsWith(term); i++) {
+                    for (int position : postings[i]) aux[position] = true;
+                }
+                if (matches != null) {
+                    for (int i = 0; i < aux.length; i++) aux[i] &= matches[i];
+                }
+                matches = aux;
+            }
+            List<T> rtn = new ArrayList<>();
+            for (int i = 0; i < matches.length; i++) {
+                if (matches[i]) rtn.add(items.get(i));
+            }
+            return rtn;
+        }
+
+        private int lowerBound(String term) {
+            int lo = 0, hi = tokens.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (tokens[mid].compareTo(term) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Presents a graph object as an entry of the search results retrieved from the server
+     */
+    private static class GraphObjectEntry implements Entry {
+        private final GraphObject graphObject;
+
+        GraphObjectEntry(GraphObject graphObject) {
+            this.graphObject = graphObject;
+        }
+
+        @Override
+        public String getStId() {
+            return graphObject.getStId();
+        }
+
+        @Override
+        public String getId() {
+            return String.valueOf(graphObject.getDbId());
+        }
+
+        @Override
+        public String getName() {
+            return graphObject.getDisplayName();
+        }
+
+        @Override
+        public String getExactType() {
+            return graphObject.getClassName();
+        }
+
+        @Override
+        public List<String> getCompartmentNames() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public String getReferenceIdentifier() {
+            return graphObject instanceof GraphPhysicalEntity ? ((GraphPhysicalEntity) graphObject).getIdentifier() : null;
+        }
+
+        @Override
+        public String getDatabaseName() {
+            return null;
+        }
+
+        @Override
+        public String getReferenceURL() {
+            return null;
+        }
+    }
+}
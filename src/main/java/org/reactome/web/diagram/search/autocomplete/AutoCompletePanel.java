@@ -4,6 +4,7 @@ import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.KeyCodes;
+import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.resources.client.ClientBundle;
 import com.google.gwt.resources.client.CssResource;
@@ -14,6 +15,15 @@ import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.gwt.view.client.SingleSelectionModel;
+import org.reactome.web.diagram.data.Context;
+import org.reactome.web.diagram.data.interactors.common.OverlayResource;
+import org.reactome.web.diagram.data.interactors.model.InteractorSearchResult;
+import org.reactome.web.diagram.data.loader.LoaderManager;
+import org.reactome.web.diagram.events.ContentLoadedEvent;
+import org.reactome.web.diagram.events.ContentRequestedEvent;
+import org.reactome.web.diagram.handlers.ContentLoadedHandler;
+import org.reactome.web.diagram.handlers.ContentRequestedHandler;
+import org.reactome.web.diagram.search.LocalSearchIndex;
 import org.reactome.web.diagram.search.autocomplete.cells.AutoCompleteCell;
 import org.reactome.web.diagram.search.autocomplete.cells.RecentSearchCell;
 import org.reactome.web.diagram.search.common.RegExpUtil;
@@ -24,21 +34,29 @@ import org.reactome.web.diagram.search.searchbox.SearchBoxArrowKeysEvent;
 import org.reactome.web.diagram.search.searchbox.SearchBoxArrowKeysHandler;
 import org.reactome.web.diagram.util.Console;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
  */
 public class AutoCompletePanel extends AbstractAccordionPanel implements SearchPerformedHandler,
         OptionsExpandedHandler, OptionsCollapsedHandler, SearchBoxArrowKeysHandler,
-        AutoCompleteRequestedHandler, AutoCompleteResultsFactory.Handler {
+        AutoCompleteRequestedHandler, AutoCompleteResultsFactory.Handler,
+        ContentLoadedHandler, ContentRequestedHandler {
 
     private final static int AUTOCOMPLETE_SIZE = 10;
     private final static int RECENT_SIZE = 9;
 
     private List<String> terms;
 
+    private Context context;
+    //Suggestions from the displayed content. They are shown straight away and completed with the server ones
+    private List<AutoCompleteResult> localResults = new ArrayList<>();
+
     private CellList<AutoCompleteResult> autoCompleteList;
     private SingleSelectionModel<AutoCompleteResult> autoCompleteSelectionModel;
 
@@ -46,7 +64,7 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
 
     private Widget recentSearchesPanel;
 
-    public AutoCompletePanel() {
+    public AutoCompletePanel(EventBus eventBus) {
         setStyleName(RESOURCES.getCSS().container());
 
         FlowPanel main = new FlowPanel();
@@ -77,6 +95,9 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
         main.add(recentSearchesPanel);
 
         makeVisible(false);
+
+        eventBus.addHandler(ContentLoadedEvent.TYPE, this);
+        eventBus.addHandler(ContentRequestedEvent.TYPE, this);
     }
 
 
@@ -89,6 +110,16 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
         requestAutoCompleteResults(event.getTerm());
     }
 
+    @Override
+    public void onContentLoaded(ContentLoadedEvent event) {
+        context = event.getContext();
+    }
+
+    @Override
+    public void onContentRequested(ContentRequestedEvent event) {
+        context = null;
+    }
+
     @Override
     public void onSearchPerformed(SearchPerformedEvent event) {
         AutoCompleteResultsFactory.cancel();
@@ -100,6 +131,8 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
         if (tag != null && !tag.isEmpty()) {
             String[] allTerms = tag.toLowerCase().split("  *");
             terms = Arrays.asList(allTerms);
+            localResults = getLocalResults(tag);
+            showResults(localResults);
             AutoCompleteResultsFactory.searchForTag(tag, this);
         } else {
             makeVisible(false);
@@ -144,6 +177,16 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
 
     @Override
     public void onAutoCompleteSearchResult(List<AutoCompleteResult> results) {
+        List<AutoCompleteResult> merged = new ArrayList<>(localResults);
+        Set<String> included = localResults.stream().map(r -> r.getResult().toLowerCase()).collect(Collectors.toSet());
+        for (AutoCompleteResult result : results) {
+            if (merged.size() >= AUTOCOMPLETE_SIZE) break;
+            if (included.add(result.getResult().toLowerCase())) merged.add(result);
+        }
+        showResults(merged);
+    }
+
+    private void showResults(List<AutoCompleteResult> results) {
         if (!results.isEmpty()) {
             // Used for highlighting the result
             results.forEach(item -> item.setResultDisplay(RegExpUtil.getHighlightingExpression(terms)));
@@ -156,8 +199,21 @@ public class AutoCompletePanel extends AbstractAccordionPanel implements SearchP
         }
     }
 
+    private List<AutoCompleteResult> getLocalResults(String tag) {
+        List<AutoCompleteResult> rtn = new ArrayList<>();
+        if (context == null) return rtn;
+        OverlayResource resource = LoaderManager.INTERACTORS_RESOURCE;
+        List<InteractorSearchResult> interactors = resource != null ? context.getInteractors().getInteractorSearchResult(resource, context.getContent()) : null;
+        //Half of the list is left for the suggestions from the server
+        for (String suggestion : LocalSearchIndex.get(context).suggest(tag, interactors, resource, AUTOCOMPLETE_SIZE / 2)) {
+            rtn.add(new AutoCompleteResult(suggestion));
+        }
+        return rtn;
+    }
+
     @Override
     public void onAutoCompleteError() {
+        //The local suggestions (if any) are kept
         Console.warn("Error retrieving autocomplete suggestions");
 //        makeVisible(false);
     }
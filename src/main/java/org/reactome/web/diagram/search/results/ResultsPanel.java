@@ -1,6 +1,7 @@
 package org.reactome.web.diagram.search.results;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
@@ -26,6 +27,7 @@ import org.reactome.web.diagram.handlers.ContentLoadedHandler;
 import org.reactome.web.diagram.handlers.ContentRequestedHandler;
 import org.reactome.web.diagram.handlers.InteractorsLoadedHandler;
 import org.reactome.web.diagram.handlers.InteractorsResourceChangedHandler;
+import org.reactome.web.diagram.search.LocalSearchIndex;
 import org.reactome.web.diagram.search.SearchArguments;
 import org.reactome.web.diagram.search.SearchResultObject;
 import org.reactome.web.diagram.search.events.AutoCompleteRequestedEvent;
@@ -146,6 +148,11 @@ public class ResultsPanel extends AbstractAccordionPanel implements ScopeBarPane
     @Override
     public void onContentLoaded(ContentLoadedEvent event) {
         context = event.getContext();
+        //The index is built once the graph is loaded so the searches within the diagram are answered straight away
+        Context loaded = context;
+        Scheduler.get().scheduleDeferred(() -> {
+            if (loaded == context) LocalSearchIndex.get(loaded);
+        });
     }
 
     @Override
@@ -193,6 +200,8 @@ public class ResultsPanel extends AbstractAccordionPanel implements ScopeBarPane
         summary = null;
         updateScopeNumbers(null, null);
         updateFacets(null, null);
+        //The facets cannot be computed without the server but the results within the diagram are still shown
+        scopeBar.setTotalResultsNumber(LOCAL_SEARCH, countInDiagram(searchArguments));
         updateResult(overlayResource, null);
     }
 
@@ -212,6 +221,10 @@ public class ResultsPanel extends AbstractAccordionPanel implements ScopeBarPane
             if(clearSelection) {
                 clearSelection();
             }
+            // The results within the diagram do not depend on the server so they are shown straight away
+            if(activeResultWidget == resultsWidgets.get(LOCAL_SEARCH)) {
+                updateResult(overlayResource, null);
+            }
         }
 
         previousSearchArguments = searchArguments;
@@ -345,14 +358,28 @@ public class ResultsPanel extends AbstractAccordionPanel implements ScopeBarPane
     private List<SearchResultObject> findInDiagramInteractors(SearchArguments args, OverlayResource overlayResource) {
         List<SearchResultObject> rtn = null;
         if(args!=null && context != null && overlayResource != null) {
-            rtn = context.getInteractors().queryForInteractors(overlayResource, context.getContent(), args.getQuery());
-            if(rtn != null) {
+            List<InteractorSearchResult> interactors = context.getInteractors().getInteractorSearchResult(overlayResource, context.getContent());
+            List<InteractorSearchResult> found = LocalSearchIndex.get(context).searchInteractors(args.getQuery(), interactors, overlayResource);
+            if(!found.isEmpty()) {
+                rtn = new ArrayList<>(found);
                 rtn.forEach(item -> item.setSearchDisplay(args));
             }
         }
         return rtn;
     }
 
+    private int countInDiagram(SearchArguments args) {
+        int rtn = 0;
+        if(args!=null && context != null) {
+            rtn = LocalSearchIndex.get(context).searchResults(args.getQuery()).size();
+            List<SearchResultObject> interactors = findInDiagramInteractors(args, overlayResource);
+            if(interactors != null) {
+                rtn += interactors.size();
+            }
+        }
+        return rtn;
+    }
+
     private boolean isStaticResourceLoaded() {
         return overlayResource.getIdentifier().equalsIgnoreCase(DiagramFactory.INTERACTORS_INITIAL_RESOURCE);
     }
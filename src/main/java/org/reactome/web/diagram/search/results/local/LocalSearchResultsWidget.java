@@ -2,31 +2,36 @@ package org.reactome.web.diagram.search.results.local;
 
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.cellview.client.CellList;
 import com.google.gwt.user.client.ui.Composite;
-import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.view.client.ListDataProvider;
 import com.google.gwt.view.client.SelectionChangeEvent;
 import com.google.gwt.view.client.SingleSelectionModel;
-import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.interactors.common.OverlayResource;
+import org.reactome.web.diagram.data.interactors.model.InteractorSearchResult;
 import org.reactome.web.diagram.events.ContentLoadedEvent;
 import org.reactome.web.diagram.events.ContentRequestedEvent;
 import org.reactome.web.diagram.handlers.ContentLoadedHandler;
 import org.reactome.web.diagram.handlers.ContentRequestedHandler;
+import org.reactome.web.diagram.search.LocalSearchIndex;
 import org.reactome.web.diagram.search.SearchArguments;
 import org.reactome.web.diagram.search.SearchResultObject;
 import org.reactome.web.diagram.search.events.FacetsLoadedEvent;
 import org.reactome.web.diagram.search.events.ResultSelectedEvent;
 import org.reactome.web.diagram.search.handlers.FacetsLoadedHandler;
 import org.reactome.web.diagram.search.handlers.ResultSelectedHandler;
+import org.reactome.web.diagram.search.results.ResultItem;
 import org.reactome.web.diagram.search.results.ResultsPanel;
 import org.reactome.web.diagram.search.results.ResultsWidget;
 import org.reactome.web.diagram.search.results.cells.SearchResultCell;
 import org.reactome.web.diagram.search.results.data.model.FacetContainer;
-import org.reactome.web.scroller.client.InfiniteScrollList;
+import org.reactome.web.diagram.util.SearchResultImageMapper;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -35,41 +40,44 @@ import static org.reactome.web.diagram.search.events.ResultSelectedEvent.ResultT
 
 
 /**
+ * Shows the objects (and interactors) of the displayed diagram matching the search. They are retrieved from the
+ * LocalSearchIndex of the context, so the server is only queried for the facets and the numbers of results
+ * (see ResultsPanel).
+ *
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
  */
 @SuppressWarnings("all")
 public class LocalSearchResultsWidget extends Composite implements ResultsWidget, SelectionChangeEvent.Handler,
         ContentLoadedHandler, ContentRequestedHandler {
 
-    public final static String PREFIX = DiagramFactory.SERVER + "/ContentService/search/diagram/";
-
     private EventBus eventBus;
     private Context context;
-    private OverlayResource overlayResource;
     private int scope = -1;
 
     private SearchArguments arguments;
     private SearchResultObject selectedItem;
 
     private SingleSelectionModel<SearchResultObject> selectionModel = new SingleSelectionModel<>(ResultsPanel.KEY_PROVIDER);
-    private InfiniteScrollList<SearchResultObject> resultsList;
-    private LocalSearchProvider dataProvider;
+    private CellList<SearchResultObject> resultsList;
+    private ListDataProvider<SearchResultObject> dataProvider;
 
     private List<FacetContainer> facets = new ArrayList<>();
     private Set<String> selectedFacets = new HashSet<>();
 
-    private FlowPanel main;
+    private ScrollPanel main;
 
     public LocalSearchResultsWidget(int scope, EventBus eventBus) {
         this.eventBus = eventBus;
         this.scope = scope;
 
         SearchResultCell cell = new SearchResultCell();
-        dataProvider = new LocalSearchProvider();
-        resultsList = new InfiniteScrollList(cell, ResultsPanel.KEY_PROVIDER, dataProvider, ResultsPanel.CUSTOM_LIST_STYLE);
+        resultsList = new CellList<>(cell, ResultsPanel.CUSTOM_LIST_STYLE, ResultsPanel.KEY_PROVIDER);
         resultsList.setSelectionModel(selectionModel);
+        dataProvider = new ListDataProvider<>(ResultsPanel.KEY_PROVIDER);
+        dataProvider.addDataDisplay(resultsList);
 
-        main = new FlowPanel();
+        main = new ScrollPanel();
+        main.setSize("100%", "100%");
         main.add(resultsList);
 
         selectionModel.addSelectionChangeHandler(this);
@@ -92,6 +100,8 @@ public class LocalSearchResultsWidget extends Composite implements ResultsWidget
     @Override
     public void onContentRequested(ContentRequestedEvent event) {
         this.context = null;
+        this.arguments = null;
+        dataProvider.getList().clear();
 //        this.selectedItem = null;
     }
 
@@ -106,6 +116,11 @@ public class LocalSearchResultsWidget extends Composite implements ResultsWidget
         selectedItem = null;
     }
 
+    /**
+     * The results are searched again every time since the interactors of the resource or the selected facets may
+     * have changed for the same arguments (it is answered by the LocalSearchIndex of the context). The interactors
+     * passed by the ResultsPanel are not used because the ones of the static resource are also searched here.
+     */
     @Override
     public void updateResults(SearchArguments args, OverlayResource overlayResource, List<SearchResultObject> interactors) {
         if(args == null) return;
@@ -114,21 +129,16 @@ public class LocalSearchResultsWidget extends Composite implements ResultsWidget
             selectedFacets = args.getFacets();
         }
 
-        if(arguments == null || !(arguments.equals(args) && overlayResource.equals(this.overlayResource))) {
-            arguments = args;
-            this.overlayResource = overlayResource;
-
-            dataProvider.setSearchArguments(args, selectedFacets, overlayResource, PREFIX);
-            dataProvider.setExtraItemsToShow(null);
+        if(arguments == null || !arguments.equals(args)) {
+            main.scrollToTop();
+        }
+        arguments = args;
 
-            //Include the results of the search in the interactors (by searching inside the graph)
-            if(selectedFacets.isEmpty() || selectedFacets.contains("Interactor")) {
-                dataProvider.setExtraItemsToShow(interactors);
-            }
+        List<SearchResultObject> results = dataProvider.getList();
+        results.clear();
+        results.addAll(findInDiagram(args, overlayResource));
+        resultsList.setVisibleRange(0, results.size());
 
-            resultsList.setPageSize(30);
-            resultsList.loadFirstPage();
-        }
         restoreSelection();
         fireEvent(new FacetsLoadedEvent(facets, selectedFacets, scope));
     }
@@ -163,6 +173,42 @@ public class LocalSearchResultsWidget extends Composite implements ResultsWidget
         }
     }
 
+    private List<SearchResultObject> findInDiagram(SearchArguments args, OverlayResource overlayResource) {
+        List<SearchResultObject> rtn = new ArrayList<>();
+        if (context == null || !args.hasValidQuery()) return rtn;
+
+        LocalSearchIndex index = LocalSearchIndex.get(context);
+        rtn.addAll(index.searchResults(args.getQuery()));
+        if (overlayResource != null && context.getInteractors() != null) {
+            List<InteractorSearchResult> interactors = context.getInteractors().getInteractorSearchResult(overlayResource, context.getContent());
+            rtn.addAll(index.searchInteractors(args.getQuery(), interactors, overlayResource));
+        }
+
+        for (Iterator<SearchResultObject> it = rtn.iterator(); it.hasNext(); ) {
+            SearchResultObject item = it.next();
+            if (isInSelectedFacets(item)) {
+                item.setSearchDisplay(args);
+            } else {
+                it.remove();
+            }
+        }
+        return rtn;
+    }
+
+    /**
+     * The facets are named after the types of the search results retrieved from the server (the names shown for
+     * the types in SearchResultImageMapper) instead of the schema classes of the local objects
+     */
+    private boolean isInSelectedFacets(SearchResultObject item) {
+        if (selectedFacets.isEmpty()) return true;
+        String type = item instanceof ResultItem ? ((ResultItem) item).getExactType() : "Interactor";
+        String name = SearchResultImageMapper.getImage(type).getTooltip();
+        for (String facet : selectedFacets) {
+            if (facet.equalsIgnoreCase(type) || facet.equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+
     private void restoreSelection() {
         if (selectedItem != null) {
             fireEvent(new ResultSelectedEvent(selectedItem, LOCAL));
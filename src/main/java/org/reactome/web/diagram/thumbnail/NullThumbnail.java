@@ -1,7 +1,7 @@
 package org.reactome.web.diagram.thumbnail;
 
 import com.google.gwt.user.client.ui.AbsolutePanel;
-import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
@@ -22,7 +22,7 @@ public class NullThumbnail extends AbsolutePanel implements Thumbnail {
     }
 
     @Override
-    public void diagramRendered(Content content, Box visibleArea) {
+    public void diagramRendered(Context context, Box visibleArea) {
 
     }
 
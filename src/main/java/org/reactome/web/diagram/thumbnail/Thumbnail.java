@@ -1,7 +1,7 @@
 package org.reactome.web.diagram.thumbnail;
 
 import com.google.gwt.user.client.ui.IsWidget;
-import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
@@ -16,7 +16,7 @@ public interface Thumbnail extends IsWidget {
 
     void diagramProfileChanged();
 
-    void diagramRendered(Content content, Box visibleArea);
+    void diagramRendered(Context context, Box visibleArea);
 
     void diagramZoomEvent(Box visibleArea);
 
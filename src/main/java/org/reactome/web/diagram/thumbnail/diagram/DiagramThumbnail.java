@@ -2,11 +2,16 @@ package org.reactome.web.diagram.thumbnail.diagram;
 
 import com.google.gwt.canvas.client.Canvas;
 import com.google.gwt.canvas.dom.client.Context2d;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.CanvasElement;
+import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.*;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.AbsolutePanel;
 import org.reactome.web.diagram.client.DiagramFactory;
+import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.content.Content;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.data.layout.Compartment;
@@ -21,10 +26,15 @@ import org.reactome.web.diagram.util.AdvancedContext2d;
 import org.reactome.web.diagram.util.position.MousePosition;
 import uk.ac.ebi.pwp.structures.quadtree.client.Box;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
+ * The thumbnail is rendered in time slices (so it does not compete with the main view painting nor with
+ * the user input) into an offscreen bitmap that is kept in the context. Going back to a diagram that is
+ * still in the cache shows its thumbnail straight away.
+ *
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
@@ -34,10 +44,63 @@ public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
     private static final int HEIGHT = 75;
     private static final double MIN_LINE_WIDTH = 0.15;
     private static final int MAX_WIDTH_THRESHOLD = 160;
+    private static final double TIME_SLICE = 8; //milliseconds per rendering step
+
+    /**
+     * Renders the thumbnail items (compartments first) in steps of TIME_SLICE into an offscreen canvas
+     */
+    private class RenderTask implements Scheduler.RepeatingCommand {
+        private final Context context;
+        private final String profile;
+        private final List<DiagramObject> objects = new ArrayList<>();
+        private final CanvasElement bitmap;
+        private final AdvancedContext2d ctx;
+        private int compartments = 0;
+        private int next = 0;
+        private boolean cancelled = false;
+
+        RenderTask(Context context, String profile) {
+            this.context = context;
+            this.profile = profile;
+            for (DiagramObject item : context.getContent().getDiagramObjects()) {
+                if (item instanceof Compartment) objects.add(compartments++, item);
+                else objects.add(item);
+            }
+            bitmap = Document.get().createCanvasElement();
+            bitmap.setWidth(width);
+            bitmap.setHeight(height);
+            ctx = bitmap.getContext2d().cast();
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean execute() {
+            if (cancelled) return false;
+            double start = Duration.currentTimeMillis();
+            while (next < objects.size()) {
+                //Compartments and items are rendered in different canvases with different line widths
+                if (next == 0) ctx.setLineWidth(1);
+                if (next == compartments) ctx.setLineWidth(Math.max(factor, MIN_LINE_WIDTH));
+                DiagramObject item = objects.get(next++);
+                ThumbnailRenderer renderer = ThumbnailRendererManager.get().getRenderer(item);
+                if (renderer != null) renderer.draw(ctx, item, factor, offset);
+                if (Duration.currentTimeMillis() - start > TIME_SLICE) return true;
+            }
+            renderTask = null;
+            context.setThumbnail(profile, bitmap);
+            if (context == DiagramThumbnail.this.context) showBitmap(bitmap);
+            return false;
+        }
+    }
 
     private final EventBus eventBus;
 
+    private Context context;
     private Content content;
+    private RenderTask renderTask;
     private Coordinate offset;
     private double factor;
     private Coordinate from;
@@ -135,12 +198,14 @@ public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
     }
 
     @Override
-    public void diagramRendered(Content content, Box visibleArea) {
-        this.setContent(content, visibleArea);
+    public void diagramRendered(Context context, Box visibleArea) {
+        this.setContext(context, visibleArea);
     }
 
     @Override
     public void contentRequested() {
+        this.cancelRendering();
+        this.context = null;
         this.content = null;
         this.clearThumbnail();
     }
@@ -229,22 +294,31 @@ public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
 
     private void drawThumbnail() {
         this.setVisible(true);
+        this.cancelRendering();
 
-        AdvancedContext2d compartments = this.compartments.getContext2d().cast();
-        AdvancedContext2d items = this.items.getContext2d().cast();
+        String profile = DiagramColours.get().PROFILE.getName();
+        CanvasElement bitmap = this.context.getThumbnail(profile);
+        if (bitmap != null && bitmap.getWidth() == this.width && bitmap.getHeight() == this.height) {
+            this.showBitmap(bitmap);
+        } else {
+            this.renderTask = new RenderTask(this.context, profile);
+            Scheduler.get().scheduleIncremental(this.renderTask);
+        }
+    }
 
-        this.cleanCanvas(this.items);
-        for (DiagramObject item : this.content.getDiagramObjects()) {
-            ThumbnailRenderer renderer = ThumbnailRendererManager.get().getRenderer(item);
-            if (renderer == null) continue;
-            if (item instanceof Compartment) {
-                renderer.draw(compartments, item, this.factor, this.offset);
-            } else {
-                renderer.draw(items, item, this.factor, this.offset);
-            }
+    private void cancelRendering() {
+        if (this.renderTask != null) {
+            this.renderTask.cancel();
+            this.renderTask = null;
         }
     }
 
+    private void showBitmap(CanvasElement bitmap) {
+        this.cleanCanvas(this.compartments);
+        this.cleanCanvas(this.items);
+        this.compartments.getContext2d().drawImage(bitmap, 0, 0);
+    }
+
     private void select(DiagramObject item) {
         if (item == null) return;
         AdvancedContext2d ctx = this.selection.getContext2d().cast();
@@ -263,9 +337,10 @@ public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
         }
     }
 
-    private void setContent(Content content, Box visibleArea) {
-        if (this.content == content) return;
-        this.content = content;
+    private void setContext(Context context, Box visibleArea) {
+        if (this.content == context.getContent()) return;
+        this.context = context;
+        this.content = context.getContent();
 
         this.factor = HEIGHT / (this.content.getHeight() + FRAME);
         int width = (int) Math.ceil((this.content.getWidth() + FRAME) * this.factor);
@@ -279,7 +354,6 @@ public class DiagramThumbnail extends AbsolutePanel implements Thumbnail,
         this.resize(width, HEIGHT);
 
         this.offset = CoordinateFactory.get(FRAME / 2.0 - content.getMinX(), FRAME / 2.0 - content.getMinY());
-        this.items.getContext2d().setLineWidth(Math.max(this.factor, MIN_LINE_WIDTH));
 
         this.setVisible(true);
         this.setVisibleArea(visibleArea);
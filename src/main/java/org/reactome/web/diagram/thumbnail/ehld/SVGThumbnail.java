@@ -10,7 +10,7 @@ import com.google.gwt.event.shared.EventBus;
 import org.reactome.web.diagram.client.visualisers.ehld.AbstractSVGPanel;
 import org.reactome.web.diagram.client.visualisers.ehld.SVGEntity;
 import org.reactome.web.diagram.client.visualisers.ehld.events.SVGThumbnailAreaMovedEvent;
-import org.reactome.web.diagram.data.content.Content;
+import org.reactome.web.diagram.data.Context;
 import org.reactome.web.diagram.data.content.EHLDContent;
 import org.reactome.web.diagram.data.graph.model.GraphObject;
 import org.reactome.web.diagram.thumbnail.Thumbnail;
@@ -71,8 +71,8 @@ public class SVGThumbnail extends AbstractSVGPanel implements Thumbnail, Context
     }
 
     @Override
-    public void diagramRendered(Content content, Box visibleArea) {
-        EHLDContent ehldContent = (EHLDContent) content;
+    public void diagramRendered(Context context, Box visibleArea) {
+        EHLDContent ehldContent = (EHLDContent) context.getContent();
         svg = (OMSVGSVGElement) ehldContent.getSVG().cloneNode(true);
 
         // Remove all text elements from thumbnail
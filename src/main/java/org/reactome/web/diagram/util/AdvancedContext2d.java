@@ -330,4 +330,22 @@ public class AdvancedContext2d extends Context2d {
         bezierCurveTo(maxX, maxY + offset, minX, maxY + offset, minX, y1);
         closePath();
     }
+
+    //////////////////////////////
+    //  Methods for Path2D      //
+    //////////////////////////////
+
+    /**
+     * Fills the given path (see Path2D) instead of the current one
+     */
+    public final native void fill(Path2D path)/*-{
+        this.fill(path);
+    }-*/;
+
+    /**
+     * Strokes the given path (see Path2D) instead of the current one
+     */
+    public final native void stroke(Path2D path)/*-{
+        this.stroke(path);
+    }-*/;
 }
\ No newline at end of file
@@ -10,7 +10,9 @@ import java.util.Map;
  */
 public class ColorMap {
     private static String DEFAULT_NOT_FOUND = "#999999";
+    private static final int MIN_VALUE = -2;
     private Map<Integer, String> palette = new HashMap<>();
+    private String[] colours;   //Same as palette but indexed by (value - MIN_VALUE) to avoid boxing
 
     private ColorMap(ThreeColorGradient gradient) {
         palette.put( 2, gradient.getColor(0.0));                    // Sig up
@@ -18,6 +20,11 @@ public class ColorMap {
         palette.put( 0, getNotFoundColor(gradient.getColor(0.5)));  // Not Found
         palette.put(-1, gradient.getColor(0.75));                   // Non sig down
         palette.put(-2, gradient.getColor(1.0));                    // Sig down
+
+        colours = new String[palette.size()];
+        for (int i = 0; i < colours.length; i++) {
+            colours[i] = palette.get(i + MIN_VALUE);
+        }
     }
 
     public static ColorMap fromGradient(ThreeColorGradient gradient) {
@@ -25,8 +32,9 @@ public class ColorMap {
         return new ColorMap(gradient);
     }
 
-    public String getColor(Integer p) {
-        return palette.getOrDefault(p, "#FF000");
+    public String getColor(int p) {
+        int i = p - MIN_VALUE;
+        return i >= 0 && i < colours.length ? colours[i] : "#FF000";
     }
 
     public Map<Integer, String> getPalette() {
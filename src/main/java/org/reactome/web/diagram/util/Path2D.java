@@ -0,0 +1,42 @@
+package org.reactome.web.diagram.util;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * Wraps the canvas Path2D so a shape can be traced once and then filled or stroked as many times as needed
+ * (see AdvancedContext2d fill and stroke). The path can be passed to the methods tracing the shapes in the
+ * AdvancedContext2d (see asContext) since both share the path building methods.
+ */
+public class Path2D extends JavaScriptObject {
+
+    protected Path2D() {
+    }
+
+    public static native boolean isSupported()/*-{
+        return typeof $wnd.Path2D === "function" && typeof $wnd.Path2D.prototype.addPath === "function";
+    }-*/;
+
+    /**
+     * The shapes start with beginPath, which is not part of the Path2D, so it is added as a no-op
+     */
+    public static native Path2D create()/*-{
+        var path = new $wnd.Path2D();
+        path.beginPath = function () {};
+        return path;
+    }-*/;
+
+    /**
+     * Adds the given path to this one (so several shapes can be filled or stroked at once)
+     */
+    public final native void addPath(Path2D path)/*-{
+        this.addPath(path);
+    }-*/;
+
+    /**
+     * Only the path building methods (beginPath, moveTo, lineTo, rect, arc, quadraticCurveTo, bezierCurveTo
+     * and closePath) can be used in the returned context
+     */
+    public final AdvancedContext2d asContext() {
+        return this.cast();
+    }
+}
@@ -5,13 +5,22 @@ import org.reactome.web.diagram.profiles.analysis.model.ProfileGradient;
 
 
 /**
+ * The gradient is precomputed in a lookup table of LUT_SIZE colours when it is created (that happens every
+ * time the analysis profile changes), so getting a colour does not create any object. That matters while
+ * rendering expression values because it is done per participant, column and frame.
+ *
  * @author Antonio Fabregat <fabregat@ebi.ac.uk>
  */
 public class ThreeColorGradient {
 
+    //1024 intervals, so the stops (0, 0.5 and 1) and the quarters fall exactly in an entry
+    private static final int LUT_SIZE = 1025;
+
     private TwoColorGradient first;
     private TwoColorGradient second;
 
+    private final String[] lut = new String[LUT_SIZE];
+
     public ThreeColorGradient(ProfileGradient gradient){
         this(gradient.getMin(), gradient.getStop(), gradient.getMax());
     }
@@ -34,18 +43,16 @@ public class ThreeColorGradient {
                 GWT.log(e.getMessage());
             }
         }
+        initLut();
     }
 
+    /**
+     * @param p position in the gradient in the range [0, 1] (values out of range are clamped)
+     */
     public String getColor(double p){
-        if(this.second==null){ //Only applies two color gradient
-            return this.first.getColor(p);
-        }
-        if(p <= 0.5){
-            return this.first.getColor(p/0.5);
-        } else {
-            double aux = p - 0.5;
-            return this.second.getColor(aux/0.5);
-        }
+        if (!(p > 0)) return lut[0]; //NaN included
+        if (p >= 1) return lut[LUT_SIZE - 1];
+        return lut[(int) Math.round(p * (LUT_SIZE - 1))];
     }
 
     public String getColor(double point, double min, double max){
@@ -57,4 +64,25 @@ public class ThreeColorGradient {
         double delta = Math.abs(point - max);
         return delta / length;
     }
+
+    private void initLut(){
+        for (int i = 0; i < LUT_SIZE; i++) {
+            String colour = computeColor(i / (double) (LUT_SIZE - 1));
+            //Consecutive entries with the same colour share the string
+            lut[i] = i > 0 && colour.equals(lut[i - 1]) ? lut[i - 1] : colour;
+        }
+    }
+
+    private String computeColor(double p){
+        if(this.first==null) return "";
+        if(this.second==null){ //Only applies two color gradient
+            return this.first.getColor(p);
+        }
+        if(p <= 0.5){
+            return this.first.getColor(p/0.5);
+        } else {
+            double aux = p - 0.5;
+            return this.second.getColor(aux/0.5);
+        }
+    }
 }
@@ -0,0 +1,257 @@
+package org.reactome.web.diagram.util.spatial;
+
+import com.google.gwt.typedarrays.shared.Float64Array;
+import com.google.gwt.typedarrays.shared.Int32Array;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import com.google.gwt.typedarrays.shared.Uint8Array;
+import uk.ac.ebi.pwp.structures.quadtree.client.QuadTreeBox;
+
+import java.util.*;
+
+/**
+ * Static R-tree bulk loaded with the Sort-Tile-Recursive (STR) algorithm and packed in typed arrays.
+ * <p>
+ * Every entry (items first, then the nodes of each level up to the root) keeps its bounds in "boxes"
+ * (minX, minY, maxX, maxY) and a pointer in "indices": the item position for the entries in the first
+ * level or the position of the first child entry for the nodes. The children of a node are contiguous
+ * so no other structure is needed to traverse the tree and the queries do not allocate any object.
+ * <p>
+ * The tree cannot grow but the items can be moved (refit) and deactivated, which is enough for the
+ * interactors being dragged or hidden (see SpatialIndex).
+ */
+public class PackedRTree<T extends QuadTreeBox> {
+
+    public interface Visitor<T> {
+        void visit(T item);
+    }
+
+    public static final int NODE_SIZE = 16;
+
+    private final List<T> items;
+    private final int numItems;
+
+    private Float64Array boxes;
+    private Int32Array indices;
+    private Int32Array entries;     //item position -> entry position
+    private Uint8Array active;
+    private int[] levelBounds;
+    private Int32Array stack;
+
+    private Map<T, Integer> positions;
+    private int inactive = 0;
+
+    public PackedRTree(Collection<T> items) {
+        this.items = new ArrayList<>(items);
+        this.numItems = this.items.size();
+        Float64Array bounds = TypedArrays.createFloat64Array(numItems * 4);
+        for (int i = 0; i < numItems; i++) {
+            T item = this.items.get(i);
+            setBox(bounds, i, item.getMinX(), item.getMinY(), item.getMaxX(), item.getMaxY());
+        }
+        build(bounds, sortTileRecursive(bounds, numItems));
+    }
+
+    public int size() {
+        return numItems;
+    }
+
+    public T get(int item) {
+        return items.get(item);
+    }
+
+    public int getInactive() {
+        return inactive;
+    }
+
+    /**
+     * Visits the items found at a distance below the tolerance of the point (x, y)
+     */
+    public void search(double x, double y, double tolerance, Visitor<T> visitor) {
+        search(x - tolerance, y - tolerance, x + tolerance, y + tolerance, visitor);
+    }
+
+    /**
+     * Visits the items whose bounds intersect the given area
+     */
+    public void search(double minX, double minY, double maxX, double maxY, Visitor<T> visitor) {
+        if (numItems == 0) return;
+        int nodeIndex = levelBounds[levelBounds.length - 1] - 1;
+        int top = 0;
+        while (true) {
+            int end = Math.min(nodeIndex + NODE_SIZE, upperBound(nodeIndex));
+            for (int pos = nodeIndex; pos < end; pos++) {
+                int b = pos * 4;
+                if (boxes.get(b) > maxX || boxes.get(b + 1) > maxY || boxes.get(b + 2) < minX || boxes.get(b + 3) < minY) continue;
+                int index = indices.get(pos);
+                if (nodeIndex >= numItems) {
+                    stack.set(top++, index);
+                } else if (active.get(index) == 1) {
+                    visitor.visit(items.get(index));
+                }
+            }
+            if (top == 0) break;
+            nodeIndex = stack.get(--top);
+        }
+    }
+
+    /**
+     * @return the position of the item in the tree or -1 if it is not contained
+     */
+    public int indexOf(T item) {
+        if (positions == null) {
+            positions = new HashMap<>();
+            for (int i = 0; i < numItems; i++) positions.put(items.get(i), i);
+        }
+        Integer pos = positions.get(item);
+        return pos == null ? -1 : pos;
+    }
+
+    public void setActive(int item, boolean active) {
+        boolean current = this.active.get(item) == 1;
+        if (current == active) return;
+        this.active.set(item, active ? 1 : 0);
+        inactive += active ? -1 : 1;
+    }
+
+    /**
+     * Updates the bounds of the item (and its ancestors) after the item has been moved
+     */
+    public void refit(int item) {
+        T obj = items.get(item);
+        int pos = entries.get(item);
+        setBox(boxes, pos, obj.getMinX(), obj.getMinY(), obj.getMaxX(), obj.getMaxY());
+        int level = 0;
+        while (level < levelBounds.length - 1) {
+            int levelStart = level == 0 ? 0 : levelBounds[level - 1];
+            int parent = levelBounds[level] + (pos - levelStart) / NODE_SIZE;
+            int first = indices.get(parent);
+            union(parent, first, Math.min(first + NODE_SIZE, levelBounds[level]));
+            pos = parent;
+            level++;
+        }
+    }
+
+    private void build(Float64Array bounds, Int32Array order) {
+        //The number of entries per level (items first) determine the level bounds
+        List<Integer> levels = new ArrayList<>();
+        int n = numItems;
+        int numNodes = n;
+        levels.add(numNodes);
+        if (n > 0) {
+            do {
+                n = (n + NODE_SIZE - 1) / NODE_SIZE;
+                numNodes += n;
+                levels.add(numNodes);
+            } while (n != 1);
+        }
+        levelBounds = new int[levels.size()];
+        for (int i = 0; i < levelBounds.length; i++) levelBounds[i] = levels.get(i);
+
+        boxes = TypedArrays.createFloat64Array(numNodes * 4);
+        indices = TypedArrays.createInt32Array(numNodes);
+        entries = TypedArrays.createInt32Array(numItems);
+        active = TypedArrays.createUint8Array(numItems);
+        stack = TypedArrays.createInt32Array(levelBounds.length * NODE_SIZE + 1);
+        if (numItems == 0) return;
+
+        for (int pos = 0; pos < numItems; pos++) {
+            int item = order.get(pos);
+            int b = item * 4;
+            setBox(boxes, pos, bounds.get(b), bounds.get(b + 1), bounds.get(b + 2), bounds.get(b + 3));
+            indices.set(pos, item);
+            entries.set(item, pos);
+            active.set(item, 1);
+        }
+
+        //Every node groups NODE_SIZE consecutive entries of the level below
+        int pos = 0;
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int end = levelBounds[level];
+            int node = end;
+            while (pos < end) {
+                indices.set(node, pos);
+                union(node, pos, Math.min(pos + NODE_SIZE, end));
+                pos += NODE_SIZE;
+                node++;
+            }
+            pos = end;
+        }
+    }
+
+    /**
+     * STR: the items are sorted by the x of their centre, cut in vertical slices (of as many leaves as
+     * slices are) and every slice is sorted by the y of the centre. Consecutive items then form the leaves.
+     */
+    public static Int32Array sortTileRecursive(Float64Array bounds, int numItems) {
+        Int32Array order = TypedArrays.createInt32Array(numItems);
+        if (numItems == 0) return order;
+        Float64Array keys = TypedArrays.createFloat64Array(numItems);
+        for (int i = 0; i < numItems; i++) {
+            order.set(i, i);
+            keys.set(i, bounds.get(i * 4) + bounds.get(i * 4 + 2));
+        }
+        sort(order, keys, 0, numItems - 1);
+        int leaves = (numItems + NODE_SIZE - 1) / NODE_SIZE;
+        int sliceSize = (int) Math.ceil(Math.sqrt(leaves)) * NODE_SIZE;
+        for (int i = 0; i < numItems; i++) {
+            keys.set(i, bounds.get(i * 4 + 1) + bounds.get(i * 4 + 3));
+        }
+        for (int start = 0; start < numItems; start += sliceSize) {
+            sort(order, keys, start, Math.min(start + sliceSize, numItems) - 1);
+        }
+        return order;
+    }
+
+    private void union(int node, int from, int to) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int pos = from; pos < to; pos++) {
+            int b = pos * 4;
+            minX = Math.min(minX, boxes.get(b));
+            minY = Math.min(minY, boxes.get(b + 1));
+            maxX = Math.max(maxX, boxes.get(b + 2));
+            maxY = Math.max(maxY, boxes.get(b + 3));
+        }
+        setBox(boxes, node, minX, minY, maxX, maxY);
+    }
+
+    private int upperBound(int nodeIndex) {
+        for (int levelBound : levelBounds) {
+            if (levelBound > nodeIndex) return levelBound;
+        }
+        return levelBounds[levelBounds.length - 1];
+    }
+
+    private static void setBox(Float64Array array, int pos, double minX, double minY, double maxX, double maxY) {
+        int b = pos * 4;
+        array.set(b, minX);
+        array.set(b + 1, minY);
+        array.set(b + 2, maxX);
+        array.set(b + 3, maxY);
+    }
+
+    //Quicksort of the positions in "order" (between left and right, both included) by their key
+    private static void sort(Int32Array order, Float64Array keys, int left, int right) {
+        while (left < right) {
+            double pivot = keys.get(order.get((left + right) >>> 1));
+            int i = left, j = right;
+            while (i <= j) {
+                while (keys.get(order.get(i)) < pivot) i++;
+                while (keys.get(order.get(j)) > pivot) j--;
+                if (i <= j) {
+                    int aux = order.get(i);
+                    order.set(i++, order.get(j));
+                    order.set(j--, aux);
+                }
+            }
+            //Recursion on the smaller part keeps the depth logarithmic
+            if (j - left < right - i) {
+                sort(order, keys, left, j);
+                left = i;
+            } else {
+                sort(order, keys, i, right);
+                right = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.reactome.web.diagram.util.spatial;
+
+import uk.ac.ebi.pwp.structures.quadtree.client.QuadTreeBox;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Spatial index for a set of items that changes over time. The items are kept in a PackedRTree that is
+ * bulk loaded again (lazily, on the next query) only when new items are added. Removing and re-adding
+ * or updating items that are already in the tree just deactivates or refits them.
+ */
+public class SpatialIndex<T extends QuadTreeBox> {
+
+    private final Set<T> items = new LinkedHashSet<>();
+    private PackedRTree<T> tree;
+
+    public void add(T item) {
+        if (!items.add(item)) return;
+        int pos = indexOf(item);
+        if (pos >= 0) {
+            tree.setActive(pos, true);
+            tree.refit(pos);
+        } else {
+            tree = null;
+        }
+    }
+
+    public void update(T item) {
+        if (!items.contains(item)) return;
+        int pos = indexOf(item);
+        if (pos >= 0) tree.refit(pos);
+    }
+
+    public void remove(T item) {
+        if (!items.remove(item) || tree == null) return;
+        int pos = tree.indexOf(item);
+        if (pos >= 0) tree.setActive(pos, false);
+        //Too many deactivated items make the tree bigger than needed
+        if (tree.getInactive() > items.size()) tree = null;
+    }
+
+    public void clear() {
+        items.clear();
+        tree = null;
+    }
+
+    public void search(double minX, double minY, double maxX, double maxY, PackedRTree.Visitor<T> visitor) {
+        getTree().search(minX, minY, maxX, maxY, visitor);
+    }
+
+    //Only the very same object can be reused from the tree (an equal one might have different bounds)
+    private int indexOf(T item) {
+        if (tree == null) return -1;
+        int pos = tree.indexOf(item);
+        return pos >= 0 && tree.get(pos) == item ? pos : -1;
+    }
+
+    private PackedRTree<T> getTree() {
+        if (tree == null) tree = new PackedRTree<>(items);
+        return tree;
+    }
+}
@@ -1,14 +1,14 @@
 package org.reactome.web.diagram.util.storage;
 
 import com.google.gwt.storage.client.Storage;
+import org.reactome.web.diagram.client.DiagramFactory;
 import org.reactome.web.diagram.util.Console;
-import org.reactome.web.diagram.util.storage.solutions.CookieStorage;
-import org.reactome.web.diagram.util.storage.solutions.HTML5Storage;
-import org.reactome.web.diagram.util.storage.solutions.StorageSolution;
+import org.reactome.web.diagram.util.storage.solutions.*;
 
 /**
  * This class checks whether there is HTML5 Storage support by the browser
  * and returns the appropriate StorageSolution.
+ * It also provides the persistent storage for the downloaded content (if any).
  *
  * @author Kostas Sidiropoulos <ksidiro@ebi.ac.uk>
  */
@@ -23,4 +23,12 @@ public abstract class StorageSolutionFactory {
         }
         return storageSolution;
     }
+
+    public static ContentStorage getContentStorage() {
+        if (CacheApiStorage.isSupported()) {
+            return new CacheApiStorage(DiagramFactory.CONTENT_STORAGE_ENTRIES);
+        }
+        Console.info("Cache API is not supported by the browser. Downloaded content will not be stored.");
+        return new NoContentStorage();
+    }
 }
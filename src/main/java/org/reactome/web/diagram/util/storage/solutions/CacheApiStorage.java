@@ -0,0 +1,86 @@
+package org.reactome.web.diagram.util.storage.solutions;
+
+/**
+ * Browser Cache API based storage for downloaded content. The keys are expected to be the (stable)
+ * URLs of the content and the server validators are kept as headers of the stored responses.
+ * Only the last maxEntries stored are kept (the Cache API lists the keys in the order they were stored).
+ */
+public class CacheApiStorage implements ContentStorage {
+
+    private static final String CACHE_NAME = "reactome-diagram-content";
+
+    private final int maxEntries;
+
+    public CacheApiStorage(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public static native boolean isSupported() /*-{
+        return !!$wnd.caches && !!$wnd.Response && $wnd.isSecureContext !== false;
+    }-*/;
+
+    @Override
+    public native void read(String key, Handler handler) /*-{
+        var notFound = $entry(function () {
+            handler.@org.reactome.web.diagram.util.storage.solutions.ContentStorage.Handler::onContentMissing()();
+        });
+        $wnd.caches.open(@org.reactome.web.diagram.util.storage.solutions.CacheApiStorage::CACHE_NAME).then(function (cache) {
+            return cache.match(key);
+        }).then(function (response) {
+            if (!response) return null;
+            return response.text().then(function (text) {
+                return {text: text, eTag: response.headers.get('X-ETag'), lastModified: response.headers.get('X-Last-Modified')};
+            });
+        }).then($entry(function (entry) {
+            if (entry) {
+                var content = @org.reactome.web.diagram.util.storage.solutions.StoredContent::new(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)(entry.text, entry.eTag, entry.lastModified);
+                handler.@org.reactome.web.diagram.util.storage.solutions.ContentStorage.Handler::onContentRead(*)(content);
+            } else {
+                notFound();
+            }
+        }), notFound);
+    }-*/;
+
+    @Override
+    public void write(String key, StoredContent content) {
+        write(key, content.getContent(), content.getETag(), content.getLastModified());
+    }
+
+    private native void write(String key, String text, String eTag, String lastModified) /*-{
+        var headers = {'Content-Type': 'application/json'};
+        if (eTag) headers['X-ETag'] = eTag;
+        if (lastModified) headers['X-Last-Modified'] = lastModified;
+        var max = this.@org.reactome.web.diagram.util.storage.solutions.CacheApiStorage::maxEntries;
+        $wnd.caches.open(@org.reactome.web.diagram.util.storage.solutions.CacheApiStorage::CACHE_NAME).then(function (cache) {
+            return cache.put(key, new $wnd.Response(text, {headers: headers})).then(function () {
+                return cache.keys();
+            }).then(function (keys) {
+                var deletions = [];
+                for (var i = 0; i < keys.length - max; i++) deletions.push(cache['delete'](keys[i]));
+                return $wnd.Promise.all(deletions);
+            });
+        })['catch'](function () {
+            //Quota exceeded or storage not available: nothing to be done
+        });
+    }-*/;
+
+    @Override
+    public native void delete(String key) /*-{
+        $wnd.caches.open(@org.reactome.web.diagram.util.storage.solutions.CacheApiStorage::CACHE_NAME).then(function (cache) {
+            return cache['delete'](key);
+        })['catch'](function () {});
+    }-*/;
+
+    @Override
+    public native void deleteOtherVersions(String version) /*-{
+        $wnd.caches.open(@org.reactome.web.diagram.util.storage.solutions.CacheApiStorage::CACHE_NAME).then(function (cache) {
+            return cache.keys().then(function (keys) {
+                var deletions = [];
+                for (var i = 0; i < keys.length; i++) {
+                    if (new $wnd.URL(keys[i].url).searchParams.get('v') !== version) deletions.push(cache['delete'](keys[i]));
+                }
+                return $wnd.Promise.all(deletions);
+            });
+        })['catch'](function () {});
+    }-*/;
+}
@@ -0,0 +1,31 @@
+package org.reactome.web.diagram.util.storage.solutions;
+
+/**
+ * Persistent storage for (potentially big) downloaded content. Contrary to the StorageSolution, the
+ * underlying browser storage mechanisms are asynchronous, so the content is provided via a handler.
+ *
+ * Every entry keeps the validators sent by the server (ETag and Last-Modified) so the content can be
+ * revalidated with a conditional request instead of being downloaded again. The number of entries is
+ * limited by the implementations, so writing an entry can remove the oldest ones.
+ */
+public interface ContentStorage {
+
+    interface Handler {
+        void onContentRead(StoredContent content);
+
+        void onContentMissing();
+    }
+
+    void read(String key, Handler handler);
+
+    void write(String key, StoredContent content);
+
+    void delete(String key);
+
+    /**
+     * Removes the entries whose key (URL) was versioned (v parameter) with a different version
+     *
+     * @param version the current version (null when the keys are not versioned)
+     */
+    void deleteOtherVersions(String version);
+}
@@ -0,0 +1,27 @@
+package org.reactome.web.diagram.util.storage.solutions;
+
+/**
+ * Used when the browser does not provide a persistent storage for the downloaded content
+ */
+public class NoContentStorage implements ContentStorage {
+
+    @Override
+    public void read(String key, Handler handler) {
+        handler.onContentMissing();
+    }
+
+    @Override
+    public void write(String key, StoredContent content) {
+        //Nothing here
+    }
+
+    @Override
+    public void delete(String key) {
+        //Nothing here
+    }
+
+    @Override
+    public void deleteOtherVersions(String version) {
+        //Nothing here
+    }
+}
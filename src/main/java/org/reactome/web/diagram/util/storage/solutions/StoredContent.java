@@ -0,0 +1,33 @@
+package org.reactome.web.diagram.util.storage.solutions;
+
+/**
+ * An entry of the ContentStorage with the server validators for its conditional revalidation
+ */
+public class StoredContent {
+
+    private final String content;
+    private final String eTag;
+    private final String lastModified;
+
+    public StoredContent(String content, String eTag, String lastModified) {
+        this.content = content;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public boolean hasValidators() {
+        return eTag != null || lastModified != null;
+    }
+}
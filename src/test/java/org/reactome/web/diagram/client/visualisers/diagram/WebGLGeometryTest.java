@@ -0,0 +1,74 @@
+package org.reactome.web.diagram.client.visualisers.diagram;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the vertex data and the transform of the WebGL layer without a browser
+ */
+public class WebGLGeometryTest {
+
+    private static final double DELTA = 1e-9;
+    private static final double[] RED = {1.0, 0.0, 0.0, 1.0};
+
+    @Test
+    public void rectangleIsTwoTriangles() {
+        WebGLGeometry geometry = new WebGLGeometry();
+        geometry.addRectangle(10, 20, 30, 40, RED);
+        assertEquals(6, geometry.getVertexCount());
+        assertEquals(6 * WebGLGeometry.VERTEX_SIZE, geometry.getLength());
+        double[][] expected = {{10, 20}, {40, 20}, {40, 60}, {10, 20}, {40, 60}, {10, 60}};
+        for (int v = 0; v < expected.length; v++) {
+            int i = v * WebGLGeometry.VERTEX_SIZE;
+            assertEquals(expected[v][0], geometry.get(i), DELTA);
+            assertEquals(expected[v][1], geometry.get(i + 1), DELTA);
+            for (int c = 0; c < 4; c++) assertEquals(RED[c], geometry.get(i + 2 + c), DELTA);
+        }
+    }
+
+    @Test
+    public void outlineIsFourLines() {
+        WebGLGeometry geometry = new WebGLGeometry();
+        geometry.addOutline(0, 0, 5, 5, RED);
+        assertEquals(8, geometry.getVertexCount());
+    }
+
+    @Test
+    public void growsAndClears() {
+        WebGLGeometry geometry = new WebGLGeometry();
+        for (int i = 0; i < 5000; i++) geometry.addLine(i, i, i + 1, i + 1, RED);
+        assertEquals(10000, geometry.getVertexCount());
+        assertEquals(4999, geometry.get(9998 * WebGLGeometry.VERTEX_SIZE), DELTA);
+        geometry.clear();
+        assertEquals(0, geometry.getLength());
+    }
+
+    @Test
+    public void parsesCanvasColours() {
+        assertArrayEquals(new double[]{1.0, 0.0, 128 / 255.0, 1.0}, WebGLGeometry.parseColour("#ff0080"), DELTA);
+        assertArrayEquals(new double[]{0.0, 1.0, 0.2, 0.5}, WebGLGeometry.parseColour("rgba(0, 255, 51, 0.5)"), DELTA);
+        assertArrayEquals(new double[]{0.5, 0.5, 0.5, 1.0}, WebGLGeometry.parseColour(null), DELTA);
+        assertArrayEquals(new double[]{0.5, 0.5, 0.5, 1.0}, WebGLGeometry.parseColour("#zzzzzz"), DELTA);
+    }
+
+    @Test
+    public void transformMapsTheViewToClipSpace() {
+        double[] transform = new double[4];
+        int width = 800, height = 600;
+        double factor = 0.25, dX = 100, dY = 50;
+        WebGLGeometry.setTransform(transform, width, height, factor, dX, dY);
+
+        //The layout point drawn at the top left corner of the canvas
+        double x = -dX / factor, y = -dY / factor;
+        assertEquals(-1.0, x * transform[0] + transform[1], DELTA);
+        assertEquals(1.0, y * transform[2] + transform[3], DELTA);
+
+        //The layout point drawn at the bottom right corner of the canvas
+        x = (width - dX) / factor;
+        y = (height - dY) / factor;
+        assertEquals(1.0, x * transform[0] + transform[1], DELTA);
+        assertEquals(-1.0, y * transform[2] + transform[3], DELTA);
+    }
+}